@@ -9,13 +9,15 @@ import javafx.stage.Stage;
 import model.Task;
 import model.Category;
 import model.Priority;
+import model.Recurrence;
 import model.Status;
+import utils.TaskStore;
 import java.time.LocalDate;
 
 /**
  * Controller για το παράθυρο προσθήκης νέας εργασίας.
  * Διαχειρίζεται την εισαγωγή δεδομένων για την δημιουργία νέας εργασίας και
- * ενημερώνει τη λίστα των εργασιών (taskList) του κύριου παραθύρου.
+ * την προσθέτει στο store των εργασιών (taskStore) του κύριου παραθύρου.
  */
 public class AddTaskController {
 
@@ -43,28 +45,43 @@ public class AddTaskController {
     @FXML
     private TextField Title_textfield;
 
-    private ObservableList<Task> taskList;
+    @FXML
+    private ComboBox<String> Repeat_box;
+
+    @FXML
+    private TextField Every_textfield;
+
+    @FXML
+    private DatePicker Until_datepicker;
+
+    @FXML
+    private TextField Times_textfield;
+
+    /** Οι επιλογές επανάληψης του Repeat_box */
+    static final String[] REPEAT_OPTIONS = {"Never", "Daily", "Weekly", "Monthly"};
+
+    private TaskStore taskStore;
 
     /**
-     * Θέτει τη λίστα εργασιών στην οποία θα προστεθεί η νέα εργασία.
+     * Θέτει το store εργασιών στο οποίο θα προστεθεί η νέα εργασία.
      *
-     * @param taskList η ObservableList που περιέχει τα Task της εφαρμογής.
+     * @param taskStore το TaskStore της εφαρμογής.
      */
-    public void setTaskList(ObservableList<Task> taskList) {
-        this.taskList = taskList;
+    public void setTaskStore(TaskStore taskStore) {
+        this.taskStore = taskStore;
     }
 
     /**
      * Προσθέτει μια νέα εργασία στη λίστα.
      * Ελέγχει αν έχουν συμπληρωθεί τα απαραίτητα πεδία και δημιουργεί ένα νέο Task,
-     * το οποίο προστίθεται στη λίστα, και κλείνει το παράθυρο.
+     * το οποίο προστίθεται στο store, και κλείνει το παράθυρο.
      *
      * @param event το ActionEvent που προκάλεσε την κλήση της μεθόδου.
      */
     @FXML
     void AddTask(ActionEvent event) {
-        if (taskList == null) {
-            System.out.println("taskList is null!");
+        if (taskStore == null) {
+            System.out.println("taskStore is null!");
             return;
         }
     
@@ -81,16 +98,26 @@ public class AddTaskController {
         }
     
         if (selectedStatus == null) {
-            selectedStatus = new Status("Open");
+            selectedStatus = Status.OPEN;
         }
 
         if (priority == null) {
-            priority = new Priority("Default");
+            priority = Priority.DEFAULT;
         }
 
-        Task newTask = new Task(title, description, category.getName(), priority, deadline, selectedStatus);
+        Recurrence recurrence;
+        try {
+            recurrence = readRecurrence(Repeat_box.getValue(), Every_textfield.getText(),
+                Until_datepicker.getValue(), Times_textfield.getText(), deadline);
+        } catch (IllegalArgumentException e) {
+            showAlert("Invalid Repeat", e.getMessage());
+            return;
+        }
+
+        Task newTask = new Task(title, description, category, priority, deadline, selectedStatus);
+        newTask.setRecurrence(recurrence);
         
-        taskList.add(newTask);
+        taskStore.addTask(newTask);
         closeWindow();
     }
     
@@ -120,6 +147,8 @@ public class AddTaskController {
         initializeCategory();
         initializePriority();
         initializeStatus();
+        Repeat_box.setItems(FXCollections.observableArrayList(REPEAT_OPTIONS));
+        Repeat_box.setValue(REPEAT_OPTIONS[0]);
     }
 
     /**
@@ -140,13 +169,7 @@ public class AddTaskController {
      * Αρχικοποιεί το ComboBox καταστάσεων με τις προκαθορισμένες τιμές.
      */
     private void initializeStatus() {
-        ObservableList<Status> status = FXCollections.observableArrayList(
-                new Status("Open"),
-                new Status("In Progress"),
-                new Status("Postponed"),
-                new Status("Completed"),
-                new Status("Delayed")
-        );
+        ObservableList<Status> status = FXCollections.observableArrayList(Status.values());
         Status_box.setItems(status);
     }
 
@@ -172,6 +195,57 @@ public class AddTaskController {
         System.out.println("Selected Priority: " + selectedPriority);
     }
 
+    /**
+     * Δημιουργεί τον κανόνα επανάληψης από τα πεδία της φόρμας. Τα κενά πεδία "Every" και "Times"
+     * σημαίνουν κάθε περίοδο και απεριόριστες φορές αντίστοιχα.
+     *
+     * @param repeat η επιλογή του Repeat_box.
+     * @param every κάθε πόσες περιόδους.
+     * @param until η τελευταία ημερομηνία ή null.
+     * @param times το πλήθος των φορών.
+     * @param deadline η προθεσμία της εργασίας, που γίνεται η πρώτη εμφάνιση.
+     * @return ο κανόνας ή null αν η εργασία δεν επαναλαμβάνεται.
+     * @throws IllegalArgumentException αν τα πεδία δεν είναι έγκυρα, με μήνυμα για τον χρήστη.
+     */
+    static Recurrence readRecurrence(String repeat, String every, LocalDate until, String times, LocalDate deadline) {
+        if (repeat == null || repeat.equals(REPEAT_OPTIONS[0])) {
+            return null;
+        }
+        if (deadline == null) {
+            throw new IllegalArgumentException("A repeating task needs a deadline.");
+        }
+        if (until != null && until.isBefore(deadline)) {
+            throw new IllegalArgumentException("The repeat end date cannot be before the deadline.");
+        }
+        int interval = parsePositive(every, 1, "Every");
+        int count = parsePositive(times, 0, "Times");
+        return new Recurrence(Recurrence.Frequency.valueOf(repeat.toUpperCase()), interval, deadline, until, count);
+    }
+
+    /**
+     * Διαβάζει έναν θετικό ακέραιο από ένα πεδίο της φόρμας.
+     *
+     * @param text το κείμενο του πεδίου.
+     * @param empty η τιμή αν το πεδίο είναι κενό.
+     * @param field το όνομα του πεδίου, για το μήνυμα σφάλματος.
+     * @return ο ακέραιος.
+     * @throws IllegalArgumentException αν το κείμενο δεν είναι θετικός ακέραιος.
+     */
+    private static int parsePositive(String text, int empty, String field) {
+        if (text == null || text.isBlank()) {
+            return empty;
+        }
+        try {
+            int value = Integer.parseInt(text.trim());
+            if (value > 0) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // Το μήνυμα δίνεται παρακάτω
+        }
+        throw new IllegalArgumentException(field + " must be a positive whole number.");
+    }
+
     /**
      * Εμφανίζει ένα alert με το δοσμένο μήνυμα.
      *
@@ -9,7 +9,10 @@ import javafx.stage.Stage;
 import model.Task;
 import model.Category;
 import model.Priority;
+import model.Recurrence;
 import model.Status;
+import utils.TaskStore;
+import java.time.LocalDate;
 
 /**
  * Controller για το παράθυρο επεξεργασίας εργασίας.
@@ -41,8 +44,22 @@ public class EditTaskController {
     @FXML
     private TextField Title_textfield;
 
+    @FXML
+    private ComboBox<String> Repeat_box;
+
+    @FXML
+    private TextField Every_textfield;
+
+    @FXML
+    private DatePicker Until_datepicker;
+
+    @FXML
+    private TextField Times_textfield;
+
     private Task task;
 
+    private TaskStore taskStore;
+
     /**
      * Θέτει την εργασία που πρόκειται να επεξεργαστεί.
      * Ενημερώνει τα πεδία της φόρμας με τις τρέχουσες τιμές της εργασίας.
@@ -53,34 +70,68 @@ public class EditTaskController {
         this.task = task;
         Title_textfield.setText(task.getTitle());
         Description_textarea.setText(task.getDescription());
-        Category_box.setValue(new Category(task.getCategory()));
+        Category_box.setValue(task.getCategory());
         Priority_box.setValue(task.getPriority());
         Status_box.setValue(task.getStatus());
         Reminder_datepicker.setValue(task.getDeadline());
+        Recurrence recurrence = task.getRecurrence();
+        if (recurrence != null) {
+            Repeat_box.setValue(recurrence.getFrequency().getName());
+            Every_textfield.setText(String.valueOf(recurrence.getInterval()));
+            Until_datepicker.setValue(recurrence.getUntil());
+            Times_textfield.setText(recurrence.getCount() > 0 ? String.valueOf(recurrence.getCount()) : "");
+        }
     }
 
     /**
-     * Θέτει τη λίστα εργασιών. (Δεν χρησιμοποιείται στην τρέχουσα υλοποίηση.)
+     * Θέτει το store εργασιών μέσω του οποίου εφαρμόζονται οι αλλαγές.
      *
-     * @param taskList η ObservableList των εργασιών.
+     * @param taskStore το TaskStore της εφαρμογής.
      */
-    public void setTaskList(ObservableList<Task> taskList) {
+    public void setTaskStore(TaskStore taskStore) {
+        this.taskStore = taskStore;
     }
 
     /**
      * Αποθηκεύει τις αλλαγές στην εργασία με βάση τα πεδία της φόρμας.
-     * Ενημερώνει τα στοιχεία της εργασίας και κλείνει το παράθυρο επεξεργασίας.
+     * Ενημερώνει τα στοιχεία της εργασίας μέσω του store και κλείνει το παράθυρο επεξεργασίας.
+     * Σε επαναλαμβανόμενη εργασία η αλλαγή της προθεσμίας αφορά μόνο την τρέχουσα εμφάνιση, και η επιλογή
+     * "Completed" την ολοκληρώνει και μεταφέρει την εργασία στην επόμενη εμφάνιση. Αν αλλάξει ο κανόνας,
+     * η σειρά ξεκινά από την προθεσμία.
      *
      * @param event το ActionEvent που προκάλεσε την αποθήκευση.
      */
     @FXML
     void SaveTask(ActionEvent event) {
-        task.setTitle(Title_textfield.getText());
-        task.setDescription(Description_textarea.getText());
-        task.setCategory(Category_box.getValue().getName());
-        task.setPriority(Priority_box.getValue());
-        task.setStatus(Status_box.getValue());
-        task.setDeadline(Reminder_datepicker.getValue());
+        LocalDate deadline = Reminder_datepicker.getValue();
+        Recurrence recurrence;
+        try {
+            recurrence = AddTaskController.readRecurrence(Repeat_box.getValue(), Every_textfield.getText(),
+                Until_datepicker.getValue(), Times_textfield.getText(), deadline);
+        } catch (IllegalArgumentException e) {
+            showAlert("Invalid Repeat", e.getMessage());
+            return;
+        }
+        Recurrence current = task.getRecurrence();
+        boolean sameRule = recurrence != null && current != null && current.hasRule(recurrence.getFrequency(),
+            recurrence.getInterval(), recurrence.getUntil(), recurrence.getCount());
+
+        taskStore.updateTask(task, t -> {
+            t.setTitle(Title_textfield.getText());
+            t.setDescription(Description_textarea.getText());
+            t.setCategory(Category_box.getValue());
+            t.setPriority(Priority_box.getValue());
+            t.setDeadline(deadline);
+            if (!sameRule) {
+                t.setRecurrence(recurrence);
+            }
+            if (Status_box.getValue() == Status.COMPLETED && t.isRecurring()) {
+                t.complete();
+            } else {
+                t.setStatus(Status_box.getValue());
+                t.updateStatus();
+            }
+        });
 
         closeWindow();
     }
@@ -111,44 +162,42 @@ public class EditTaskController {
         initializeCategory();
         initializePriority();
         initializeStatus();
+        Repeat_box.setItems(FXCollections.observableArrayList(AddTaskController.REPEAT_OPTIONS));
+        Repeat_box.setValue(AddTaskController.REPEAT_OPTIONS[0]);
     }
 
     /**
-     * Αρχικοποιεί το ComboBox κατηγοριών με προκαθορισμένες τιμές.
+     * Αρχικοποιεί το ComboBox κατηγοριών με τις κατηγορίες της εφαρμογής.
      */
     private void initializeCategory() {
-        ObservableList<Category> categories = FXCollections.observableArrayList(
-                new Category("Work"),
-                new Category("Personal"),
-                new Category("Health"),
-                new Category("Other")
-        );
-        Category_box.setItems(categories);
+        Category_box.setItems(MainSceneController.getCategoryList());
     }
 
     /**
-     * Αρχικοποιεί το ComboBox προτεραιοτήτων με προκαθορισμένες τιμές.
+     * Αρχικοποιεί το ComboBox προτεραιοτήτων με τις προτεραιότητες της εφαρμογής.
      */
     private void initializePriority() {
-        ObservableList<Priority> priorities = FXCollections.observableArrayList(
-                new Priority("High"),
-                new Priority("Moderate"),
-                new Priority("Low")
-        );
-        Priority_box.setItems(priorities);
+        Priority_box.setItems(MainSceneController.getPriorityList());
     }
 
     /**
      * Αρχικοποιεί το ComboBox καταστάσεων με τις προκαθορισμένες τιμές.
      */
     private void initializeStatus() {
-        ObservableList<Status> statuses = FXCollections.observableArrayList(
-                new Status("Open"),
-                new Status("In Progress"),
-                new Status("Postponed"),
-                new Status("Completed"),
-                new Status("Delayed")
-        );
+        ObservableList<Status> statuses = FXCollections.observableArrayList(Status.values());
         Status_box.setItems(statuses);
     }
+
+    /**
+     * Εμφανίζει ένα alert με το δοσμένο μήνυμα.
+     *
+     * @param title ο τίτλος του alert.
+     * @param message το περιεχόμενο του alert.
+     */
+    private void showAlert(String title, String message) {
+        Alert alert = new Alert(Alert.AlertType.WARNING);
+        alert.setTitle(title);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
 }
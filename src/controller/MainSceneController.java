@@ -1,44 +1,96 @@
 package controller;
 
 import java.io.IOException;
+import java.time.Clock;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.function.Supplier;
 
+import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.chart.BarChart;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.XYChart;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
 import javafx.scene.control.ButtonBar;
 import javafx.scene.control.ButtonType;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.DatePicker;
 import javafx.scene.control.Dialog;
 import javafx.scene.control.Label;
 import javafx.scene.control.ListCell;
 import javafx.scene.control.ListView;
+import javafx.scene.control.Tab;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
 import javafx.scene.control.TextInputDialog;
+import javafx.scene.control.Tooltip;
 import javafx.scene.layout.GridPane;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 
 import model.Category;
 import model.Priority;
+import model.Recurrence;
 import model.Reminder;
 import model.Status;
 import model.Task;
 
+import utils.AutosaveService;
+import utils.BitmapIndex;
 import utils.DataManager;
+import utils.DataSnapshot;
+import utils.DeadlineIndex;
+import utils.FilterCache;
+import utils.FilterPipeline;
+import utils.FullTextIndex;
+import utils.Journal;
+import utils.NotificationCenter;
+import utils.ReminderScheduler;
+import utils.ScanEngine;
+import utils.StatusEngine;
+import utils.SortedTaskView;
+import utils.SwitchableList;
+import utils.TaskCounters;
+import utils.TaskStatistics;
+import utils.delivery.DeliveryPipeline;
+import utils.delivery.LogFileSink;
+import utils.delivery.MailDropSink;
+import utils.delivery.SmtpSink;
+import utils.TaskStore;
+import utils.TitleIndex;
+import utils.query.Condition;
+import utils.query.Plan;
+import utils.query.Query;
+import utils.query.QueryParser;
+import utils.query.QueryPlanner;
 
 
 /**
@@ -63,6 +115,9 @@ public class MainSceneController {
     @FXML
     private ComboBox<Priority> filterPriorityBox;
 
+    @FXML
+    private ComboBox<Status> filterStatusBox;
+
     @FXML
     private Button AddTask_button;
 
@@ -90,6 +145,9 @@ public class MainSceneController {
     @FXML
     private TableColumn<Task, String> statusColumn;
 
+    @FXML
+    private TableColumn<Task, String> recurrenceColumn;
+
     @FXML
     private Label lblCompletedTasks;
 
@@ -102,6 +160,9 @@ public class MainSceneController {
     @FXML
     private Label lblTotalTasks;
 
+    @FXML
+    private Label queryStatusLabel;
+
     @FXML
     private Button AddCategory_button;
 
@@ -143,6 +204,84 @@ public class MainSceneController {
 
     private ObservableList<Reminder> reminderList = FXCollections.observableArrayList();
 
+    private final Journal journal = new Journal();
+
+    private AutosaveService autosave;
+
+    private TaskStore taskStore;
+
+    /** Οι μετρητές εργασιών, που ενημερώνονται σταδιακά από το TaskStore */
+    private TaskCounters taskCounters;
+
+    /** Οι συναθροίσεις του dashboard, που ενημερώνονται σταδιακά από το TaskStore */
+    private TaskStatistics taskStatistics;
+
+    /** Αν έχει ήδη προγραμματιστεί ανανέωση του dashboard στο JavaFX thread */
+    private boolean dashboardRefreshPending;
+
+    /** Το ευρετήριο προθεσμιών, που τροφοδοτεί το dueSoonListView και την ενημέρωση των Delayed */
+    private DeadlineIndex deadlineIndex;
+
+    /** Το ευρετήριο τριγράμμων των τίτλων, για την αναζήτηση στο filterTasks */
+    private TitleIndex titleIndex;
+
+    /** Το ευρετήριο πλήρους κειμένου (τίτλος και περιγραφή) με κατάταξη BM25 */
+    private FullTextIndex fullTextIndex;
+
+    /** Τα bitmaps ανά κατηγορία, προτεραιότητα και κατάσταση, για τα φίλτρα του filterTasks */
+    private BitmapIndex bitmapIndex;
+
+    /** Η πηγή του πίνακα εργασιών: η taskList ή μια ταξινομημένη όψη, ανάλογα με τη στήλη ταξινόμησης */
+    private SwitchableList<Task> taskSource;
+
+    /** Οι ταξινομημένες όψεις των εργασιών ανά στήλη του TaskTable (προθεσμία, προτεραιότητα, κατάσταση) */
+    private final Map<TableColumn<Task, ?>, SortedTaskView> sortedViews = new HashMap<>();
+
+    /** Αν η ταξινόμηση του πίνακα δίνεται έτοιμη από μια ταξινομημένη όψη */
+    private final BooleanProperty sortedByView = new SimpleBooleanProperty();
+
+    /** Οι εργασίες που εμφανίζονται στον TaskTable, μετά την εφαρμογή των φίλτρων */
+    private FilteredList<Task> filteredTasks;
+
+    /** Οι φιλτραρισμένες εργασίες, ταξινομημένες κατά στήλη ή κατά βαθμολογία αναζήτησης */
+    private SortedList<Task> sortedTasks;
+
+    /** Η σειρά κατάταξης της τελευταίας αναζήτησης πλήρους κειμένου (null αν δεν υπάρχει) */
+    private final ObjectProperty<Comparator<Task>> rankComparator = new SimpleObjectProperty<>();
+
+    /** Αν το τρέχον φίλτρο είναι αναζήτηση πλήρους κειμένου με κατάταξη */
+    private boolean rankedSearchActive;
+
+    /** Αν έχει ήδη προγραμματιστεί επανυπολογισμός της κατάταξης στο JavaFX thread */
+    private boolean rankRefreshPending;
+
+    /** Επιλέγει το ευρετήριο για τα ερωτήματα με πεδία που γράφονται στο πεδίο αναζήτησης */
+    private QueryPlanner queryPlanner;
+
+    /** Εκτελεί παράλληλα τις σαρώσεις όλων των εργασιών (μετρητές, μαζικές ενημερώσεις, ερωτήματα) */
+    private final ScanEngine scanEngine = new ScanEngine(ScanEngine.DEFAULT_PARALLELISM, ScanEngine.DEFAULT_THRESHOLD);
+
+    /** Τα αποτελέσματα των πιο πρόσφατων φίλτρων, που διορθώνονται με κάθε μεταβολή των εργασιών */
+    private final FilterCache filterCache = new FilterCache(FilterCache.DEFAULT_CAPACITY);
+
+    /** Υπολογίζει τα φίλτρα στο παρασκήνιο και τα εφαρμόζει στο filteredTasks */
+    private FilterPipeline<Task> filterPipeline;
+
+    /** Ενεργοποιεί τις υπενθυμίσεις την ημέρα τους, όσο η εφαρμογή είναι ανοιχτή */
+    private ReminderScheduler reminderScheduler;
+
+    /** Συγχωνεύει τις υπενθυμίσεις που λήγουν σε ειδοποιήσεις που δεν μπλοκάρουν */
+    private NotificationCenter notificationCenter;
+
+    /** Παραδίδει τις υπενθυμίσεις που λήγουν στο αρχείο καταγραφής, στο mail-drop και (αν έχει οριστεί) στο SMTP */
+    private DeliveryPipeline deliveryPipeline;
+
+    /** Το ρολόι της εφαρμογής, που ακολουθεί τη ζώνη ώρας του συστήματος */
+    private final Clock clock = StatusEngine.systemClock();
+
+    /** Θέτει σε "Delayed" τις εργασίες που καθυστερούν κάθε φορά που αλλάζει η ημέρα */
+    private StatusEngine statusEngine;
+
     @FXML
     private Button AddPriority_button;
     
@@ -158,39 +297,91 @@ public class MainSceneController {
     @FXML
     private TableColumn<Priority, String> piorityNameColumn;
 
+    @FXML
+    private TableColumn<Priority, String> priorityRankColumn;
+
     @FXML
     private ListView<Task> dueSoonListView;
    
     @FXML
     private Button SaveExit_button;
+
+    @FXML
+    private CheckBox fullTextSearchBox;
+
+    @FXML
+    private Tab dashboardTab;
+
+    @FXML
+    private TableView<TaskStatistics.Group> groupTable;
+
+    @FXML
+    private TableColumn<TaskStatistics.Group, String> groupCategoryColumn;
+
+    @FXML
+    private TableColumn<TaskStatistics.Group, String> groupPriorityColumn;
+
+    @FXML
+    private TableColumn<TaskStatistics.Group, String> groupStatusColumn;
+
+    @FXML
+    private TableColumn<TaskStatistics.Group, Number> groupCountColumn;
+
+    @FXML
+    private ComboBox<TaskStatistics.Period> periodBox;
+
+    @FXML
+    private BarChart<String, Number> deadlineChart;
+
+    @FXML
+    private LineChart<String, Number> completionChart;
     
     
     /**
-     * Ενημερώνει τους μετρητές εργασιών (total, completed, delayed, due soon) και καλεί την ενημέρωση της λίστας των due soon tasks.
+     * Ενημερώνει τις ετικέτες των μετρητών εργασιών (total, completed, delayed, due soon).
+     * Οι τιμές διατηρούνται σταδιακά από το TaskCounters, οπότε η μέθοδος δεν σαρώνει τις εργασίες.
      */
     private void updateTaskCounters() {
-        int total = taskList.size();
-        long completed = taskList.stream()
-                                 .filter(t -> t.getStatus().getName().equals("Completed"))
-                                 .count();
-        long delayed = taskList.stream()
-                               .filter(t -> t.getStatus().getName().equals("Delayed"))
-                               .count();
-        long dueSoon = taskList.stream()
-                               .filter(t -> {
-                                   if (t.getStatus().getName().equals("Completed")) return false;
-                                   if (t.getDeadline() == null) return false;
-                                   if (t.getDeadline().isBefore(LocalDate.now())) return false;
-                                   return !t.getDeadline().isAfter(LocalDate.now().plusDays(7));
-                               })
-                               .count();
-    
-        lblTotalTasks.setText(String.valueOf(total));
-        lblCompletedTasks.setText(String.valueOf(completed));
-        lblDelayedTasks.setText(String.valueOf(delayed));
-        lblDueSoonTasks.setText(String.valueOf(dueSoon));
-        
-        updateDueSoonTasks();
+        lblTotalTasks.setText(String.valueOf(taskCounters.getTotal()));
+        lblCompletedTasks.setText(String.valueOf(taskCounters.getCompleted()));
+        lblDelayedTasks.setText(String.valueOf(taskCounters.getDelayed()));
+        lblDueSoonTasks.setText(String.valueOf(taskCounters.getDueSoon()));
+    }
+
+    /**
+     * Προγραμματίζει την ανανέωση του dashboard, εφόσον εμφανίζεται. Πολλές μεταβολές στη σειρά
+     * (π.χ. μια διαγραφή κατηγορίας) οδηγούν σε μία μόνο ανανέωση.
+     */
+    private void scheduleDashboardRefresh() {
+        if (dashboardRefreshPending || !dashboardTab.isSelected()) {
+            return;
+        }
+        dashboardRefreshPending = true;
+        Platform.runLater(() -> {
+            dashboardRefreshPending = false;
+            refreshDashboard();
+        });
+    }
+
+    /**
+     * Ανανεώνει τον πίνακα ομάδων και τα διαγράμματα του dashboard από τις έτοιμες συναθροίσεις.
+     */
+    private void refreshDashboard() {
+        groupTable.setItems(FXCollections.observableArrayList(taskStatistics.groups()));
+
+        TaskStatistics.Period period = periodBox.getValue();
+        XYChart.Series<String, Number> deadlines = new XYChart.Series<>();
+        for (Map.Entry<LocalDate, Integer> entry : taskStatistics.deadlineHistogram(period).entrySet()) {
+            deadlines.getData().add(new XYChart.Data<>(entry.getKey().toString(), entry.getValue()));
+        }
+        deadlineChart.getData().setAll(List.of(deadlines));
+
+        XYChart.Series<String, Number> completion = new XYChart.Series<>();
+        SortedMap<LocalDate, Double> rates = taskStatistics.completionRate(period);
+        for (Map.Entry<LocalDate, Double> entry : rates.entrySet()) {
+            completion.getData().add(new XYChart.Data<>(entry.getKey().toString(), Math.round(entry.getValue() * 1000) / 10.0));
+        }
+        completionChart.getData().setAll(List.of(completion));
     }
     
     
@@ -204,9 +395,9 @@ public class MainSceneController {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/AddTask.fxml"));
             Parent root = loader.load();
 
-            // Παίρνουμε τον controller και του περνάμε τη λίστα εργασιών
+            // Παίρνουμε τον controller και του περνάμε το store των εργασιών
             AddTaskController controller = loader.getController();
-            controller.setTaskList(taskList);
+            controller.setTaskStore(taskStore);
 
             Stage stage = new Stage();
             stage.setTitle("Add Task");
@@ -217,14 +408,11 @@ public class MainSceneController {
 
             // Εμφανίζει το νέο παράθυρο χωρίς να μπλοκάρει το κύριο
             stage.showAndWait();
-            updateTaskCounters();
 
         } catch (IOException e) {
             e.printStackTrace();
             System.out.println("Error: Could not open AddTask.fxml");
         }
-
-        updateTaskCounters();
     }
     
     /**
@@ -242,7 +430,7 @@ public class MainSceneController {
             return;
         }
     
-        if (selectedTask.getPriority().getName().equals("Default")) {
+        if (selectedTask.getPriority().isDefault()) {
             showAlert("Deletion Not Allowed", "Cannot delete a task with a default priority.");
             return;
         }
@@ -254,19 +442,10 @@ public class MainSceneController {
         
         confirm.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                // Βρίσκουμε όλες τις υπενθυμίσεις που σχετίζονται με το επιλεγμένο task
-                ObservableList<Reminder> remindersToRemove = reminderList.filtered(reminder ->
-                    reminder.getTask().equals(selectedTask)
-                );
-                
-                // Διαγράφουμε τις υπενθυμίσεις αυτές
-                reminderList.removeAll(remindersToRemove);
-                
-                // Διαγράφουμε το task
-                taskList.remove(selectedTask);
+                // Διαγράφουμε το task μαζί με τις υπενθυμίσεις του (μέσω του αντίστροφου ευρετηρίου)
+                taskStore.removeTask(selectedTask);
                 System.out.println("Deleted Task: " + selectedTask.getTitle());
             }
-            updateTaskCounters();
         });
     }
         
@@ -289,7 +468,7 @@ public class MainSceneController {
     
             EditTaskController controller = loader.getController();
             controller.setTask(selectedTask);
-            controller.setTaskList(taskList);
+            controller.setTaskStore(taskStore);
     
             Stage stage = new Stage();
             stage.setTitle("Edit Task");
@@ -297,12 +476,9 @@ public class MainSceneController {
             stage.showAndWait();
             
             TaskTable.refresh();
-            updateTaskCounters();
         } catch (IOException e) {
             e.printStackTrace();
         }
-    
-        updateTaskCounters();
     }
     
     /**
@@ -318,8 +494,9 @@ public class MainSceneController {
     
         dialog.showAndWait().ifPresent(categoryName -> {
             if (!categoryName.trim().isEmpty()) {
-                Category newCategory = new Category(categoryName.trim());
-                if (!categoryList.contains(newCategory)) {
+                // Ο έλεγχος διπλοτύπων γίνεται στο μητρώο με βάση το κανονικοποιημένο όνομα
+                if (Category.findByName(categoryName) == null) {
+                    Category newCategory = Category.of(categoryName.trim());
                     categoryList.add(newCategory);
                     System.out.println("Added Category: " + newCategory.getName());
                 } else {
@@ -349,9 +526,15 @@ public class MainSceneController {
         dialog.setContentText("New name:");
     
         dialog.showAndWait().ifPresent(newName -> {
-            if (!newName.trim().isEmpty()) {
+            Category existing = Category.findByName(newName);
+            if (existing != null && existing != selectedCategory) {
+                showAlert("Duplicate Category", "This category already exists.");
+            } else if (!newName.trim().isEmpty()) {
                 selectedCategory.setName(newName.trim());
+                markUpdated(categoryList, selectedCategory);
                 CategoryTable.refresh();
+                // Οι εργασίες επιλύουν το όνομα μέσω του λεξικού, οπότε αρκεί η ανανέωση του πίνακα
+                TaskTable.refresh();
                 System.out.println("Edited Category: " + newName);
             } else {
                 showAlert("Invalid Input", "Category name cannot be empty.");
@@ -378,21 +561,15 @@ public class MainSceneController {
     
         confirm.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                // Βρίσκουμε όλες τις εργασίες που ανήκουν στην επιλεγμένη κατηγορία
-                ObservableList<Task> tasksToRemove = taskList.filtered(task ->
-                    task.getCategory().equals(selectedCategory.getName())
-                );
+                // Οι εργασίες της κατηγορίας βρίσκονται απευθείας από τη λίστα του κωδικού της
+                List<Task> tasksToRemove = taskStore.getTasksInCategory(selectedCategory.getId());
                 
-                // Για κάθε εργασία που πρόκειται να διαγραφεί, αφαιρούμε και τις υπενθυμίσεις της
-                tasksToRemove.forEach(task ->
-                    reminderList.removeIf(reminder -> reminder.getTask().equals(task))
-                );
-                
-                // Διαγραφή των εργασιών που ανήκουν στην κατηγορία
-                taskList.removeAll(tasksToRemove);
+                // Διαγραφή των εργασιών που ανήκουν στην κατηγορία, μαζί με τις υπενθυμίσεις τους
+                taskStore.removeTasks(tasksToRemove);
                 
                 // Διαγραφή της κατηγορίας
                 categoryList.remove(selectedCategory);
+                Category.remove(selectedCategory);
                 System.out.println("Deleted Category: " + selectedCategory.getName());
             }
         });
@@ -411,8 +588,8 @@ public class MainSceneController {
     
         dialog.showAndWait().ifPresent(priorityName -> {
             if (!priorityName.trim().isEmpty()) {
-                Priority newPriority = new Priority(priorityName.trim());
-                if (!priorityList.contains(newPriority)) {
+                if (Priority.findByName(priorityName) == null) {
+                    Priority newPriority = Priority.of(priorityName.trim());
                     priorityList.add(newPriority);
                     System.out.println("Added Priority: " + newPriority.getName());
                 } else {
@@ -442,15 +619,47 @@ public class MainSceneController {
         dialog.setContentText("New name:");
     
         dialog.showAndWait().ifPresent(newName -> {
-            if (!newName.trim().isEmpty()) {
+            Priority existing = Priority.findByName(newName);
+            if (existing != null && existing != selectedPriority) {
+                showAlert("Duplicate Priority", "This priority already exists.");
+            } else if (!newName.trim().isEmpty()) {
                 selectedPriority.setName(newName.trim());
+                if (!selectedPriority.isDefault()) {
+                    editPriorityRank(selectedPriority);
+                }
+                markUpdated(priorityList, selectedPriority);
                 PriorityTable.refresh();
+                TaskTable.refresh();
                 System.out.println("Edited Priority: " + newName);
             } else {
                 showAlert("Invalid Input", "Priority name cannot be empty.");
             }
         });
     }
+
+    /**
+     * Ζητά τον βαθμό επείγοντος μιας προτεραιότητας και τον εφαρμόζει.
+     * Οι εργασίες της προτεραιότητας επανατοποθετούνται στις ταξινομημένες όψεις μέσω του TaskStore.
+     *
+     * @param priority η προτεραιότητα.
+     */
+    private void editPriorityRank(Priority priority) {
+        TextInputDialog dialog = new TextInputDialog(String.valueOf(priority.getRank()));
+        dialog.setTitle("Edit Priority");
+        dialog.setHeaderText("Urgency rank (higher is more urgent)");
+        dialog.setContentText("Rank:");
+
+        dialog.showAndWait().ifPresent(text -> {
+            try {
+                int rank = Integer.parseInt(text.trim());
+                if (rank != priority.getRank()) {
+                    taskStore.reindexTasks(taskStore.getTasksWithPriority(priority.getId()), () -> priority.setRank(rank));
+                }
+            } catch (NumberFormatException e) {
+                showAlert("Invalid Input", "Rank must be a whole number.");
+            }
+        });
+    }
     
     /**
      * Διαγράφει την επιλεγμένη προτεραιότητα.
@@ -471,21 +680,15 @@ public class MainSceneController {
     
         confirm.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                // Βρίσκουμε όλες τις εργασίες που ανήκουν στην επιλεγμένη προτεραιότητα
-                ObservableList<Task> tasksToRemove = taskList.filtered(task ->
-                    task.getPriority().getName().equals(selectedPriority.getName())
-                );
+                // Οι εργασίες της προτεραιότητας βρίσκονται απευθείας από τη λίστα του κωδικού της
+                List<Task> tasksToRemove = taskStore.getTasksWithPriority(selectedPriority.getId());
                 
-                // Για κάθε εργασία που πρόκειται να διαγραφεί, αφαιρούμε και τις υπενθυμίσεις της
-                tasksToRemove.forEach(task ->
-                    reminderList.removeIf(reminder -> reminder.getTask().equals(task))
-                );
-                
-                // Διαγραφή των εργασιών που ανήκουν στην προτεραιότητα
-                taskList.removeAll(tasksToRemove);
+                // Διαγραφή των εργασιών που ανήκουν στην προτεραιότητα, μαζί με τις υπενθυμίσεις τους
+                taskStore.removeTasks(tasksToRemove);
                 
                 // Διαγραφή της προτεραιότητας
                 priorityList.remove(selectedPriority);
+                Priority.remove(selectedPriority);
                 System.out.println("Deleted Priority: " + selectedPriority.getName());
             }
         });
@@ -505,7 +708,7 @@ public class MainSceneController {
             return;
         }
         // Ελέγχουμε αν το task είναι Completed
-        if (selectedTask.getStatus().getName().equals("Completed")) {
+        if (selectedTask.getStatus() == Status.COMPLETED) {
             showAlert("Invalid Operation", "Cannot add a reminder to a completed task.");
             return;
         }
@@ -580,7 +783,7 @@ public class MainSceneController {
         });
     
         Optional<Reminder> result = dialog.showAndWait();
-        result.ifPresent(newReminder -> reminderList.add(newReminder));
+        result.ifPresent(taskStore::addReminder);
     }
     
     /**
@@ -603,6 +806,7 @@ public class MainSceneController {
         dialog.showAndWait().ifPresent(newName -> {
             if (!newName.trim().isEmpty()) {
                 selectedReminder.setName(newName.trim());
+                markUpdated(reminderList, selectedReminder);
                 ReminderTable.refresh();
             }
         });
@@ -627,36 +831,146 @@ public class MainSceneController {
     
         confirm.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                reminderList.remove(selectedReminder);
+                taskStore.removeReminder(selectedReminder);
             }
         });
     }
     
     /**
-     * Φιλτράρει τις εργασίες με βάση το κείμενο αναζήτησης, την επιλεγμένη κατηγορία και προτεραιότητα.
-     * Τυπώνει στο console το πλήθος των αποτελεσμάτων και ενημερώνει τον TaskTable.
+     * Φιλτράρει άμεσα τις εργασίες με βάση το κείμενο αναζήτησης, την επιλεγμένη κατηγορία,
+     * προτεραιότητα και κατάσταση (κουμπί Search).
      */
     @FXML
     void filterTasks() {
-        String searchTitle = searchTitleField.getText().toLowerCase();
+        filterPipeline.submitNow(createFilter());
+    }
+
+    /**
+     * Δημιουργεί τον υπολογισμό του φίλτρου από τις τρέχουσες τιμές των πεδίων αναζήτησης.
+     * Οι τιμές διαβάζονται εδώ, στο JavaFX thread· ο υπολογισμός εκτελείται στο νήμα του FilterPipeline.
+     * Τα φίλτρα κατηγορίας, προτεραιότητας και κατάστασης συνδυάζονται στο BitmapIndex,
+     * οπότε για κάθε εργασία ελέγχεται μόνο ένα bit.
+     *
+     * @return ο υπολογισμός του φίλτρου.
+     */
+    private Supplier<FilterPipeline.Result<Task>> createFilter() {
         Category selectedCategory = filterCategoryBox.getValue();
         Priority selectedPriority = filterPriorityBox.getValue();
-    
-        // Φιλτράρισμα
-        ObservableList<Task> filteredList = taskList.filtered(task -> {
-            boolean matchesTitle = searchTitle.isEmpty()
-                || task.getTitle().toLowerCase().contains(searchTitle);
-            boolean matchesCategory = (selectedCategory == null) 
-                || task.getCategory().equals(selectedCategory.getName());
-            boolean matchesPriority = (selectedPriority == null)
-                || (task.getPriority().equals(selectedPriority));
-            return matchesTitle && matchesCategory && matchesPriority;
+        Status selectedStatus = filterStatusBox.getValue();
+        String query = searchTitleField.getText();
+        boolean fullText = fullTextSearchBox.isSelected();
+        rankedSearchActive = fullText && query != null && !query.isBlank();
+
+        return () -> {
+            // Τα πεδία φίλτρων του UI γίνονται συνθήκες, όπως αυτές της γλώσσας ερωτημάτων
+            List<Condition> filters = new ArrayList<>();
+            if (selectedCategory != null) {
+                filters.add(Condition.category(Condition.Operator.EQ, selectedCategory.getName()));
+            }
+            if (selectedPriority != null) {
+                filters.add(Condition.priority(Condition.Operator.EQ, selectedPriority.getName()));
+            }
+            if (selectedStatus != null) {
+                filters.add(Condition.status(Condition.Operator.EQ, selectedStatus));
+            }
+
+            if (fullText && query != null && !query.isBlank()) {
+                // Αναζήτηση σε τίτλο και περιγραφή, με τα αποτελέσματα ταξινομημένα κατά βαθμολογία.
+                // Οι βαθμολογίες υπολογίζονται ξανά μετά από κάθε μεταβολή (scheduleRankRefresh)
+                Query comboFilter = Query.of(filters, false);
+                Map<Long, Double> scores = new HashMap<>();
+                for (FullTextIndex.Hit hit : fullTextIndex.search(query)) {
+                    scores.put(hit.getTaskId(), hit.getScore());
+                }
+                showQueryStatus(null, null);
+                return new FilterPipeline.Result<>(
+                    task -> scores.containsKey(task.getId()) && comboFilter.matches(task),
+                    Comparator.comparingDouble((Task task) -> scores.getOrDefault(task.getId(), 0.0)).reversed());
+            }
+
+            // Ερωτήματα με πεδία (π.χ. status!=Completed deadline<today+7) αναλύονται σε συνθήκες·
+            // απλό κείμενο, όπως και ένα λανθασμένο ερώτημα, αναζητείται ως έχει στον τίτλο
+            List<Condition> conditions = new ArrayList<>(filters);
+            Query structured = null;
+            String status = null;
+            String details = null;
+            try {
+                structured = parseStructuredQuery(query);
+            } catch (IllegalArgumentException e) {
+                status = "Invalid query: " + e.getMessage();
+            }
+            if (structured != null) {
+                conditions.addAll(structured.getConditions());
+            } else if (query != null && !query.isBlank()) {
+                conditions.add(Condition.title(Condition.Operator.EQ, query));
+            }
+            if (conditions.isEmpty()) {
+                showQueryStatus(status, null);
+                return new FilterPipeline.Result<>(null, null);
+            }
+
+            // Το αποτέλεσμα βρίσκεται στην cache ή υπολογίζεται από τον QueryPlanner με το πιο επιλεκτικό ευρετήριο.
+            // Η cache διορθώνει το σύνολο με κάθε μεταβολή, οπότε το predicate μένει σωστό.
+            Query combined = Query.of(conditions, structured != null && structured.isExplain());
+            Plan plan = queryPlanner.plan(combined);
+            long start = System.nanoTime();
+            Set<Long> matches = filterCache.get(combined.getKey(), combined::matches, () -> plan.collect(scanEngine));
+            if (combined.isExplain()) {
+                status = "Returned " + matches.size() + " tasks in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms (hover for the plan)";
+                details = plan.explain() + "\n" + filterCache;
+            }
+            showQueryStatus(status, details);
+            return new FilterPipeline.Result<>(task -> matches.contains(task.getId()), null);
+        };
+    }
+
+    /**
+     * Προγραμματίζει νέο υπολογισμό της αναζήτησης πλήρους κειμένου, αν είναι ενεργή. Καλείται από
+     * το TaskStore πριν από την αλλαγή της λίστας, οπότε ο υπολογισμός ζητείται αφού ολοκληρωθεί η
+     * μεταβολή· πολλές μεταβολές στη σειρά συγχωνεύονται σε έναν υπολογισμό από το debounce του FilterPipeline.
+     */
+    private void scheduleRankRefresh() {
+        if (rankRefreshPending || !rankedSearchActive) {
+            return;
+        }
+        rankRefreshPending = true;
+        Platform.runLater(() -> {
+            rankRefreshPending = false;
+            filterPipeline.submit(createFilter());
         });
-    
-        System.out.println("Filtered size: " + filteredList.size());
-        TaskTable.setItems(filteredList);
     }
-    
+
+    /**
+     * Αναλύει το κείμενο αναζήτησης ως ερώτημα της γλώσσας ερωτημάτων.
+     *
+     * @param text το κείμενο αναζήτησης.
+     * @return το ερώτημα ή null αν το κείμενο είναι απλή αναζήτηση στον τίτλο.
+     * @throws IllegalArgumentException αν το ερώτημα δεν είναι έγκυρο.
+     */
+    private Query parseStructuredQuery(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        Query parsed = QueryParser.parse(text, deadlineIndex.getToday());
+        return parsed.isStructured() ? parsed : null;
+    }
+
+    /**
+     * Εμφανίζει κάτω από τα φίλτρα ένα μήνυμα για το τελευταίο ερώτημα: σφάλμα σύνταξης ή, για ερωτήματα
+     * explain, το πλήθος και τον χρόνο, με το πλάνο εκτέλεσης και τα στατιστικά της cache ως tooltip.
+     * Καλείται από το νήμα των φίλτρων· η ετικέτα ενημερώνεται στο JavaFX thread.
+     *
+     * @param text το μήνυμα ή null για καθαρισμό της ετικέτας.
+     * @param details το πλήρες κείμενο του tooltip ή null.
+     */
+    private void showQueryStatus(String text, String details) {
+        Platform.runLater(() -> {
+            queryStatusLabel.setText(text != null ? text : "");
+            queryStatusLabel.setTooltip(details != null ? new Tooltip(details) : null);
+        });
+    }
+
     /**
      * Επαναφέρει τα φίλτρα αναζήτησης στις αρχικές τιμές και εμφανίζει όλες τις εργασίες.
      */
@@ -665,57 +979,150 @@ public class MainSceneController {
         searchTitleField.clear();
         filterCategoryBox.setValue(null);
         filterPriorityBox.setValue(null);
-        TaskTable.setItems(taskList); 
+        filterStatusBox.setValue(null);
+        filterTasks();
     }
     
     /**
      * Αρχικοποιεί το σκηνικό.
      * Φορτώνει τα αποθηκευμένα δεδομένα (tasks, categories, priorities, reminders),
-     * ρυθμίζει τις στήλες των πινάκων, και ενημερώνει τους μετρητές.
+     * ρυθμίζει τις στήλες των πινάκων, και ενημερώνει τους μετρητές. Αν κάποιο αρχείο δεν διαβάζεται
+     * ολόκληρο, η αρχικοποίηση σταματά πριν ξεκινήσουν η αυτόματη αποθήκευση και το journal,
+     * ώστε τα αρχεία να μην αντικατασταθούν από μερικά δεδομένα.
      */
     @FXML
     public void initialize() {
-    
-        List<Task> savedTasks = DataManager.loadTasks();
-        if (savedTasks != null) {
-            taskList.addAll(savedTasks);
-        }
-    
-        List<Category> savedCategories = DataManager.loadCategories();
-        if (savedCategories != null) {
-            categoryList.addAll(savedCategories);
-        }
-    
-        List<Priority> savedPriorities = DataManager.loadPriorities();
-        if (savedPriorities != null) {
-            priorityList.addAll(savedPriorities);
-        }
-    
-        List<Reminder> savedReminders = DataManager.loadReminders();
-        if (savedReminders != null) {
-            reminderList.addAll(savedReminders);
-        }
+        Task.setClock(clock);
+    
+        // Τα δεδομένα φορτώνονται σε παρτίδες απευθείας στις ObservableList.
+        // Οι κατηγορίες και οι προτεραιότητες φορτώνονται πρώτες, γιατί αποτελούν το λεξικό
+        // στο οποίο αναφέρονται οι κωδικοί των εργασιών.
+        DataManager.loadCategories(categoryList::addAll);
+        DataManager.loadPriorities(priorityList::addAll);
+        DataManager.rebuildDictionaries(categoryList, priorityList);
+        DataManager.loadTasks(taskList::addAll);
+        DataManager.adoptMigratedEntries(categoryList, priorityList);
+        DataManager.loadReminders(reminderList::addAll);
+        DataManager.assignIds(taskList, reminderList);
+
+        // Εφαρμογή των μεταβολών του journal που έγιναν μετά το τελευταίο στιγμιότυπο
+        journal.bind(Journal.Entity.TASK, taskList);
+        journal.bind(Journal.Entity.CATEGORY, categoryList);
+        journal.bind(Journal.Entity.PRIORITY, priorityList);
+        journal.bind(Journal.Entity.REMINDER, reminderList);
+        journal.replay();
+        DataManager.rebuildDictionaries(categoryList, priorityList);
+
+        // Το store χτίζει τα ευρετήρια και συνδέει τις υπενθυμίσεις με τις εργασίες τους
+        taskStore = new TaskStore(taskList, reminderList);
+        LocalDate today = LocalDate.now(clock);
+        deadlineIndex = new DeadlineIndex(taskList, today, TaskCounters.DUE_SOON_DAYS);
+        taskStore.addListener(deadlineIndex);
+        titleIndex = new TitleIndex(taskList);
+        taskStore.addListener(titleIndex);
+        fullTextIndex = DataManager.loadSearchIndex(taskList);
+        taskStore.addListener(fullTextIndex);
     
         checkAndUpdateDelayedTasks();
-    
-        checkAndShowReminders();
+        bitmapIndex = new BitmapIndex(taskList);
+        taskStore.addListener(bitmapIndex);
+        queryPlanner = new QueryPlanner(titleIndex, deadlineIndex, bitmapIndex);
+        taskStore.addListener(filterCache);
+
+        // Οι ταξινομημένες όψεις καταχωρούνται μετά την cache, γιατί οι αλλαγές τους φτάνουν
+        // αμέσως στο predicate του πίνακα, που διαβάζει τα σύνολα της cache
+        sortedViews.put(deadlineColumn, new SortedTaskView(taskList, SortedTaskView.BY_DEADLINE));
+        sortedViews.put(priorityColumn, new SortedTaskView(taskList, SortedTaskView.BY_PRIORITY));
+        sortedViews.put(statusColumn, new SortedTaskView(taskList, SortedTaskView.BY_STATUS));
+        for (SortedTaskView view : sortedViews.values()) {
+            taskStore.addListener(view);
+        }
+
+        // Οι μετρητές υπολογίζονται μία φορά και στη συνέχεια ενημερώνονται από το store
+        taskCounters = new TaskCounters(taskList, today, scanEngine, this::updateTaskCounters);
+        taskStore.addListener(taskCounters);
+        taskStatistics = new TaskStatistics(taskList, scanEngine, this::scheduleDashboardRefresh);
+        taskStore.addListener(taskStatistics);
+        dueSoonListView.setItems(deadlineIndex.getDueSoon());
+    
+        // Οι υπενθυμίσεις που λήγουν, μαζί με όσες έληξαν όσο η εφαρμογή ήταν κλειστή, μπαίνουν
+        // στην ουρά του κέντρου ειδοποιήσεων, που τις εμφανίζει συγχωνευμένες στο JavaFX thread
+        notificationCenter = new NotificationCenter(clock, NotificationCenter.DEFAULT_COALESCE_WINDOW,
+            NotificationCenter.DEFAULT_MIN_INTERVAL, Platform::runLater, this::showReminderNotification);
+        deliveryPipeline = createDeliveryPipeline();
+        deliveryPipeline.start();
+        // Οι παρτίδες φτάνουν στο JavaFX thread, οπότε το pipeline αντιγράφει τις εργασίες εκεί που τροποποιούνται
+        reminderScheduler = new ReminderScheduler(clock, ReminderScheduler.DEFAULT_MAX_SLEEP,
+            Platform::runLater, due -> {
+                deliveryPipeline.dispatch(due);
+                notificationCenter.submit(due);
+            });
+        reminderScheduler.start(taskStore, DataManager.loadReminderWatermark());
+
+        // Στα μεσάνυχτα (ή σε αλλαγή ζώνης ώρας) γίνονται Delayed μόνο οι εργασίες που μόλις καθυστέρησαν
+        statusEngine = new StatusEngine(clock, StatusEngine.DEFAULT_MAX_SLEEP, taskStore, deadlineIndex,
+            Platform::runLater, this::dayChanged);
+        statusEngine.start();
     
         // Σύνδεση των στηλών με τα δεδομένα της λίστας
         titleColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getTitle()));
-        categoryColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getCategory()));
+        categoryColumn.setCellValueFactory(cellData -> new SimpleStringProperty(Objects.toString(cellData.getValue().getCategory(), "")));
         priorityColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getPriority().getName()));
         deadlineColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getDeadline().toString()));
         statusColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getStatus().getName()));
-    
-        TaskTable.setItems(taskList);
+        // Η επόμενη εμφάνιση υπολογίζεται μόνο για τις γραμμές που εμφανίζονται
+        recurrenceColumn.setCellValueFactory(cellData -> new SimpleStringProperty(describeRecurrence(cellData.getValue())));
+        // Οι στήλες ταξινομούνται όπως οι αντίστοιχες όψεις: πρώτα οι πιο επείγουσες προτεραιότητες
+        // και οι καταστάσεις με τη σειρά της απαρίθμησης
+        priorityColumn.setComparator(Comparator.comparingInt((String name) -> {
+            Priority priority = Priority.findByName(name);
+            return (priority != null) ? -priority.getRank() : 0;
+        }).thenComparing(Comparator.naturalOrder()));
+        statusColumn.setComparator(Comparator.comparingInt((String name) -> Status.fromName(name).ordinal()));
+    
+        taskSource = new SwitchableList<>(taskList);
+        filteredTasks = new FilteredList<>(taskSource);
+        sortedTasks = new SortedList<>(filteredTasks);
+        // Η ταξινόμηση από τις στήλες έχει προτεραιότητα· αλλιώς ισχύει η σειρά κατάταξης της αναζήτησης.
+        // Όταν η σειρά δίνεται από μια ταξινομημένη όψη, το SortedList απλώς διατηρεί τη σειρά της πηγής.
+        sortedTasks.comparatorProperty().bind(Bindings.createObjectBinding(
+            () -> sortedByView.get() ? null
+                : TaskTable.getComparator() != null ? TaskTable.getComparator() : rankComparator.get(),
+            TaskTable.comparatorProperty(), rankComparator, sortedByView));
+        TaskTable.setSortPolicy(_ -> applyTaskSort());
+        TaskTable.setItems(sortedTasks);
+
+        // Τα φίλτρα εφαρμόζονται καθώς ο χρήστης πληκτρολογεί ή αλλάζει επιλογή,
+        // αφού σταματήσει για λίγο (debounce)
+        filterPipeline = new FilterPipeline<>(filteredTasks, rankComparator, FilterPipeline.DEFAULT_DEBOUNCE);
+        searchTitleField.textProperty().addListener((_, _, _) -> filterPipeline.submit(createFilter()));
+        fullTextSearchBox.selectedProperty().addListener((_, _, _) -> filterPipeline.submit(createFilter()));
+        filterCategoryBox.valueProperty().addListener((_, _, _) -> filterPipeline.submit(createFilter()));
+        filterPriorityBox.valueProperty().addListener((_, _, _) -> filterPipeline.submit(createFilter()));
+        filterStatusBox.valueProperty().addListener((_, _, _) -> filterPipeline.submit(createFilter()));
+        // Οι βαθμολογίες της αναζήτησης πλήρους κειμένου εξαρτώνται από όλες τις εργασίες,
+        // οπότε κάθε μεταβολή προγραμματίζει νέο υπολογισμό όσο η αναζήτηση είναι ενεργή
+        taskStore.addListener(new TaskStore.Listener() {
+            @Override
+            public void taskAdded(Task task) {
+                scheduleRankRefresh();
+            }
+
+            @Override
+            public void taskRemoved(Task task) {
+                scheduleRankRefresh();
+            }
+        });
     
         nameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getName()));
         piorityNameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getName()));
+        priorityRankColumn.setCellValueFactory(cellData -> new SimpleStringProperty(String.valueOf(cellData.getValue().getRank())));
         CategoryTable.setItems(categoryList);
         PriorityTable.setItems(priorityList);
     
         filterCategoryBox.setItems(MainSceneController.getCategoryList());
         filterPriorityBox.setItems(MainSceneController.getPriorityList());
+        filterStatusBox.setItems(FXCollections.observableArrayList(Status.values()));
     
         rNameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getName()));
         taskTitleColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getTask().getTitle()));
@@ -724,6 +1131,84 @@ public class MainSceneController {
     
         ReminderTable.setItems(reminderList);
         updateTaskCounters();
+
+        // Το dashboard διαβάζει τις συναθροίσεις μόνο όταν εμφανίζεται
+        groupCategoryColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getCategoryName()));
+        groupPriorityColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getPriorityName()));
+        groupStatusColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getStatus().getName()));
+        groupCountColumn.setCellValueFactory(cellData -> new SimpleIntegerProperty(cellData.getValue().getCount()));
+        periodBox.setItems(FXCollections.observableArrayList(TaskStatistics.Period.values()));
+        periodBox.setValue(TaskStatistics.Period.WEEK);
+        periodBox.valueProperty().addListener((_, _, _) -> scheduleDashboardRefresh());
+        dashboardTab.selectedProperty().addListener((_, _, selected) -> {
+            if (selected) {
+                refreshDashboard();
+            }
+        });
+
+        // Από εδώ και πέρα κάθε μεταβολή των λιστών καταγράφεται στο journal
+        // και τα δεδομένα αποθηκεύονται περιοδικά στο παρασκήνιο
+        autosave = new AutosaveService(journal, this::createSnapshot);
+        journal.setCompactionTrigger(autosave::requestSave);
+        try {
+            journal.start();
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.out.println("Error: Could not open the journal");
+        }
+        autosave.start();
+    }
+
+    /**
+     * Εφαρμόζει την ταξινόμηση του TaskTable. Η ταξινόμηση κατά μία μόνο από τις στήλες προθεσμίας,
+     * προτεραιότητας ή κατάστασης διαβάζεται έτοιμη από την αντίστοιχη ταξινομημένη όψη (ή την
+     * αντίστροφή της), οπότε δεν χρειάζεται επαναταξινόμηση· οι υπόλοιπες ταξινομήσεις γίνονται από το SortedList.
+     *
+     * @return true, αφού η ταξινόμηση εφαρμόζεται πάντα.
+     */
+    private boolean applyTaskSort() {
+        ObservableList<Task> source = taskList;
+        if (TaskTable.getSortOrder().size() == 1) {
+            TableColumn<Task, ?> column = TaskTable.getSortOrder().get(0);
+            SortedTaskView view = sortedViews.get(column);
+            if (view != null) {
+                source = (column.getSortType() == TableColumn.SortType.ASCENDING) ? view : view.descending();
+            }
+        }
+        // Ο comparator του SortedList αφαιρείται πριν από την αλλαγή πηγής και επανέρχεται μετά,
+        // ώστε η αλλαγή να μην προκαλεί άσκοπη ταξινόμηση
+        if (source != taskList) {
+            sortedByView.set(true);
+            taskSource.setSource(source);
+        } else {
+            taskSource.setSource(source);
+            sortedByView.set(false);
+        }
+        return true;
+    }
+
+    /**
+     * Δημιουργεί ένα στιγμιότυπο των τεσσάρων λιστών για αποθήκευση.
+     *
+     * @return το στιγμιότυπο των δεδομένων.
+     */
+    private DataSnapshot createSnapshot() {
+        return new DataSnapshot(taskList, categoryList, priorityList, reminderList);
+    }
+
+    /**
+     * Δηλώνει ότι ένα στοιχείο μιας λίστας άλλαξε, αντικαθιστώντας το με τον εαυτό του.
+     * Έτσι η αλλαγή φτάνει στους listeners της λίστας (πίνακες και journal).
+     *
+     * @param list η λίστα που περιέχει το στοιχείο.
+     * @param item το στοιχείο που άλλαξε.
+     * @param <T> ο τύπος των στοιχείων της λίστας.
+     */
+    private static <T> void markUpdated(ObservableList<T> list, T item) {
+        int index = list.indexOf(item);
+        if (index >= 0) {
+            list.set(index, item);
+        }
     }
         
     /**
@@ -742,46 +1227,60 @@ public class MainSceneController {
     /**
      * Αποθηκεύει τα δεδομένα και κλείνει την εφαρμογή.
      * Εμφανίζει alert επιβεβαίωσης για αποθήκευση προτού τερματιστεί η εφαρμογή.
+     * Αν ο χρήστης επιλέξει αποθήκευση, το journal συμπυκνώνεται σε νέο στιγμιότυπο στο νήμα
+     * της αυτόματης αποθήκευσης και η εφαρμογή κλείνει όταν ολοκληρωθεί η εγγραφή.
+     * Αλλιώς η εφαρμογή κλείνει χωρίς νέο στιγμιότυπο: οι μεταβολές έχουν ήδη καταγραφεί στο journal
+     * (και εν μέρει στην αυτόματη αποθήκευση), οπότε εφαρμόζονται ξανά στην επόμενη εκκίνηση.
      */
     @FXML
     void saveAndExit() {
         Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
         confirm.setTitle("Exit Application");
-        confirm.setHeaderText("Save changes before exiting?");
-        confirm.setContentText("Do you want to save your progress before closing?");
+        confirm.setHeaderText("Save a snapshot before exiting?");
+        confirm.setContentText("Your changes are recorded as you work and are kept either way.\n"
+                + "OK writes them to the data files now; Cancel exits immediately and they are "
+                + "restored from the journal the next time the application starts.");
     
         confirm.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                DataManager.saveTasks(taskList);
-                DataManager.saveCategories(categoryList);
-                DataManager.savePriorities(priorityList);
-                DataManager.saveReminders(reminderList);
-                System.out.println("Data saved successfully.");
+                SaveExit_button.setDisable(true);
+                autosave.saveNow().whenComplete((_, error) -> {
+                    if (error != null) {
+                        error.printStackTrace();
+                    } else {
+                        System.out.println("Data saved successfully.");
+                    }
+                    Platform.runLater(this::exitApplication);
+                });
+            } else {
+                exitApplication();
             }
-            System.exit(0);
         });
     }
+
+    /**
+     * Σταματά την αυτόματη αποθήκευση και το journal και τερματίζει την εφαρμογή.
+     */
+    private void exitApplication() {
+        filterPipeline.shutdown();
+        scanEngine.shutdown();
+        reminderScheduler.shutdown();
+        notificationCenter.shutdown();
+        deliveryPipeline.shutdown();
+        statusEngine.shutdown();
+        DataManager.saveSearchIndex(fullTextIndex);
+        autosave.shutdown();
+        journal.close();
+        System.exit(0);
+    }
     
     /**
-     * Ελέγχει και ενημερώνει τις καθυστερημένες εργασίες.
-     * Αν μια εργασία έχει περάσει την προθεσμία της και δεν είναι Completed, η κατάσταση της αλλάζει σε Delayed.
+     * Θέτει σε "Delayed" τις εργασίες που καθυστέρησαν όσο η εφαρμογή ήταν κλειστή
+     * και ορίζει την εμφάνιση της λίστας των εργασιών με κοντινή προθεσμία.
      */
     private void checkAndUpdateDelayedTasks() {
-        LocalDate today = LocalDate.now();
-        boolean updated = false;
-    
-        for (Task task : taskList) {
-            if (!task.getStatus().getName().equals("Completed") && task.getDeadline() != null) {
-                if (task.getDeadline().isBefore(today)) {
-                    task.setStatus(new Status("Delayed"));
-                    updated = true;
-                }
-            }
-        }
-    
-        if (updated) {
-            TaskTable.refresh(); 
-        }
+        // Μόνο οι εργασίες με προθεσμία πριν από σήμερα, από το ευρετήριο προθεσμιών
+        StatusEngine.markOverdueOnLoad(clock, deadlineIndex);
         
         dueSoonListView.setCellFactory(_ -> new ListCell<Task>() {
             @Override
@@ -789,67 +1288,108 @@ public class MainSceneController {
                 super.updateItem(task, empty);
                 if (empty || task == null) {
                     setText(null);
+                } else if (task.isRecurring()) {
+                    // Οι εμφανίσεις υπολογίζονται μόνο για το παράθυρο της λίστας
+                    LocalDate from = deadlineIndex.getToday();
+                    List<String> dates = new ArrayList<>();
+                    for (LocalDate date : task.occurrencesBetween(from, from.plusDays(TaskCounters.DUE_SOON_DAYS))) {
+                        dates.add(date.getDayOfMonth() + "/" + date.getMonthValue());
+                    }
+                    setText(task.getTitle() + " (" + String.join(", ", dates) + ")");
                 } else {
                     setText(task.getTitle());
                 }
             }
         });
-    
-        updateDueSoonTasks();
     }
-    
+
     /**
-     * Ελέγχει και ενημερώνει τις καθυστερημένες εργασίες χωρίς να κάνει ανανέωση του πίνακα.
+     * Επιστρέφει την περιγραφή του κανόνα επανάληψης μιας εργασίας μαζί με την επόμενη εμφάνιση.
+     *
+     * @param task η εργασία.
+     * @return η περιγραφή ή κενό αν η εργασία δεν επαναλαμβάνεται.
      */
-    public void checkAndUpdateOverdueTasks() {
-        for (Task task : taskList) {
-            if (!task.getStatus().getName().equals("Completed") && task.getDeadline() != null) {
-                if (task.getDeadline().isBefore(LocalDate.now())) {
-                    task.setStatus(new Status("Delayed"));
-                }
-            }
+    private static String describeRecurrence(Task task) {
+        Recurrence recurrence = task.getRecurrence();
+        if (recurrence == null) {
+            return "";
         }
+        LocalDate next = recurrence.occurrence(recurrence.getCompleted() + 1L);
+        return (next != null && task.getStatus() != Status.COMPLETED) ? recurrence + " (then " + next + ")" : recurrence.toString();
     }
     
     /**
-     * Ελέγχει τις υπενθυμίσεις και εμφανίζει alert για κάθε υπενθύμιση που έχει ημερομηνία ίση με τη σημερινή.
+     * Δημιουργεί το pipeline παράδοσης των υπενθυμίσεων, με sinks το αρχείο reminders.log και τον φάκελο
+     * maildrop του φακέλου δεδομένων, και έναν SMTP server αν έχει οριστεί το medialab.smtpHost.
+     *
+     * @return το pipeline.
      */
-    public void checkAndShowReminders() {
-        for (Reminder reminder : reminderList) {
-            if (reminder.getReminderDate().isEqual(LocalDate.now())) {
-                showReminderNotification(reminder);
-            }
+    private DeliveryPipeline createDeliveryPipeline() {
+        String from = System.getProperty("medialab.mailFrom", "medialab@localhost");
+        String to = System.getProperty("medialab.mailTo", System.getProperty("user.name") + "@localhost");
+        DeliveryPipeline pipeline = new DeliveryPipeline(clock, DeliveryPipeline.DEFAULT_MAX_ATTEMPTS,
+            DeliveryPipeline.DEFAULT_INITIAL_BACKOFF, DeliveryPipeline.DEFAULT_MAX_BACKOFF);
+        pipeline.register(new LogFileSink(DataManager.dataFile("reminders.log").toPath()));
+        pipeline.register(new MailDropSink(DataManager.dataFile("maildrop").toPath(), from, to));
+        String smtpHost = System.getProperty("medialab.smtpHost");
+        if (smtpHost != null && !smtpHost.isBlank()) {
+            pipeline.register(new SmtpSink(smtpHost, Integer.getInteger("medialab.smtpPort", 25), from, to,
+                Integer.getInteger("medialab.smtpTimeoutMillis", 10000)), 2);
         }
+        return pipeline;
     }
     
     /**
-     * Εμφανίζει ένα alert υπενθύμισης με τις λεπτομέρειες της υπενθύμισης.
+     * Εμφανίζει ένα alert υπενθύμισης, χωρίς να περιμένει να κλείσει. Για περισσότερες από μία
+     * υπενθυμίσεις εμφανίζεται μία σύνοψη, με τη λίστα τους στις λεπτομέρειες· η επιλογή μιας
+     * υπενθύμισης επιλέγει την εργασία της στον πίνακα. Καλείται στο JavaFX thread από το NotificationCenter.
      *
-     * @param reminder η υπενθύμιση για την οποία θα εμφανιστεί το alert.
+     * @param due οι υπενθυμίσεις της ειδοποίησης.
      */
-    private void showReminderNotification(Reminder reminder) {
+    private void showReminderNotification(List<Reminder> due) {
         Alert alert = new Alert(AlertType.INFORMATION);
+        alert.initModality(Modality.NONE);
         alert.setTitle("Reminder Notification");
-        alert.setHeaderText("You have a reminder!");
-        alert.setContentText("Reminder: " + reminder.getName() + "\nFor Task: " + reminder.getTask().getTitle());
-        alert.showAndWait();
+        if (due.size() == 1) {
+            Reminder reminder = due.get(0);
+            alert.setHeaderText("You have a reminder!");
+            alert.setContentText("Reminder: " + reminder.getName() + "\nFor Task: " + reminder.getTask().getTitle());
+        } else {
+            alert.setHeaderText("You have " + due.size() + " reminders!");
+            alert.setContentText("Expand the details to see them all.");
+            ListView<Reminder> reminders = new ListView<>(FXCollections.observableArrayList(due));
+            reminders.setCellFactory(_ -> new ListCell<Reminder>() {
+                @Override
+                protected void updateItem(Reminder reminder, boolean empty) {
+                    super.updateItem(reminder, empty);
+                    if (empty || reminder == null) {
+                        setText(null);
+                    } else {
+                        setText(reminder.getName() + " - " + reminder.getTask().getTitle());
+                    }
+                }
+            });
+            reminders.getSelectionModel().selectedItemProperty().addListener((_, _, reminder) -> {
+                if (reminder != null) {
+                    TaskTable.getSelectionModel().select(reminder.getTask());
+                    TaskTable.scrollTo(reminder.getTask());
+                }
+            });
+            alert.getDialogPane().setExpandableContent(reminders);
+        }
+        alert.setOnHidden(_ -> notificationCenter.dismissed());
+        alert.show();
     }
     
     /**
-     * Ενημερώνει τη λίστα των εργασιών με προθεσμία εντός 7 ημερών και την εμφανίζει στο dueSoonListView.
+     * Ενημερώνει τους μετρητές των εργασιών με κοντινή προθεσμία και τον ReminderScheduler
+     * μετά από αλλαγή ημέρας. Καλείται στο JavaFX thread από το StatusEngine.
+     *
+     * @param today η νέα ημέρα.
      */
-    private void updateDueSoonTasks() {
-        LocalDate today = LocalDate.now();
-        ObservableList<Task> dueSoonTasks = taskList.filtered(task -> {
-            // Εξαιρούμε τις ολοκληρωμένες και εκείνες χωρίς προθεσμία
-            if (task.getDeadline() == null || task.getStatus().getName().equals("Completed")) {
-                return false;
-            }
-            LocalDate deadline = task.getDeadline();
-            // Επιστρέφουμε true αν η προθεσμία είναι σήμερα ή εντός των επόμενων 7 ημερών
-            return !deadline.isBefore(today) && !deadline.isAfter(today.plusDays(7));
-        });
-        dueSoonListView.setItems(dueSoonTasks);
+    private void dayChanged(LocalDate today) {
+        taskCounters.dayChanged(today, deadlineIndex.getDueSoon());
+        reminderScheduler.wakeUp();
     }
     
     /**
@@ -1,24 +1,61 @@
 package model;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
 
 /**
  * Η κλάση Category αναπαριστά μια κατηγορία για τις εργασίες.
- * Κάθε δημιουργημένη κατηγορία προστίθεται αυτόματα σε μια στατική λίστα.
+ * Κάθε κατηγορία έχει έναν κωδικό (id) και καταχωρείται σε ένα κοινό μητρώο κωδικός → κατηγορία,
+ * μέσω του οποίου οι εργασίες επιλύουν την κατηγορία τους. Έτσι η μετονομασία μιας κατηγορίας
+ * είναι μια μόνο αλλαγή στο μητρώο και φαίνεται αμέσως σε όλες τις εργασίες της.
+ * Ο constructor δεν έχει παρενέργειες· μια κατηγορία καταχωρείται μόνο μέσω της Category.of
+ * ή κατά τη φόρτωση (loadDictionary), και τα ονόματα είναι μοναδικά χωρίς διάκριση πεζών-κεφαλαίων.
  */
 public class Category {
+    private int id;
     private String name;
-    private static List<Category> categories = new ArrayList<>();
+    /** Το μητρώο των κατηγοριών ανά κωδικό και ανά όνομα */
+    private static final NameRegistry<Category> registry =
+            new NameRegistry<>(Category::getId, (category, id) -> category.id = id, Category::getName);
 
     /**
-     * Δημιουργεί μια νέα κατηγορία με το δοσμένο όνομα και την προσθέτει στη λίστα.
+     * Δημιουργεί μια νέα κατηγορία με το δοσμένο όνομα, χωρίς να την καταχωρεί στο μητρώο.
      *
      * @param name το όνομα της κατηγορίας.
      */
     public Category(String name) {
         this.name = name;
-        categories.add(this);
+    }
+
+    /**
+     * Δημιουργεί ένα αντίγραφο της κατηγορίας με τον ίδιο κωδικό, χωρίς να το καταχωρεί στο μητρώο
+     * (π.χ. για το στιγμιότυπο της αυτόματης αποθήκευσης).
+     *
+     * @param other η κατηγορία.
+     */
+    public Category(Category other) {
+        this.id = other.id;
+        this.name = other.name;
+    }
+
+    /**
+     * Επιστρέφει την καταχωρημένη κατηγορία με το δοσμένο όνομα,
+     * δημιουργώντας και καταχωρώντας τη αν δεν υπάρχει ήδη.
+     *
+     * @param name το όνομα της κατηγορίας.
+     * @return η καταχωρημένη κατηγορία.
+     */
+    public static Category of(String name) {
+        Category category = registry.find(name);
+        return (category != null) ? category : registry.add(new Category(name));
+    }
+
+    /**
+     * Επιστρέφει τον κωδικό της κατηγορίας.
+     *
+     * @return ο κωδικός.
+     */
+    public int getId() {
+        return id;
     }
 
     /**
@@ -31,30 +68,51 @@ public class Category {
     }
 
     /**
-     * Θέτει το όνομα της κατηγορίας.
+     * Θέτει το όνομα της κατηγορίας και ενημερώνει το μητρώο.
      *
      * @param name το νέο όνομα.
      */
-    public void setName(String name) { 
-        this.name = name; 
+    public void setName(String name) {
+        registry.rename(this, () -> this.name = name);
+    }
+
+    /**
+     * Επιστρέφει την κατηγορία με τον δοσμένο κωδικό.
+     *
+     * @param id ο κωδικός της κατηγορίας.
+     * @return η κατηγορία ή null αν δεν υπάρχει.
+     */
+    public static Category byId(int id) {
+        return registry.get(id);
+    }
+
+    /**
+     * Αναζητά στο μητρώο μια κατηγορία με το δοσμένο όνομα, χωρίς διάκριση πεζών-κεφαλαίων.
+     *
+     * @param name το όνομα της κατηγορίας.
+     * @return η κατηγορία ή null αν δεν υπάρχει.
+     */
+    public static Category findByName(String name) {
+        return registry.find(name);
     }
 
     /**
-     * Αφαιρεί την κατηγορία με το δοσμένο όνομα από τη στατική λίστα.
+     * Ξαναχτίζει το μητρώο από τις δοσμένες κατηγορίες (π.χ. μετά τη φόρτωση από JSON),
+     * δίνοντας κωδικούς σε όσες δεν έχουν.
      *
-     * @param name το όνομα της κατηγορίας προς διαγραφή.
+     * @param loaded οι κατηγορίες της εφαρμογής.
      */
-    public static void removeCategory(String name) {
-        categories.removeIf(category -> category.getName().equals(name));
+    public static void loadDictionary(Collection<Category> loaded) {
+        registry.reload(loaded);
     }
 
     /**
-     * Επιστρέφει τη λίστα όλων των κατηγοριών.
+     * Αφαιρεί μια κατηγορία από το μητρώο.
      *
-     * @return μια λίστα με τις κατηγορίες.
+     * @param category η κατηγορία προς αφαίρεση.
      */
-    public static List<Category> getCategories() {
-        return categories;
+    public static void remove(Category category) {
+        registry.remove(category);
     }
 
     /**
@@ -0,0 +1,171 @@
+package model;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Η κλάση NameRegistry είναι το κοινό μητρώο για οντότητες με κωδικό και μοναδικό όνομα
+ * (κατηγορίες και προτεραιότητες). Κρατά δύο πίνακες κατακερματισμού, κωδικός → οντότητα και
+ * κανονικοποιημένο όνομα → οντότητα, ώστε τόσο η επίλυση ενός κωδικού όσο και ο έλεγχος
+ * διπλοτύπων να γίνονται σε O(1). Το μητρώο περιέχει μόνο τις οντότητες που καταχωρήθηκαν ρητά
+ * (δηλαδή όσες υπάρχουν στις λίστες της εφαρμογής) και οι διαγραμμένες αφαιρούνται από αυτό.
+ *
+ * @param <T> ο τύπος των οντοτήτων.
+ */
+final class NameRegistry<T> {
+    private final Map<Integer, T> byId = new HashMap<>();
+    private final Map<String, T> byName = new HashMap<>();
+    /** Οι οντότητες με σταθερό κωδικό, που παραμένουν στο μητρώο σε κάθε επαναφόρτωση */
+    private final List<T> pinned = new ArrayList<>(1);
+    private final ToIntFunction<T> idOf;
+    private final ObjIntConsumer<T> assignId;
+    private final Function<T, String> nameOf;
+    /** Ο επόμενος διαθέσιμος κωδικός */
+    private int nextId = 1;
+
+    /**
+     * Δημιουργεί ένα κενό μητρώο.
+     *
+     * @param idOf η συνάρτηση που επιστρέφει τον κωδικό μιας οντότητας.
+     * @param assignId η συνάρτηση που ορίζει τον κωδικό μιας οντότητας.
+     * @param nameOf η συνάρτηση που επιστρέφει το όνομα μιας οντότητας.
+     */
+    NameRegistry(ToIntFunction<T> idOf, ObjIntConsumer<T> assignId, Function<T, String> nameOf) {
+        this.idOf = idOf;
+        this.assignId = assignId;
+        this.nameOf = nameOf;
+    }
+
+    /**
+     * Κανονικοποιεί ένα όνομα για τις συγκρίσεις μοναδικότητας: μορφή Unicode NFKC,
+     * χωρίς κενά στα άκρα, με ένα κενό ανάμεσα στις λέξεις και με πεζά γράμματα.
+     *
+     * @param name το όνομα.
+     * @return το κανονικοποιημένο όνομα.
+     */
+    static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(name, Normalizer.Form.NFKC).trim().replaceAll("\\s+", " ");
+        return normalized.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Επιστρέφει την οντότητα με τον δοσμένο κωδικό.
+     *
+     * @param id ο κωδικός.
+     * @return η οντότητα ή null αν δεν υπάρχει.
+     */
+    synchronized T get(int id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Αναζητά την οντότητα με το δοσμένο όνομα (μετά από κανονικοποίηση).
+     *
+     * @param name το όνομα.
+     * @return η οντότητα ή null αν δεν υπάρχει.
+     */
+    synchronized T find(String name) {
+        return byName.get(normalize(name));
+    }
+
+    /**
+     * Καταχωρεί μια οντότητα, δίνοντάς της νέο κωδικό αν δεν έχει.
+     * Αν υπάρχει ήδη άλλη οντότητα με το ίδιο όνομα, δεν γίνεται καταχώρηση.
+     *
+     * @param item η οντότητα.
+     * @return η καταχωρημένη οντότητα με αυτό το όνομα (η δοσμένη ή η ήδη υπάρχουσα).
+     */
+    synchronized T add(T item) {
+        String key = normalize(nameOf.apply(item));
+        T existing = byName.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        int id = idOf.applyAsInt(item);
+        if (id == 0 || byId.containsKey(id)) {
+            id = nextId++;
+            assignId.accept(item, id);
+        } else if (id >= nextId) {
+            nextId = id + 1;
+        }
+        byId.put(id, item);
+        byName.put(key, item);
+        return item;
+    }
+
+    /**
+     * Καταχωρεί μόνιμα μια οντότητα με σταθερό κωδικό (π.χ. την προκαθορισμένη προτεραιότητα),
+     * χωρίς να επηρεάζεται ο επόμενος διαθέσιμος κωδικός.
+     *
+     * @param item η οντότητα.
+     */
+    synchronized void pin(T item) {
+        pinned.add(item);
+        byId.put(idOf.applyAsInt(item), item);
+        byName.put(normalize(nameOf.apply(item)), item);
+    }
+
+    /**
+     * Εφαρμόζει μια μετονομασία και ενημερώνει τον πίνακα ονομάτων.
+     * Αν η οντότητα δεν είναι καταχωρημένη, απλώς εφαρμόζεται η μετονομασία.
+     *
+     * @param item η οντότητα.
+     * @param rename η μετονομασία που εφαρμόζεται στην οντότητα.
+     */
+    synchronized void rename(T item, Runnable rename) {
+        boolean registered = byName.remove(normalize(nameOf.apply(item)), item);
+        rename.run();
+        if (registered) {
+            byName.putIfAbsent(normalize(nameOf.apply(item)), item);
+        }
+    }
+
+    /**
+     * Αφαιρεί μια οντότητα από το μητρώο. Οι μόνιμες οντότητες δεν αφαιρούνται.
+     *
+     * @param item η οντότητα.
+     */
+    synchronized void remove(T item) {
+        if (pinned.contains(item)) {
+            return;
+        }
+        byId.remove(idOf.applyAsInt(item), item);
+        byName.remove(normalize(nameOf.apply(item)), item);
+    }
+
+    /**
+     * Αδειάζει το μητρώο και καταχωρεί ξανά τις μόνιμες και τις δοσμένες οντότητες.
+     * Πρώτα δεσμεύονται οι αποθηκευμένοι κωδικοί, ώστε οι νέοι κωδικοί να μη συγκρούονται μαζί τους.
+     * Οντότητες με όνομα που ανήκει ήδη σε άλλη καταχωρημένη οντότητα παραλείπονται.
+     *
+     * @param items οι οντότητες.
+     */
+    synchronized void reload(Collection<? extends T> items) {
+        byId.clear();
+        byName.clear();
+        for (T item : pinned) {
+            byId.put(idOf.applyAsInt(item), item);
+            byName.put(normalize(nameOf.apply(item)), item);
+        }
+        for (T item : items) {
+            int id = idOf.applyAsInt(item);
+            if (id >= nextId) {
+                nextId = id + 1;
+            }
+        }
+        for (T item : items) {
+            add(item);
+        }
+    }
+}
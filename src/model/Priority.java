@@ -1,31 +1,124 @@
 package model;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
 
 /**
  * Η κλάση Priority αναπαριστά το επίπεδο προτεραιότητας μιας εργασίας.
- * Περιλαμβάνει επίσης τη στατική λίστα όλων των προτεραιοτήτων και τη
- * διαχείριση της προκαθορισμένης προτεραιότητας "Default".
+ * Περιλαμβάνει επίσης τη διαχείριση της προκαθορισμένης προτεραιότητας "Default".
+ * Για κάθε όνομα υπάρχει ένα κοινόχρηστο στιγμιότυπο (Priority.of), ώστε οι εργασίες με την ίδια
+ * προτεραιότητα να μοιράζονται το ίδιο αντικείμενο και οι έλεγχοι να γίνονται με σύγκριση αναφορών.
+ * Κάθε προτεραιότητα έχει επίσης έναν κωδικό (id)· οι εργασίες αποθηκεύουν μόνο τον κωδικό και
+ * τον επιλύουν μέσω του κοινού μητρώου. Η "Default" έχει πάντα τον κωδικό 0.
+ * Ο constructor δεν έχει παρενέργειες· μια προτεραιότητα καταχωρείται μόνο μέσω της Priority.of
+ * ή κατά τη φόρτωση (loadDictionary), και τα ονόματα είναι μοναδικά χωρίς διάκριση πεζών-κεφαλαίων.
+ * Ο βαθμός (rank) ορίζει τη σειρά επείγοντος: μεγαλύτερος βαθμός σημαίνει πιο επείγουσα προτεραιότητα.
  */
 public class Priority {
+    private int id;
     private String name;
+    /** Ο βαθμός επείγοντος της προτεραιότητας (0 για τη "Default") */
+    private int rank;
     private static final String DEFAULT_PRIORITY = "Default";
-    private static List<Priority> priorities = new ArrayList<>();
+    /** Το μητρώο των προτεραιοτήτων ανά κωδικό και ανά όνομα */
+    private static final NameRegistry<Priority> registry =
+            new NameRegistry<>(Priority::getId, (priority, id) -> priority.id = id, Priority::getName);
+
+    /** Η προκαθορισμένη προτεραιότητα "Default" */
+    public static final Priority DEFAULT = new Priority(DEFAULT_PRIORITY);
+
+    static {
+        registry.pin(DEFAULT);
+    }
 
     /**
-     * Δημιουργεί ένα νέο επίπεδο προτεραιότητας.
-     * Αν το όνομα δεν είναι "Default", προστίθεται στη λίστα προτεραιοτήτων.
-     * 
+     * Δημιουργεί ένα νέο επίπεδο προτεραιότητας, χωρίς να το καταχωρεί στο μητρώο.
+     *
      * @param name το όνομα της προτεραιότητας.
      */
     public Priority(String name) {
-        if (!name.equals(DEFAULT_PRIORITY)) {
-            this.name = name;
-            priorities.add(this);
-        } else {
-            this.name = DEFAULT_PRIORITY;
-        }
+        this.name = name;
+    }
+
+    /**
+     * Δημιουργεί ένα αντίγραφο της προτεραιότητας με τον ίδιο κωδικό και βαθμό, χωρίς να το καταχωρεί
+     * στο μητρώο (π.χ. για το στιγμιότυπο της αυτόματης αποθήκευσης).
+     *
+     * @param other η προτεραιότητα.
+     */
+    public Priority(Priority other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.rank = other.rank;
+    }
+
+    /**
+     * Επιστρέφει το κοινόχρηστο στιγμιότυπο της προτεραιότητας με το δοσμένο όνομα,
+     * δημιουργώντας και καταχωρώντας το αν δεν υπάρχει ήδη.
+     *
+     * @param name το όνομα της προτεραιότητας.
+     * @return το κοινόχρηστο στιγμιότυπο.
+     */
+    public static Priority of(String name) {
+        Priority priority = registry.find(name);
+        return (priority != null) ? priority : registry.add(new Priority(name));
+    }
+
+    /**
+     * Επιστρέφει την προτεραιότητα με τον δοσμένο κωδικό.
+     *
+     * @param id ο κωδικός της προτεραιότητας.
+     * @return η προτεραιότητα ή null αν δεν υπάρχει.
+     */
+    public static Priority byId(int id) {
+        return registry.get(id);
+    }
+
+    /**
+     * Αναζητά την προτεραιότητα με το δοσμένο όνομα χωρίς να τη δημιουργήσει,
+     * χωρίς διάκριση πεζών-κεφαλαίων.
+     *
+     * @param name το όνομα της προτεραιότητας.
+     * @return η προτεραιότητα ή null αν δεν υπάρχει.
+     */
+    public static Priority findByName(String name) {
+        return registry.find(name);
+    }
+
+    /**
+     * Ξαναχτίζει το μητρώο από τις δοσμένες προτεραιότητες (π.χ. μετά τη φόρτωση από JSON),
+     * δίνοντας κωδικούς σε όσες δεν έχουν. Η "Default" παραμένει πάντα καταχωρημένη.
+     *
+     * @param loaded οι προτεραιότητες της εφαρμογής.
+     */
+    public static void loadDictionary(Collection<Priority> loaded) {
+        registry.reload(loaded);
+    }
+
+    /**
+     * Αφαιρεί μια προτεραιότητα από το μητρώο, εκτός αν είναι η "Default".
+     *
+     * @param priority η προτεραιότητα προς αφαίρεση.
+     */
+    public static void remove(Priority priority) {
+        registry.remove(priority);
+    }
+
+    /**
+     * Επιστρέφει τον κωδικό της προτεραιότητας.
+     *
+     * @return ο κωδικός.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Επιστρέφει αν πρόκειται για την προκαθορισμένη προτεραιότητα "Default".
+     *
+     * @return true αν η προτεραιότητα είναι η "Default".
+     */
+    public boolean isDefault() {
+        return this == DEFAULT;
     }
 
     /**
@@ -43,30 +136,30 @@ public class Priority {
      * @param name το νέο όνομα.
      */
     public void setName(String name) {
-        if (!name.equals(DEFAULT_PRIORITY)) {
-            this.name = name;
+        if (!NameRegistry.normalize(name).equals(NameRegistry.normalize(DEFAULT_PRIORITY)) && !isDefault()) {
+            registry.rename(this, () -> this.name = name);
         }
     }
 
     /**
-     * Αφαιρεί από τη λίστα τις προτεραιότητες με το δοσμένο όνομα,
-     * εφόσον το όνομα δεν είναι "Default".
+     * Επιστρέφει τον βαθμό επείγοντος της προτεραιότητας.
      *
-     * @param name το όνομα της προτεραιότητας προς διαγραφή.
+     * @return ο βαθμός (μεγαλύτερος για πιο επείγουσες προτεραιότητες).
      */
-    public static void removePriority(String name) {
-        if (!name.equals(DEFAULT_PRIORITY)) {
-            priorities.removeIf(priority -> priority.getName().equals(name));
-        }
+    public int getRank() {
+        return rank;
     }
 
     /**
-     * Επιστρέφει τη λίστα όλων των προτεραιοτήτων.
+     * Θέτει τον βαθμό επείγοντος της προτεραιότητας, εφόσον δεν είναι "Default".
+     * Οι ταξινομημένες όψεις των εργασιών πρέπει να ενημερωθούν μέσω του TaskStore.reindexTasks.
      *
-     * @return μια λίστα με τις προτεραιότητες.
+     * @param rank ο νέος βαθμός.
      */
-    public static List<Priority> getPriorities() {
-        return priorities;
+    public void setRank(int rank) {
+        if (!isDefault()) {
+            this.rank = rank;
+        }
     }
 
     /**
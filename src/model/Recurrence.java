@@ -0,0 +1,284 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Η κλάση Recurrence περιγράφει τον κανόνα επανάληψης μιας εργασίας (ημερήσια, εβδομαδιαία ή μηνιαία,
+ * κάθε interval περιόδους, έως μια ημερομηνία ή για ένα πλήθος φορών). Οι εμφανίσεις δεν αποθηκεύονται:
+ * η k-οστή υπολογίζεται απευθείας από την αρχή του κανόνα, οπότε κάθε παράθυρο ημερομηνιών παράγεται
+ * σε χρόνο ανάλογο του μεγέθους του. Αποθηκεύεται μόνο το πλήθος των εμφανίσεων που ολοκληρώθηκαν.
+ * Τα αντικείμενα δεν αλλάζουν μετά τη δημιουργία τους (η next επιστρέφει νέο αντικείμενο), ώστε να
+ * διαβάζονται με ασφάλεια από τα νήματα του παρασκηνίου (π.χ. του ReminderScheduler).
+ */
+public class Recurrence {
+
+    /**
+     * Η συχνότητα της επανάληψης.
+     */
+    public enum Frequency {
+        DAILY("Daily", "days"),
+        WEEKLY("Weekly", "weeks"),
+        MONTHLY("Monthly", "months");
+
+        private final String name;
+        private final String unit;
+
+        Frequency(String name, String unit) {
+            this.name = name;
+            this.unit = unit;
+        }
+
+        /**
+         * Επιστρέφει το όνομα της συχνότητας.
+         *
+         * @return το όνομα.
+         */
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private Frequency frequency;
+    private int interval;
+    private LocalDate start;
+    private LocalDate until;
+    private int count;
+    private int completed;
+
+    /**
+     * Δημιουργεί έναν κανόνα επανάληψης.
+     *
+     * @param frequency η συχνότητα.
+     * @param interval κάθε πόσες περιόδους επαναλαμβάνεται (τουλάχιστον 1).
+     * @param start η πρώτη εμφάνιση.
+     * @param until η τελευταία επιτρεπτή ημερομηνία ή null.
+     * @param count το μέγιστο πλήθος εμφανίσεων ή 0 για απεριόριστες.
+     */
+    public Recurrence(Frequency frequency, int interval, LocalDate start, LocalDate until, int count) {
+        this(frequency, interval, start, until, count, 0);
+    }
+
+    /**
+     * Δημιουργεί έναν κανόνα επανάληψης με δοσμένη πρόοδο. Οι τιμές εκτός ορίων διορθώνονται
+     * (διάστημα τουλάχιστον 1, μη αρνητικά πλήθη), ώστε ο υπολογισμός των εμφανίσεων να είναι πάντα ορισμένος.
+     *
+     * @param frequency η συχνότητα.
+     * @param interval κάθε πόσες περιόδους επαναλαμβάνεται (τουλάχιστον 1).
+     * @param start η πρώτη εμφάνιση.
+     * @param until η τελευταία επιτρεπτή ημερομηνία ή null.
+     * @param count το μέγιστο πλήθος εμφανίσεων ή 0 για απεριόριστες.
+     * @param completed το πλήθος των ολοκληρωμένων εμφανίσεων.
+     * @throws NullPointerException αν η συχνότητα ή η πρώτη εμφάνιση είναι null.
+     */
+    public Recurrence(Frequency frequency, int interval, LocalDate start, LocalDate until, int count, int completed) {
+        this.frequency = Objects.requireNonNull(frequency, "frequency");
+        this.interval = Math.max(1, interval);
+        this.start = Objects.requireNonNull(start, "start");
+        this.until = until;
+        this.count = Math.max(0, count);
+        this.completed = Math.max(0, completed);
+    }
+
+    /**
+     * Επιστρέφει την εμφάνιση με τον δοσμένο αύξοντα αριθμό. Οι μηνιαίες εμφανίσεις υπολογίζονται
+     * από την αρχή του κανόνα, ώστε μια εργασία στις 31 να επιστρέφει στις 31 όπου υπάρχει.
+     *
+     * @param index ο αύξων αριθμός (από 0).
+     * @return η ημερομηνία ή null αν ο κανόνας έχει τελειώσει πριν από αυτήν.
+     */
+    public LocalDate occurrence(long index) {
+        if (index < 0 || (count > 0 && index >= count)) {
+            return null;
+        }
+        LocalDate date;
+        switch (frequency) {
+            case DAILY:
+                date = start.plusDays(index * interval);
+                break;
+            case WEEKLY:
+                date = start.plusWeeks(index * interval);
+                break;
+            default:
+                date = start.plusMonths(index * interval);
+                break;
+        }
+        return (until != null && date.isAfter(until)) ? null : date;
+    }
+
+    /**
+     * Επιστρέφει την τρέχουσα εμφάνιση, δηλαδή την πρώτη που δεν έχει ολοκληρωθεί.
+     *
+     * @return η ημερομηνία ή null αν έχουν ολοκληρωθεί όλες.
+     */
+    public LocalDate getCurrent() {
+        return occurrence(completed);
+    }
+
+    /**
+     * Επιστρέφει αν υπάρχει εμφάνιση μετά την τρέχουσα.
+     *
+     * @return true αν υπάρχει επόμενη εμφάνιση.
+     */
+    public boolean hasNext() {
+        return occurrence(completed + 1L) != null;
+    }
+
+    /**
+     * Επιστρέφει τον κανόνα με την τρέχουσα εμφάνιση ολοκληρωμένη.
+     *
+     * @return ο νέος κανόνας.
+     */
+    public Recurrence next() {
+        return new Recurrence(frequency, interval, start, until, count, completed + 1);
+    }
+
+    /**
+     * Επιστρέφει την πρώτη εμφάνιση μετά την τρέχουσα που δεν είναι πριν από τη δοσμένη ημερομηνία.
+     *
+     * @param date η ημερομηνία.
+     * @return η εμφάνιση ή null αν δεν υπάρχει.
+     */
+    public LocalDate firstUpcomingOnOrAfter(LocalDate date) {
+        long index = Math.max(completed + 1L, estimateIndex(date));
+        LocalDate occurrence = occurrence(index);
+        while (occurrence != null && occurrence.isBefore(date)) {
+            occurrence = occurrence(++index);
+        }
+        return occurrence;
+    }
+
+    /**
+     * Επιστρέφει τις εμφανίσεις μετά την τρέχουσα που πέφτουν μέσα στο δοσμένο διάστημα.
+     * Παράγονται μόνο οι εμφανίσεις του διαστήματος.
+     *
+     * @param from η αρχή του διαστήματος (συμπεριλαμβάνεται).
+     * @param to το τέλος του διαστήματος (συμπεριλαμβάνεται).
+     * @return οι ημερομηνίες, σε αύξουσα σειρά.
+     */
+    public List<LocalDate> upcomingBetween(LocalDate from, LocalDate to) {
+        List<LocalDate> occurrences = new ArrayList<>();
+        long index = Math.max(completed + 1L, estimateIndex(from));
+        for (LocalDate occurrence = occurrence(index); occurrence != null && !occurrence.isAfter(to);
+             occurrence = occurrence(++index)) {
+            if (!occurrence.isBefore(from)) {
+                occurrences.add(occurrence);
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * Επιστρέφει έναν αύξοντα αριθμό του οποίου η εμφάνιση δεν είναι μετά τη δοσμένη ημερομηνία
+     * (κάτω φράγμα), ώστε η αναζήτηση να μην ξεκινά από την αρχή του κανόνα.
+     *
+     * @param date η ημερομηνία.
+     * @return ο αύξων αριθμός.
+     */
+    private long estimateIndex(LocalDate date) {
+        if (!date.isAfter(start)) {
+            return 0;
+        }
+        switch (frequency) {
+            case DAILY:
+                return ChronoUnit.DAYS.between(start, date) / interval;
+            case WEEKLY:
+                return ChronoUnit.WEEKS.between(start, date) / interval;
+            default:
+                return ChronoUnit.MONTHS.between(start, date) / interval;
+        }
+    }
+
+    /**
+     * Ελέγχει αν ο κανόνας έχει τις δοσμένες παραμέτρους (ανεξάρτητα από την πρόοδό του).
+     *
+     * @param frequency η συχνότητα.
+     * @param interval το διάστημα.
+     * @param until η τελευταία ημερομηνία ή null.
+     * @param count το μέγιστο πλήθος ή 0.
+     * @return true αν οι παράμετροι είναι ίδιες.
+     */
+    public boolean hasRule(Frequency frequency, int interval, LocalDate until, int count) {
+        return this.frequency == frequency && this.interval == Math.max(1, interval)
+            && Objects.equals(this.until, until) && this.count == Math.max(0, count);
+    }
+
+    /**
+     * Επιστρέφει την πρώτη εμφάνιση του κανόνα.
+     *
+     * @return η ημερομηνία.
+     */
+    public LocalDate getStart() {
+        return start;
+    }
+
+    /**
+     * Επιστρέφει τη συχνότητα.
+     *
+     * @return η συχνότητα.
+     */
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    /**
+     * Επιστρέφει κάθε πόσες περιόδους επαναλαμβάνεται ο κανόνας.
+     *
+     * @return το διάστημα.
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Επιστρέφει την τελευταία επιτρεπτή ημερομηνία.
+     *
+     * @return η ημερομηνία ή null.
+     */
+    public LocalDate getUntil() {
+        return until;
+    }
+
+    /**
+     * Επιστρέφει το μέγιστο πλήθος εμφανίσεων.
+     *
+     * @return το πλήθος ή 0 για απεριόριστες.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Επιστρέφει το πλήθος των εμφανίσεων που έχουν ολοκληρωθεί.
+     *
+     * @return το πλήθος.
+     */
+    public int getCompleted() {
+        return completed;
+    }
+
+    /**
+     * Επιστρέφει μια σύντομη περιγραφή του κανόνα (π.χ. "Every 2 weeks until 2026-12-31").
+     *
+     * @return η περιγραφή.
+     */
+    @Override
+    public String toString() {
+        String text = (interval == 1) ? frequency.getName() : "Every " + interval + " " + frequency.unit;
+        if (until != null) {
+            text += " until " + until;
+        }
+        if (count > 0) {
+            text += ", " + count + " times";
+        }
+        return text;
+    }
+}
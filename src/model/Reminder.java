@@ -1,16 +1,26 @@
 package model;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 
 /**
  * Η κλάση Reminder αναπαριστά μια υπενθύμιση που σχετίζεται με μια εργασία.
  * Περιέχει το όνομα της υπενθύμισης, την εργασία που αφορά, την ημερομηνία υπενθύμισης και τον τύπο υπενθύμισης.
+ * Στο JSON αποθηκεύεται μόνο ο κωδικός της εργασίας (taskId)· η ίδια η εργασία επιλύεται κατά τη φόρτωση.
+ * Για επαναλαμβανόμενες εργασίες η υπενθύμιση ισχύει για κάθε εμφάνιση, όσες ημέρες πριν από αυτήν
+ * ήταν η αρχική ημερομηνία της πριν από την προθεσμία (daysBefore).
  */
 public class Reminder {
+    /** Ο επόμενος διαθέσιμος κωδικός υπενθύμισης */
+    private static long nextId = 1;
+
+    private long id;
     private String name;
-    private Task task;
+    private long taskId;
+    private transient Task task;
     private LocalDate reminderDate;
     private String type;
+    private int daysBefore = -1;
 
     /**
      * Δημιουργεί μια νέα υπενθύμιση για μια εργασία.
@@ -21,10 +31,144 @@ public class Reminder {
      * @param type ο τύπος της υπενθύμισης (π.χ. "1 day before").
      */
     public Reminder(String name, Task task, LocalDate reminderDate, String type) {
+        this.id = nextAvailableId();
         this.name = name;
         this.task = task;
+        this.taskId = task.getId();
         this.reminderDate = reminderDate;
         this.type = type;
+        initDaysBefore();
+    }
+
+    /**
+     * Δημιουργεί μια υπενθύμιση που αναφέρεται σε εργασία μόνο μέσω του κωδικού της.
+     * Η εργασία πρέπει να συνδεθεί αργότερα με την attachTask.
+     *
+     * @param id ο αποθηκευμένος κωδικός της υπενθύμισης ή 0 αν δεν υπάρχει.
+     * @param name το όνομα της υπενθύμισης.
+     * @param taskId ο κωδικός της εργασίας.
+     * @param reminderDate η ημερομηνία της υπενθύμισης.
+     * @param type ο τύπος της υπενθύμισης.
+     */
+    public Reminder(long id, String name, long taskId, LocalDate reminderDate, String type) {
+        this.id = id;
+        this.name = name;
+        this.taskId = taskId;
+        this.reminderDate = reminderDate;
+        this.type = type;
+    }
+
+    /**
+     * Δημιουργεί ένα αντίγραφο της υπενθύμισης με τον ίδιο κωδικό (π.χ. για το στιγμιότυπο της
+     * αυτόματης αποθήκευσης). Το αντίγραφο αναφέρεται στην εργασία μόνο μέσω του κωδικού της.
+     *
+     * @param other η υπενθύμιση.
+     */
+    public Reminder(Reminder other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.taskId = other.taskId;
+        this.reminderDate = other.reminderDate;
+        this.type = other.type;
+        this.daysBefore = other.daysBefore;
+    }
+
+    /**
+     * Επιστρέφει τον επόμενο διαθέσιμο κωδικό υπενθύμισης.
+     *
+     * @return ο νέος κωδικός.
+     */
+    private static synchronized long nextAvailableId() {
+        return nextId++;
+    }
+
+    /**
+     * Δεσμεύει έναν κωδικό που διαβάστηκε από αποθηκευμένα δεδομένα,
+     * ώστε να μη δοθεί ξανά σε νέα υπενθύμιση.
+     *
+     * @param id ο κωδικός που χρησιμοποιείται ήδη.
+     */
+    public static synchronized void reserveId(long id) {
+        if (id >= nextId) {
+            nextId = id + 1;
+        }
+    }
+
+    /**
+     * Αναθέτει νέο κωδικό στην υπενθύμιση αν δεν έχει (π.χ. υπενθυμίσεις από αρχεία παλαιότερης μορφής).
+     */
+    public void assignIdIfMissing() {
+        if (id == 0) {
+            id = nextAvailableId();
+        }
+    }
+
+    /**
+     * Συνδέει την υπενθύμιση με την εργασία που αφορά.
+     *
+     * @param task η εργασία.
+     */
+    public void attachTask(Task task) {
+        this.task = task;
+        this.taskId = task.getId();
+        initDaysBefore();
+    }
+
+    /**
+     * Υπολογίζει πόσες ημέρες πριν από την προθεσμία της εργασίας είναι η υπενθύμιση,
+     * αν δεν έχει ήδη οριστεί (π.χ. υπενθυμίσεις από αρχεία παλαιότερης μορφής).
+     */
+    private void initDaysBefore() {
+        if (daysBefore < 0 && task != null && task.getDeadline() != null && reminderDate != null) {
+            daysBefore = (int) Math.max(0, ChronoUnit.DAYS.between(reminderDate, task.getDeadline()));
+        }
+    }
+
+    /**
+     * Θέτει πόσες ημέρες πριν από κάθε εμφάνιση της εργασίας ενεργοποιείται η υπενθύμιση.
+     *
+     * @param daysBefore το πλήθος των ημερών.
+     */
+    public void setDaysBefore(int daysBefore) {
+        this.daysBefore = daysBefore;
+    }
+
+    /**
+     * Επιστρέφει την επόμενη ημέρα ενεργοποίησης της υπενθύμισης μετά από μια ημέρα. Για μη
+     * επαναλαμβανόμενες εργασίες είναι πάντα η ημερομηνία της υπενθύμισης· για επαναλαμβανόμενες
+     * υπολογίζεται από την πρώτη εμφάνιση της εργασίας που ακολουθεί, χωρίς να αλλάζει η υπενθύμιση.
+     *
+     * @param after η ημέρα μετά την οποία αναζητείται ενεργοποίηση.
+     * @return η ημέρα ή null αν η σειρά των εμφανίσεων έχει τελειώσει.
+     */
+    public LocalDate nextReminderDate(LocalDate after) {
+        if (task == null || !task.isRecurring() || daysBefore < 0) {
+            return reminderDate;
+        }
+        LocalDate from = after.plusDays(1);
+        if (from.isBefore(reminderDate)) {
+            from = reminderDate;
+        }
+        LocalDate occurrence = task.nextOccurrenceOnOrAfter(from.plusDays(daysBefore));
+        return (occurrence != null) ? occurrence.minusDays(daysBefore) : null;
+    }
+
+    /**
+     * Επιστρέφει τον κωδικό της υπενθύμισης.
+     *
+     * @return ο κωδικός.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Επιστρέφει τον κωδικό της εργασίας που αφορά η υπενθύμιση.
+     *
+     * @return ο κωδικός της εργασίας.
+     */
+    public long getTaskId() {
+        return taskId;
     }
 
     /**
@@ -1,17 +1,37 @@
 package model;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
- * Η κλάση Status αναπαριστά την κατάσταση μιας εργασίας.
+ * Η απαρίθμηση Status αναπαριστά την κατάσταση μιας εργασίας.
+ * Κάθε κατάσταση υπάρχει μία μόνο φορά (κοινόχρηστο στιγμιότυπο), οπότε οι έλεγχοι κατάστασης
+ * γίνονται με σύγκριση αναφορών ή με το ordinal() αντί για σύγκριση συμβολοσειρών.
  */
-public class Status {
-    private String name;
+public enum Status {
+    OPEN("Open"),
+    IN_PROGRESS("In Progress"),
+    POSTPONED("Postponed"),
+    COMPLETED("Completed"),
+    DELAYED("Delayed");
+
+    /** Οι καταστάσεις ανά όνομα εμφάνισης, για τη μετατροπή από JSON */
+    private static final Map<String, Status> BY_NAME = new HashMap<>();
+
+    static {
+        for (Status status : values()) {
+            BY_NAME.put(status.name, status);
+        }
+    }
+
+    private final String name;
 
     /**
-     * Δημιουργεί ένα νέο Status με το δοσμένο όνομα.
+     * Δημιουργεί μια κατάσταση με το δοσμένο όνομα εμφάνισης.
      *
      * @param name το όνομα της κατάστασης (π.χ. "Open", "Completed").
      */
-    public Status(String name) {
+    Status(String name) {
         this.name = name;
     }
 
@@ -25,12 +45,13 @@ public class Status {
     }
 
     /**
-     * Θέτει το νέο όνομα για την κατάσταση.
+     * Επιστρέφει την κατάσταση με το δοσμένο όνομα εμφάνισης.
      *
-     * @param name το νέο όνομα.
+     * @param name το όνομα της κατάστασης.
+     * @return η κατάσταση ή null αν δεν υπάρχει κατάσταση με αυτό το όνομα.
      */
-    public void setName(String name) {
-        this.name = name;
+    public static Status fromName(String name) {
+        return BY_NAME.get(name);
     }
 
     /**
@@ -1,19 +1,35 @@
 package model;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Η κλάση Task αναπαριστά μια εργασία με τα σχετικά πεδία:
  * τίτλος, περιγραφή, κατηγορία, προτεραιότητα, προθεσμία, και κατάσταση.
  * Περιλαμβάνει τη λογική ενημέρωσης της κατάστασης (π.χ. "Delayed") αν έχει περάσει η προθεσμία.
+ * Κάθε εργασία έχει έναν σταθερό κωδικό (id), μέσω του οποίου την αναφέρουν οι υπενθυμίσεις.
+ * Η κατηγορία και η προτεραιότητα αποθηκεύονται ως κωδικοί και επιλύονται μέσω των λεξικών
+ * των κλάσεων Category και Priority, ώστε μια μετονομασία να φαίνεται αμέσως σε όλες τις εργασίες.
+ * Μια εργασία με κανόνα επανάληψης (Recurrence) αναπαριστά όλη τη σειρά: η προθεσμία της είναι η τρέχουσα
+ * εμφάνιση, και όταν αυτή ολοκληρωθεί η εργασία μεταφέρεται στην επόμενη.
  */
 public class Task {
+    /** Ο επόμενος διαθέσιμος κωδικός εργασίας */
+    private static long nextId = 1;
+
+    /** Το ρολόι από το οποίο προκύπτει η σημερινή ημερομηνία στην updateStatus */
+    private static volatile Clock clock = Clock.systemDefaultZone();
+
+    private long id;
     private String title;
     private String description;
-    private String category;
-    private Priority priority;
+    private int categoryId;
+    private int priorityId;
     private LocalDate deadline;
     private Status status;
+    private Recurrence recurrence;
 
     /**
      * Δημιουργεί ένα νέο Task με τις δοσμένες παραμέτρους.
@@ -26,27 +42,93 @@ public class Task {
      * @param deadline η προθεσμία της εργασίας.
      * @param status η αρχική κατάσταση της εργασίας.
      */
-    public Task(String title, String description, String category, Priority priority, LocalDate deadline, Status status) {
+    public Task(String title, String description, Category category, Priority priority, LocalDate deadline, Status status) {
+        this.id = nextAvailableId();
         this.title = title;
         this.description = description;
-        this.category = category;
-        this.priority = priority;
+        this.categoryId = (category != null) ? category.getId() : 0;
+        this.priorityId = (priority != null) ? priority.getId() : Priority.DEFAULT.getId();
         this.deadline = deadline;
-        this.status = (status != null) ? status : new Status("Open"); // Προκαθορισμένο Open αν είναι null
+        this.status = (status != null) ? status : Status.OPEN; // Προκαθορισμένο Open αν είναι null
         updateStatus();
     }
 
+    /**
+     * Δημιουργεί ένα αντίγραφο της εργασίας με τον ίδιο κωδικό (π.χ. για το στιγμιότυπο της
+     * αυτόματης αποθήκευσης). Ο κανόνας επανάληψης δεν αλλάζει μετά τη δημιουργία του, οπότε μοιράζεται.
+     *
+     * @param other η εργασία.
+     */
+    public Task(Task other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.description = other.description;
+        this.categoryId = other.categoryId;
+        this.priorityId = other.priorityId;
+        this.deadline = other.deadline;
+        this.status = other.status;
+        this.recurrence = other.recurrence;
+    }
+
     /**
      * Ενημερώνει την κατάσταση της εργασίας σε "Delayed" αν η προθεσμία έχει περάσει και δεν είναι Completed.
      */
     public void updateStatus() {
-        if (this.deadline != null && this.deadline.isBefore(LocalDate.now()) && !this.status.getName().equals("Completed")) {
-            this.status = new Status("Delayed");
+        if (this.deadline != null && this.status != Status.COMPLETED && this.deadline.isBefore(LocalDate.now(clock))) {
+            this.status = Status.DELAYED;
+        }
+    }
+
+    /**
+     * Ορίζει το ρολόι από το οποίο προκύπτει η σημερινή ημερομηνία (π.χ. το ίδιο με το StatusEngine).
+     *
+     * @param newClock το ρολόι.
+     */
+    public static void setClock(Clock newClock) {
+        clock = newClock;
+    }
+
+    /**
+     * Επιστρέφει τον επόμενο διαθέσιμο κωδικό εργασίας.
+     *
+     * @return ο νέος κωδικός.
+     */
+    private static synchronized long nextAvailableId() {
+        return nextId++;
+    }
+
+    /**
+     * Δεσμεύει έναν κωδικό που διαβάστηκε από αποθηκευμένα δεδομένα,
+     * ώστε να μη δοθεί ξανά σε νέα εργασία.
+     *
+     * @param id ο κωδικός που χρησιμοποιείται ήδη.
+     */
+    public static synchronized void reserveId(long id) {
+        if (id >= nextId) {
+            nextId = id + 1;
+        }
+    }
+
+    /**
+     * Αναθέτει νέο κωδικό στην εργασία αν δεν έχει (π.χ. εργασίες από αρχεία παλαιότερης μορφής).
+     */
+    public void assignIdIfMissing() {
+        if (id == 0) {
+            id = nextAvailableId();
         }
     }
 
     // Getters και Setters
 
+    /**
+     * Επιστρέφει τον κωδικό της εργασίας.
+     *
+     * @return ο κωδικός.
+     */
+    public long getId() {
+        return id;
+    }
+
     /**
      * Επιστρέφει τον τίτλο της εργασίας.
      *
@@ -84,12 +166,21 @@ public class Task {
     }
 
     /**
-     * Επιστρέφει την κατηγορία της εργασίας.
+     * Επιστρέφει τον κωδικό της κατηγορίας της εργασίας.
      *
-     * @return η κατηγορία.
+     * @return ο κωδικός της κατηγορίας (0 αν δεν έχει κατηγορία).
      */
-    public String getCategory() { 
-        return category; 
+    public int getCategoryId() {
+        return categoryId;
+    }
+
+    /**
+     * Επιστρέφει την κατηγορία της εργασίας, όπως επιλύεται από το λεξικό κατηγοριών.
+     *
+     * @return η κατηγορία ή null αν δεν υπάρχει.
+     */
+    public Category getCategory() { 
+        return Category.byId(categoryId); 
     }
 
     /**
@@ -97,17 +188,28 @@ public class Task {
      *
      * @param category η νέα κατηγορία.
      */
-    public void setCategory(String category) { 
-        this.category = category; 
+    public void setCategory(Category category) { 
+        this.categoryId = (category != null) ? category.getId() : 0; 
     }
 
     /**
-     * Επιστρέφει την προτεραιότητα της εργασίας.
+     * Επιστρέφει τον κωδικό της προτεραιότητας της εργασίας.
+     *
+     * @return ο κωδικός της προτεραιότητας.
+     */
+    public int getPriorityId() {
+        return priorityId;
+    }
+
+    /**
+     * Επιστρέφει την προτεραιότητα της εργασίας, όπως επιλύεται από το λεξικό προτεραιοτήτων.
+     * Αν η προτεραιότητα δεν υπάρχει πια, επιστρέφεται η "Default".
      *
      * @return το επίπεδο προτεραιότητας.
      */
     public Priority getPriority() { 
-        return priority; 
+        Priority priority = Priority.byId(priorityId);
+        return (priority != null) ? priority : Priority.DEFAULT; 
     }
 
     /**
@@ -116,7 +218,7 @@ public class Task {
      * @param priority η νέα προτεραιότητα.
      */
     public void setPriority(Priority priority) { 
-        this.priority = priority; 
+        this.priorityId = (priority != null) ? priority.getId() : Priority.DEFAULT.getId(); 
     }
 
     /**
@@ -156,6 +258,89 @@ public class Task {
         this.status = status; 
     }
 
+    /**
+     * Επιστρέφει τον κανόνα επανάληψης της εργασίας.
+     *
+     * @return ο κανόνας ή null αν η εργασία δεν επαναλαμβάνεται.
+     */
+    public Recurrence getRecurrence() {
+        return recurrence;
+    }
+
+    /**
+     * Επιστρέφει αν η εργασία επαναλαμβάνεται.
+     *
+     * @return true αν έχει κανόνα επανάληψης.
+     */
+    public boolean isRecurring() {
+        return recurrence != null;
+    }
+
+    /**
+     * Θέτει τον κανόνα επανάληψης. Η προθεσμία γίνεται η τρέχουσα εμφάνιση του κανόνα.
+     *
+     * @param recurrence ο νέος κανόνας ή null για μη επαναλαμβανόμενη εργασία.
+     */
+    public void setRecurrence(Recurrence recurrence) {
+        this.recurrence = recurrence;
+        if (recurrence != null && recurrence.getCurrent() != null) {
+            setDeadline(recurrence.getCurrent());
+        }
+    }
+
+    /**
+     * Ολοκληρώνει την εργασία. Αν επαναλαμβάνεται και υπάρχει επόμενη εμφάνιση, η εργασία μεταφέρεται
+     * σε αυτήν και γίνεται ξανά "Open"· διαφορετικά γίνεται "Completed".
+     */
+    public void complete() {
+        if (recurrence != null && recurrence.hasNext()) {
+            recurrence = recurrence.next();
+            status = Status.OPEN;
+            setDeadline(recurrence.getCurrent());
+        } else {
+            status = Status.COMPLETED;
+        }
+    }
+
+    /**
+     * Επιστρέφει τις προθεσμίες της εργασίας μέσα σε ένα διάστημα: την τρέχουσα και,
+     * αν η εργασία επαναλαμβάνεται, τις επόμενες εμφανίσεις, που υπολογίζονται μόνο για το διάστημα.
+     *
+     * @param from η αρχή του διαστήματος (συμπεριλαμβάνεται).
+     * @param to το τέλος του διαστήματος (συμπεριλαμβάνεται).
+     * @return οι ημερομηνίες, σε αύξουσα σειρά.
+     */
+    public List<LocalDate> occurrencesBetween(LocalDate from, LocalDate to) {
+        List<LocalDate> occurrences = new ArrayList<>();
+        if (deadline != null && !deadline.isBefore(from) && !deadline.isAfter(to)) {
+            occurrences.add(deadline);
+        }
+        if (recurrence != null) {
+            for (LocalDate occurrence : recurrence.upcomingBetween(from, to)) {
+                if (!occurrence.equals(deadline)) {
+                    occurrences.add(occurrence);
+                }
+            }
+            occurrences.sort(null);
+        }
+        return occurrences;
+    }
+
+    /**
+     * Επιστρέφει την πρώτη προθεσμία της εργασίας (τρέχουσα ή επόμενη εμφάνιση) που δεν είναι πριν από
+     * τη δοσμένη ημερομηνία.
+     *
+     * @param date η ημερομηνία.
+     * @return η προθεσμία ή null αν δεν υπάρχει.
+     */
+    public LocalDate nextOccurrenceOnOrAfter(LocalDate date) {
+        LocalDate next = (recurrence != null) ? recurrence.firstUpcomingOnOrAfter(date) : null;
+        if (deadline != null && !deadline.isBefore(date) && (next == null || deadline.isBefore(next))) {
+            next = deadline;
+        }
+        return next;
+    }
+
     /**
      * Επιστρέφει μια συμβολοσειρά που περιγράφει την εργασία.
      *
@@ -165,8 +350,8 @@ public class Task {
     public String toString() {
         return "Task{" +
                 "title='" + title + '\'' +
-                ", category='" + category + '\'' +
-                ", priority=" + priority +
+                ", category='" + getCategory() + '\'' +
+                ", priority=" + getPriority() +
                 ", deadline=" + (deadline != null ? deadline.toString() : "No Deadline") +
                 ", status=" + status.getName() +
                 '}';
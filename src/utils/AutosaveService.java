@@ -0,0 +1,208 @@
+package utils;
+
+import javafx.application.Platform;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Η κλάση AutosaveService αποθηκεύει περιοδικά τα δεδομένα της εφαρμογής σε δικό της νήμα.
+ * Στο JavaFX thread γίνεται μόνο η (φθηνή) αντιγραφή των λιστών και των στοιχείων τους σε ένα DataSnapshot·
+ * η σειριοποίηση, το fsync και η συμπύκνωση του journal γίνονται στον executor της υπηρεσίας,
+ * ώστε το UI να μην παγώνει κατά την αποθήκευση.
+ */
+public class AutosaveService {
+
+    /** Το προκαθορισμένο διάστημα μεταξύ δύο αυτόματων αποθηκεύσεων */
+    private static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(Long.getLong("medialab.autosaveSeconds", 60));
+
+    private final Journal journal;
+    private final Supplier<DataSnapshot> snapshotSupplier;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "autosave");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean savePending = new AtomicBoolean();
+
+    private ScheduledFuture<?> schedule;
+    private volatile Duration interval = DEFAULT_INTERVAL;
+    private volatile Duration lastSaveLatency = Duration.ZERO;
+    private volatile Instant lastSaveTime;
+    /** Το sequence του journal που περιέχεται στην τελευταία αποθήκευση (μόνο στο JavaFX thread) */
+    private long lastSavedSequence = -1;
+
+    /**
+     * Ένα στιγμιότυπο μαζί με το sequence του journal στο οποίο αντιστοιχεί.
+     */
+    private static final class SaveRequest {
+        private final DataSnapshot snapshot;
+        private final long sequence;
+
+        private SaveRequest(DataSnapshot snapshot, long sequence) {
+            this.snapshot = snapshot;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Δημιουργεί την υπηρεσία αυτόματης αποθήκευσης.
+     *
+     * @param journal το journal που συμπυκνώνεται σε κάθε αποθήκευση.
+     * @param snapshotSupplier ο supplier που δημιουργεί στιγμιότυπο των λιστών (καλείται στο JavaFX thread).
+     */
+    public AutosaveService(Journal journal, Supplier<DataSnapshot> snapshotSupplier) {
+        this.journal = journal;
+        this.snapshotSupplier = snapshotSupplier;
+    }
+
+    /**
+     * Ξεκινά την περιοδική αποθήκευση με το τρέχον διάστημα.
+     */
+    public synchronized void start() {
+        if (schedule != null) {
+            schedule.cancel(false);
+        }
+        long millis = interval.toMillis();
+        schedule = executor.scheduleWithFixedDelay(this::requestSave, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Ορίζει το διάστημα μεταξύ δύο αυτόματων αποθηκεύσεων. Αν η υπηρεσία τρέχει, επαναπρογραμματίζεται.
+     *
+     * @param interval το νέο διάστημα.
+     */
+    public synchronized void setInterval(Duration interval) {
+        this.interval = interval;
+        if (schedule != null) {
+            start();
+        }
+    }
+
+    /**
+     * Επιστρέφει το διάστημα μεταξύ δύο αυτόματων αποθηκεύσεων.
+     *
+     * @return το διάστημα.
+     */
+    public Duration getInterval() {
+        return interval;
+    }
+
+    /**
+     * Επιστρέφει τη διάρκεια της τελευταίας αποθήκευσης (σειριοποίηση, fsync και συμπύκνωση).
+     *
+     * @return η διάρκεια της τελευταίας αποθήκευσης.
+     */
+    public Duration getLastSaveLatency() {
+        return lastSaveLatency;
+    }
+
+    /**
+     * Επιστρέφει τη χρονική στιγμή της τελευταίας επιτυχημένης αποθήκευσης.
+     *
+     * @return η στιγμή της τελευταίας αποθήκευσης ή null αν δεν έχει γίνει καμία.
+     */
+    public Instant getLastSaveTime() {
+        return lastSaveTime;
+    }
+
+    /**
+     * Ζητά μια αποθήκευση στο παρασκήνιο, αν υπάρχουν αλλαγές από την προηγούμενη.
+     * Μπορεί να καλείται από οποιοδήποτε νήμα· πολλαπλά αιτήματα συγχωνεύονται σε ένα.
+     */
+    public void requestSave() {
+        if (!savePending.compareAndSet(false, true)) {
+            return;
+        }
+        Platform.runLater(() -> {
+            if (journal.getLastSequence() == lastSavedSequence) {
+                savePending.set(false);
+                return;
+            }
+            SaveRequest request = capture();
+            executor.execute(() -> {
+                try {
+                    write(request);
+                } catch (IOException e) {
+                    System.out.println("Autosave failed, the changes remain in the journal");
+                    e.printStackTrace();
+                } finally {
+                    savePending.set(false);
+                }
+            });
+        });
+    }
+
+    /**
+     * Αποθηκεύει αμέσως τα δεδομένα, ακόμα και αν δεν έχουν αλλάξει.
+     * Το στιγμιότυπο λαμβάνεται στο JavaFX thread και η εγγραφή γίνεται στον executor της υπηρεσίας.
+     *
+     * @return ένα CompletableFuture που ολοκληρώνεται όταν τα δεδομένα έχουν γραφτεί
+     *         ή εξαιρετικά αν απέτυχε η αποθήκευση.
+     */
+    public CompletableFuture<Void> saveNow() {
+        CompletableFuture<SaveRequest> captured = new CompletableFuture<>();
+        if (Platform.isFxApplicationThread()) {
+            captured.complete(capture());
+        } else {
+            Platform.runLater(() -> captured.complete(capture()));
+        }
+        return captured.thenAcceptAsync(request -> {
+            try {
+                write(request);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Σταματά την περιοδική αποθήκευση και τον executor, αφού ολοκληρωθούν οι εκκρεμείς αποθηκεύσεις.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Λαμβάνει στιγμιότυπο των λιστών και το τρέχον sequence του journal. Καλείται στο JavaFX thread.
+     *
+     * @return το αίτημα αποθήκευσης.
+     */
+    private SaveRequest capture() {
+        long sequence = journal.getLastSequence();
+        lastSavedSequence = sequence;
+        return new SaveRequest(snapshotSupplier.get(), sequence);
+    }
+
+    /**
+     * Γράφει το στιγμιότυπο και συμπυκνώνει το journal, μετρώντας τη διάρκεια της αποθήκευσης.
+     *
+     * @param request το αίτημα αποθήκευσης.
+     * @throws IOException αν αποτύχει η αποθήκευση του στιγμιότυπου.
+     */
+    private void write(SaveRequest request) throws IOException {
+        long start = System.nanoTime();
+        try {
+            journal.compact(request.snapshot, request.sequence);
+        } catch (IOException e) {
+            // Η επόμενη αυτόματη αποθήκευση πρέπει να γίνει ακόμα και χωρίς νέες αλλαγές
+            Platform.runLater(() -> lastSavedSequence = -1);
+            throw e;
+        }
+        lastSaveLatency = Duration.ofNanos(System.nanoTime() - start);
+        lastSaveTime = Instant.now();
+    }
+}
@@ -0,0 +1,182 @@
+package utils;
+
+import model.Status;
+import model.Task;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Η κλάση BitmapIndex κρατά ένα bitmap ανά κατηγορία, ανά προτεραιότητα και ανά κατάσταση.
+ * Κάθε εργασία παίρνει έναν πυκνό αύξοντα αριθμό (ordinal), δηλαδή μια θέση στα bitmaps·
+ * οι θέσεις εργασιών που διαγράφονται ξαναχρησιμοποιούνται, ώστε τα bitmaps να μένουν πυκνά.
+ * Ένας συνδυασμός φίλτρων υπολογίζεται με πράξεις OR μέσα σε κάθε διάσταση (π.χ. δύο κατηγορίες)
+ * και AND μεταξύ των διαστάσεων, 64 εργασίες τη φορά, αντί για έλεγχο κάθε εργασίας.
+ * Το ευρετήριο ενημερώνεται από το TaskStore· τα φίλτρα υπολογίζονται στο νήμα του FilterPipeline,
+ * οπότε όλες οι δημόσιες μέθοδοι είναι synchronized.
+ */
+public class BitmapIndex implements TaskStore.Listener {
+    private final Map<Task, Integer> ordinals = new HashMap<>();
+    private final List<Task> tasksByOrdinal = new ArrayList<>();
+    /** Οι θέσεις που αντιστοιχούν σε υπάρχουσες εργασίες */
+    private final BitSet live = new BitSet();
+    private final Map<Integer, BitSet> byCategory = new HashMap<>();
+    private final Map<Integer, BitSet> byPriority = new HashMap<>();
+    private final Map<Status, BitSet> byStatus = new EnumMap<>(Status.class);
+
+    /**
+     * Δημιουργεί το ευρετήριο για τις δοσμένες εργασίες.
+     *
+     * @param tasks οι εργασίες της εφαρμογής.
+     */
+    public BitmapIndex(Collection<Task> tasks) {
+        for (Task task : tasks) {
+            index(task);
+        }
+    }
+
+    /**
+     * Δίνει θέση σε μια εργασία και την προσθέτει στα bitmaps.
+     *
+     * @param task η εργασία.
+     */
+    @Override
+    public synchronized void taskAdded(Task task) {
+        index(task);
+    }
+
+    /**
+     * Αφαιρεί μια εργασία από τα bitmaps και αποδεσμεύει τη θέση της.
+     *
+     * @param task η εργασία.
+     */
+    @Override
+    public synchronized void taskRemoved(Task task) {
+        Integer ordinal = ordinals.remove(task);
+        if (ordinal == null) {
+            return;
+        }
+        clear(byCategory, task.getCategoryId(), ordinal);
+        clear(byPriority, task.getPriorityId(), ordinal);
+        clear(byStatus, task.getStatus(), ordinal);
+        live.clear(ordinal);
+        tasksByOrdinal.set(ordinal, null);
+    }
+
+    /**
+     * Υπολογίζει τις θέσεις των εργασιών που ανήκουν σε μία από τις δοσμένες κατηγορίες,
+     * σε μία από τις δοσμένες προτεραιότητες και σε μία από τις δοσμένες καταστάσεις.
+     * Μια διάσταση που είναι null ή κενή δεν περιορίζει το αποτέλεσμα.
+     *
+     * @param categoryIds οι κωδικοί κατηγοριών ή null.
+     * @param priorityIds οι κωδικοί προτεραιοτήτων ή null.
+     * @param statuses οι καταστάσεις ή null.
+     * @return ένα νέο bitmap με τις θέσεις που ταιριάζουν.
+     */
+    public synchronized BitSet select(Collection<Integer> categoryIds, Collection<Integer> priorityIds, Collection<Status> statuses) {
+        BitSet result = (BitSet) live.clone();
+        and(result, byCategory, categoryIds);
+        and(result, byPriority, priorityIds);
+        and(result, byStatus, statuses);
+        return result;
+    }
+
+    /**
+     * Επιστρέφει τις εργασίες στις θέσεις ενός bitmap, με τη σειρά των θέσεων.
+     *
+     * @param selection το bitmap (π.χ. από τη select).
+     * @return οι εργασίες.
+     */
+    public synchronized List<Task> materialize(BitSet selection) {
+        List<Task> result = new ArrayList<>(selection.cardinality());
+        for (int i = selection.nextSetBit(0); i >= 0; i = selection.nextSetBit(i + 1)) {
+            Task task = i < tasksByOrdinal.size() ? tasksByOrdinal.get(i) : null;
+            if (task != null) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Επιστρέφει το πλήθος των εργασιών του ευρετηρίου.
+     *
+     * @return το πλήθος.
+     */
+    public synchronized int size() {
+        return ordinals.size();
+    }
+
+    /**
+     * Δίνει στην εργασία την πρώτη ελεύθερη θέση και την προσθέτει στα bitmaps των τιμών της.
+     *
+     * @param task η εργασία.
+     */
+    private void index(Task task) {
+        int ordinal = live.nextClearBit(0);
+        ordinals.put(task, ordinal);
+        if (ordinal == tasksByOrdinal.size()) {
+            tasksByOrdinal.add(task);
+        } else {
+            tasksByOrdinal.set(ordinal, task);
+        }
+        live.set(ordinal);
+        byCategory.computeIfAbsent(task.getCategoryId(), _ -> new BitSet()).set(ordinal);
+        byPriority.computeIfAbsent(task.getPriorityId(), _ -> new BitSet()).set(ordinal);
+        if (task.getStatus() != null) {
+            byStatus.computeIfAbsent(task.getStatus(), _ -> new BitSet()).set(ordinal);
+        }
+    }
+
+    /**
+     * Περιορίζει ένα αποτέλεσμα στην ένωση (OR) των bitmaps των δοσμένων τιμών μιας διάστασης.
+     *
+     * @param result το αποτέλεσμα, που τροποποιείται.
+     * @param bitmaps τα bitmaps της διάστασης.
+     * @param keys οι τιμές της διάστασης ή null για καμία αλλαγή.
+     */
+    private static <K> void and(BitSet result, Map<K, BitSet> bitmaps, Collection<K> keys) {
+        if (isEmpty(keys)) {
+            return;
+        }
+        BitSet union = new BitSet();
+        for (K key : keys) {
+            BitSet bits = bitmaps.get(key);
+            if (bits != null) {
+                union.or(bits);
+            }
+        }
+        result.and(union);
+    }
+
+    /**
+     * Καθαρίζει μια θέση από το bitmap μιας τιμής και αφαιρεί το bitmap αν άδειασε.
+     *
+     * @param bitmaps τα bitmaps της διάστασης.
+     * @param key η τιμή.
+     * @param ordinal η θέση.
+     */
+    private static <K> void clear(Map<K, BitSet> bitmaps, K key, int ordinal) {
+        BitSet bits = key == null ? null : bitmaps.get(key);
+        if (bits != null) {
+            bits.clear(ordinal);
+            if (bits.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Επιστρέφει αν μια συλλογή είναι null ή κενή.
+     *
+     * @param values η συλλογή.
+     * @return true αν δεν περιέχει τιμές.
+     */
+    private static boolean isEmpty(Collection<?> values) {
+        return values == null || values.isEmpty();
+    }
+}
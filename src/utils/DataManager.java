@@ -1,21 +1,45 @@
 package utils;
 
 import com.google.gson.*;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import model.Task;
 import model.Category;
 import model.Priority;
+import model.Recurrence;
 import model.Reminder;
+import model.Status;
+import utils.delivery.Delivery;
 import java.io.*;
-import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Η κλάData διαχειρίζεται την αποθήκευση και φόρτωση δεδομένων σε μορφή JSON.
  * Χρησιμοποιεί τη βιβλιοθήκη Gson για τη μετατροπή αντικειμένων σε JSON και αντίστροφα.
  * Υποστηρίζει την αποθήκευση και φόρτωση δεδομένων για tasks, categories, priorities και reminders.
+ * Η ανάγνωση και η εγγραφή γίνονται σε streaming μορφή (JsonReader/JsonWriter), μία εγγραφή τη φορά,
+ * ώστε να μην κρατείται ποτέ ολόκληρο το δέντρο του JSON στη μνήμη.
+ * Κάθε αρχείο γράφεται πρώτα σε προσωρινό αρχείο, γίνεται fsync και μετά ατομική μετονομασία,
+ * ώστε ένα crash κατά την αποθήκευση να μην αφήνει ποτέ μισογραμμένο αρχείο.
  */
 public class DataManager {
 
@@ -29,13 +53,60 @@ public class DataManager {
     private static final String PRIORITIES_FILE = DIRECTORY + "/priorities.json";
     /** Το αρχείο των reminders */
     private static final String REMINDERS_FILE = DIRECTORY + "/reminders.json";
+    /** Το αρχείο του ευρετηρίου πλήρους κειμένου */
+    private static final String SEARCH_INDEX_FILE = DIRECTORY + "/search.index";
+    /** Το αρχείο με την τελευταία ημέρα της οποίας οι υπενθυμίσεις έχουν παραδοθεί */
+    private static final String REMINDER_STATE_FILE = DIRECTORY + "/reminders.state";
+    /** Το αρχείο που ολοκληρώνει ένα στιγμιότυπο, με το τελευταίο sequence του journal που περιέχει */
+    private static final String MANIFEST_FILE = DIRECTORY + "/snapshot.manifest";
+    /** Το αρχείο με τις παραδόσεις υπενθυμίσεων που δεν έχουν ολοκληρωθεί */
+    private static final String DELIVERIES_FILE = DIRECTORY + "/deliveries.json";
 
-    /** Ο Gson με pretty printing και εγγεγραμμένο adapter για LocalDate */
+    /** Το προκαθορισμένο πλήθος εγγραφών ανά παρτίδα κατά τη φόρτωση */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /** Η εσοχή που χρησιμοποιείται στην pretty μορφή εξόδου */
+    private static final String PRETTY_INDENT = "  ";
+
+    /** Ο factory των εργασιών, που μετατρέπει τις εργασίες παλαιότερης μορφής σε κωδικούς */
+    private static final TaskAdapterFactory taskAdapterFactory = new TaskAdapterFactory();
+
+    /**
+     * Ο Gson με εγγεγραμμένους adapters για LocalDate, Reminder, Recurrence, Status και Task
+     * (η μορφοποίηση ορίζεται από τον JsonWriter). Η Status διαβάζεται πάντα ως το κοινόχρηστο
+     * στιγμιότυπό της, οι κανόνες επανάληψης ελέγχονται κατά την ανάγνωση, ενώ οι εργασίες
+     * αποθηκεύουν μόνο τους κωδικούς κατηγορίας και προτεραιότητας.
+     */
     private static final Gson gson = new GsonBuilder()
-            .setPrettyPrinting()
             .registerTypeAdapter(LocalDate.class, new LocalDateAdapter())
+            .registerTypeAdapter(Reminder.class, new ReminderAdapter())
+            .registerTypeAdapter(Recurrence.class, new RecurrenceAdapter())
+            .registerTypeAdapter(Status.class, new StatusAdapter())
+            .registerTypeAdapterFactory(taskAdapterFactory)
             .create();
 
+    /** Αν είναι true, τα αρχεία γράφονται σε συμπαγή μορφή χωρίς pretty printing */
+    private static volatile boolean compactOutput = Boolean.getBoolean("medialab.compactJson");
+
+    /**
+     * Ορίζει αν τα αρχεία JSON θα γράφονται σε συμπαγή μορφή (χωρίς κενά και αλλαγές γραμμής).
+     * Η συμπαγής μορφή μειώνει σημαντικά το μέγεθος των μεγάλων αρχείων.
+     *
+     * @param compact true για συμπαγή έξοδο, false για pretty printing.
+     */
+    public static void setCompactOutput(boolean compact) {
+        compactOutput = compact;
+    }
+
+    /**
+     * Επιστρέφει αν τα αρχεία JSON γράφονται σε συμπαγή μορφή.
+     *
+     * @return true αν η έξοδος είναι συμπαγής.
+     */
+    public static boolean isCompactOutput() {
+        return compactOutput;
+    }
+
     /**
      * Εξασφαλίζει ότι ο φάκελος αποθήκευσης υπάρχει. Αν δεν υπάρχει, δημιουργείται.
      */
@@ -46,117 +117,551 @@ public class DataManager {
         }
     }
 
+    /**
+     * Επιστρέφει ένα αρχείο μέσα στον φάκελο αποθήκευσης, δημιουργώντας τον φάκελο αν χρειάζεται.
+     *
+     * @param name το όνομα του αρχείου.
+     * @return το αρχείο μέσα στον φάκελο δεδομένων.
+     */
+    public static File dataFile(String name) {
+        ensureDirectoryExists();
+        return new File(DIRECTORY, name);
+    }
+
+    /**
+     * Επιστρέφει τον κοινό Gson, ώστε οι υπόλοιπες κλάσεις αποθήκευσης να χρησιμοποιούν τους ίδιους adapters.
+     *
+     * @return ο Gson της εφαρμογής.
+     */
+    static Gson gson() {
+        return gson;
+    }
+
     /**
      * Αποθηκεύει τη λίστα των tasks στο αρχείο JSON.
      *
      * @param taskList η λίστα των tasks προς αποθήκευση.
+     * @throws IOException αν αποτύχει η εγγραφή του αρχείου.
      */
-    public static void saveTasks(List<Task> taskList) {
-        saveToFile(TASKS_FILE, taskList);
+    public static void saveTasks(List<Task> taskList) throws IOException {
+        saveToFile(TASKS_FILE, taskList, Task.class);
     }
 
     /**
      * Φορτώνει τη λίστα των tasks από το αρχείο JSON.
      *
      * @return μια λίστα με τα tasks, ή μια άδεια λίστα αν δεν βρεθούν δεδομένα.
+     * @throws JsonParseException αν το αρχείο δεν διαβάζεται ολόκληρο.
      */
     public static List<Task> loadTasks() {
-        return loadFromFile(TASKS_FILE, new TypeToken<List<Task>>() {}.getType());
+        List<Task> tasks = new ArrayList<>();
+        loadTasks(tasks::addAll);
+        return tasks;
+    }
+
+    /**
+     * Φορτώνει τα tasks από το αρχείο JSON σε παρτίδες, παραδίδοντας κάθε παρτίδα στον consumer.
+     *
+     * @param batchConsumer ο consumer που λαμβάνει κάθε παρτίδα.
+     * @throws JsonParseException αν το αρχείο δεν διαβάζεται ολόκληρο.
+     */
+    public static void loadTasks(Consumer<List<Task>> batchConsumer) {
+        loadFromFile(TASKS_FILE, Task.class, DEFAULT_BATCH_SIZE, batchConsumer);
     }
 
     /**
      * Αποθηκεύει τη λίστα των categories στο αρχείο JSON.
      *
      * @param categoryList η λίστα των categories προς αποθήκευση.
+     * @throws IOException αν αποτύχει η εγγραφή του αρχείου.
      */
-    public static void saveCategories(List<Category> categoryList) {
-        saveToFile(CATEGORIES_FILE, categoryList);
+    public static void saveCategories(List<Category> categoryList) throws IOException {
+        saveToFile(CATEGORIES_FILE, categoryList, Category.class);
     }
 
     /**
      * Φορτώνει τη λίστα των categories από το αρχείο JSON.
      *
      * @return μια λίστα με τα categories, ή μια άδεια λίστα αν δεν βρεθούν δεδομένα.
+     * @throws JsonParseException αν το αρχείο δεν διαβάζεται ολόκληρο.
      */
     public static List<Category> loadCategories() {
-        return loadFromFile(CATEGORIES_FILE, new TypeToken<List<Category>>() {}.getType());
+        List<Category> categories = new ArrayList<>();
+        loadCategories(categories::addAll);
+        return categories;
+    }
+
+    /**
+     * Φορτώνει τα categories από το αρχείο JSON σε παρτίδες, παραδίδοντας κάθε παρτίδα στον consumer.
+     *
+     * @param batchConsumer ο consumer που λαμβάνει κάθε παρτίδα.
+     * @throws JsonParseException αν το αρχείο δεν διαβάζεται ολόκληρο.
+     */
+    public static void loadCategories(Consumer<List<Category>> batchConsumer) {
+        loadFromFile(CATEGORIES_FILE, Category.class, DEFAULT_BATCH_SIZE, batchConsumer);
     }
 
     /**
      * Αποθηκεύει τη λίστα των priorities στο αρχείο JSON.
      *
      * @param priorityList η λίστα των priorities προς αποθήκευση.
+     * @throws IOException αν αποτύχει η εγγραφή του αρχείου.
      */
-    public static void savePriorities(List<Priority> priorityList) {
-        saveToFile(PRIORITIES_FILE, priorityList);
+    public static void savePriorities(List<Priority> priorityList) throws IOException {
+        saveToFile(PRIORITIES_FILE, priorityList, Priority.class);
     }
 
     /**
      * Φορτώνει τη λίστα των priorities από το αρχείο JSON.
      *
      * @return μια λίστα με τα priorities, ή μια άδεια λίστα αν δεν βρεθούν δεδομένα.
+     * @throws JsonParseException αν το αρχείο δεν διαβάζεται ολόκληρο.
      */
     public static List<Priority> loadPriorities() {
-        return loadFromFile(PRIORITIES_FILE, new TypeToken<List<Priority>>() {}.getType());
+        List<Priority> priorities = new ArrayList<>();
+        loadPriorities(priorities::addAll);
+        return priorities;
+    }
+
+    /**
+     * Φορτώνει τα priorities από το αρχείο JSON σε παρτίδες, παραδίδοντας κάθε παρτίδα στον consumer.
+     *
+     * @param batchConsumer ο consumer που λαμβάνει κάθε παρτίδα.
+     * @throws JsonParseException αν το αρχείο δεν διαβάζεται ολόκληρο.
+     */
+    public static void loadPriorities(Consumer<List<Priority>> batchConsumer) {
+        loadFromFile(PRIORITIES_FILE, Priority.class, DEFAULT_BATCH_SIZE, batchConsumer);
     }
 
     /**
      * Αποθηκεύει τη λίστα των reminders στο αρχείο JSON.
      *
      * @param reminderList η λίστα των reminders προς αποθήκευση.
+     * @throws IOException αν αποτύχει η εγγραφή του αρχείου.
      */
-    public static void saveReminders(List<Reminder> reminderList) {
-        saveToFile(REMINDERS_FILE, reminderList);
+    public static void saveReminders(List<Reminder> reminderList) throws IOException {
+        saveToFile(REMINDERS_FILE, reminderList, Reminder.class);
     }
 
     /**
      * Φορτώνει τη λίστα των reminders από το αρχείο JSON.
      *
      * @return μια λίστα με τα reminders, ή μια άδεια λίστα αν δεν βρεθούν δεδομένα.
+     * @throws JsonParseException αν το αρχείο δεν διαβάζεται ολόκληρο.
      */
     public static List<Reminder> loadReminders() {
-        return loadFromFile(REMINDERS_FILE, new TypeToken<List<Reminder>>() {}.getType());
+        List<Reminder> reminders = new ArrayList<>();
+        loadReminders(reminders::addAll);
+        return reminders;
+    }
+
+    /**
+     * Φορτώνει τα reminders από το αρχείο JSON σε παρτίδες, παραδίδοντας κάθε παρτίδα στον consumer.
+     *
+     * @param batchConsumer ο consumer που λαμβάνει κάθε παρτίδα.
+     * @throws JsonParseException αν το αρχείο δεν διαβάζεται ολόκληρο.
+     */
+    public static void loadReminders(Consumer<List<Reminder>> batchConsumer) {
+        loadFromFile(REMINDERS_FILE, Reminder.class, DEFAULT_BATCH_SIZE, batchConsumer);
+    }
+
+    /**
+     * Ξαναχτίζει τα λεξικά κατηγοριών και προτεραιοτήτων από τις δοσμένες λίστες.
+     * Τα αρχεία categories.json και priorities.json αποτελούν το λεξικό (κωδικός → όνομα)
+     * στο οποίο αναφέρονται οι κωδικοί categoryId και priorityId των εργασιών.
+     * Πρέπει να καλείται πριν από τη φόρτωση των εργασιών και μετά από κάθε αντικατάσταση
+     * αντικειμένων στις λίστες (π.χ. μετά την επανάληψη του journal).
+     *
+     * @param categories οι κατηγορίες της εφαρμογής.
+     * @param priorities οι προτεραιότητες της εφαρμογής.
+     */
+    public static void rebuildDictionaries(List<Category> categories, List<Priority> priorities) {
+        Category.loadDictionary(categories);
+        Priority.loadDictionary(priorities);
+    }
+
+    /**
+     * Προσθέτει στις λίστες τις κατηγορίες και τις προτεραιότητες που δημιουργήθηκαν κατά τη
+     * μετατροπή εργασιών παλαιότερης μορφής (όταν μια εργασία αναφερόταν σε όνομα που δεν υπήρχε).
+     *
+     * @param categories οι κατηγορίες της εφαρμογής.
+     * @param priorities οι προτεραιότητες της εφαρμογής.
+     */
+    public static void adoptMigratedEntries(List<Category> categories, List<Priority> priorities) {
+        taskAdapterFactory.drainMigratedCategories(categories);
+        taskAdapterFactory.drainMigratedPriorities(priorities);
+    }
+
+    /**
+     * Φορτώνει το αποθηκευμένο ευρετήριο πλήρους κειμένου και το συγχρονίζει με τις εργασίες,
+     * ώστε να ξαναδεικτοδοτηθούν μόνο όσες άλλαξαν. Αν το αρχείο λείπει ή δεν είναι έγκυρο
+     * (οποιοδήποτε σφάλμα κατά την ανάγνωση), το ευρετήριο χτίζεται από την αρχή.
+     *
+     * @param tasks οι εργασίες της εφαρμογής.
+     * @return το ευρετήριο πλήρους κειμένου.
+     */
+    public static FullTextIndex loadSearchIndex(Collection<Task> tasks) {
+        FullTextIndex index = null;
+        File file = new File(SEARCH_INDEX_FILE);
+        if (file.exists()) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                index = FullTextIndex.readFrom(in, tasks.size());
+            } catch (IOException | RuntimeException e) {
+                System.out.println("Error loading search index, rebuilding it");
+                e.printStackTrace();
+            }
+        }
+        if (index == null) {
+            index = new FullTextIndex();
+        }
+        index.synchronize(tasks);
+        return index;
+    }
+
+    /**
+     * Αποθηκεύει το ευρετήριο πλήρους κειμένου σε δυαδική μορφή, με τον ίδιο τρόπο όπως τα αρχεία JSON
+     * (προσωρινό αρχείο, fsync και ατομική μετονομασία).
+     *
+     * @param index το ευρετήριο πλήρους κειμένου.
+     */
+    public static void saveSearchIndex(FullTextIndex index) {
+        ensureDirectoryExists();
+        Path target = Path.of(SEARCH_INDEX_FILE);
+        Path tmp = Path.of(SEARCH_INDEX_FILE + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmp.toFile())) {
+            DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+            index.writeTo(data);
+            data.flush();
+            out.getFD().sync();
+        } catch (IOException e) {
+            System.out.println("Error saving search index");
+            e.printStackTrace();
+            return;
+        }
+        try {
+            moveAtomically(tmp, target);
+        } catch (IOException e) {
+            System.out.println("Error replacing " + SEARCH_INDEX_FILE);
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Φορτώνει την τελευταία ημέρα της οποίας οι υπενθυμίσεις έχουν παραδοθεί.
+     *
+     * @return η ημέρα ή null αν το αρχείο λείπει ή δεν είναι έγκυρο.
+     */
+    public static LocalDate loadReminderWatermark() {
+        Path file = Path.of(REMINDER_STATE_FILE);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(Files.readString(file, StandardCharsets.UTF_8).trim());
+        } catch (IOException | DateTimeParseException e) {
+            System.out.println("Error loading " + REMINDER_STATE_FILE);
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Αποθηκεύει την τελευταία ημέρα της οποίας οι υπενθυμίσεις έχουν παραδοθεί
+     * (προσωρινό αρχείο και ατομική μετονομασία).
+     *
+     * @param date η ημέρα.
+     */
+    public static void saveReminderWatermark(LocalDate date) {
+        ensureDirectoryExists();
+        Path tmp = Path.of(REMINDER_STATE_FILE + ".tmp");
+        try {
+            Files.writeString(tmp, date.toString(), StandardCharsets.UTF_8);
+            moveAtomically(tmp, Path.of(REMINDER_STATE_FILE));
+        } catch (IOException e) {
+            System.out.println("Error saving " + REMINDER_STATE_FILE);
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Φορτώνει το sequence του journal που περιέχεται στο αποθηκευμένο στιγμιότυπο.
+     *
+     * @return το sequence, ή 0 αν δεν υπάρχει manifest (οπότε επαναλαμβάνεται όλο το journal).
+     */
+    public static long loadSnapshotSequence() {
+        Path file = Path.of(MANIFEST_FILE);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(Files.readString(file, StandardCharsets.UTF_8).trim());
+        } catch (IOException | NumberFormatException e) {
+            System.out.println("Error loading " + MANIFEST_FILE);
+            e.printStackTrace();
+            return 0;
+        }
+    }
+
+    /**
+     * Γράφει το manifest του στιγμιότυπου με το sequence του journal που περιέχει. Γράφεται τελευταίο,
+     * μετά τα αρχεία JSON, οπότε ένα στιγμιότυπο θεωρείται ολοκληρωμένο μόνο όταν υπάρχει το manifest του.
+     *
+     * @param sequence το τελευταίο sequence του journal που περιέχεται στο στιγμιότυπο.
+     * @throws IOException αν αποτύχει η εγγραφή.
+     */
+    public static void saveSnapshotManifest(long sequence) throws IOException {
+        ensureDirectoryExists();
+        Path tmp = Path.of(MANIFEST_FILE + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            out.write(ByteBuffer.wrap(Long.toString(sequence).getBytes(StandardCharsets.UTF_8)));
+            out.force(true);
+        }
+        moveAtomically(tmp, Path.of(MANIFEST_FILE));
+    }
+
+    /**
+     * Φορτώνει τις παραδόσεις υπενθυμίσεων που δεν είχαν ολοκληρωθεί.
+     *
+     * @return οι παραδόσεις, ή μια άδεια λίστα αν δεν υπάρχουν.
+     * @throws JsonParseException αν το αρχείο δεν διαβάζεται ολόκληρο.
+     */
+    public static List<Delivery> loadDeliveries() {
+        List<Delivery> deliveries = new ArrayList<>();
+        loadFromFile(DELIVERIES_FILE, Delivery.class, DEFAULT_BATCH_SIZE, deliveries::addAll);
+        return deliveries;
+    }
+
+    /**
+     * Αποθηκεύει τις παραδόσεις υπενθυμίσεων που δεν έχουν ολοκληρωθεί.
+     *
+     * @param deliveries οι παραδόσεις.
+     * @throws IOException αν αποτύχει η εγγραφή του αρχείου.
+     */
+    public static void saveDeliveries(Collection<Delivery> deliveries) throws IOException {
+        saveToFile(DELIVERIES_FILE, deliveries, Delivery.class);
+    }
+
+    /**
+     * Δεσμεύει τους αποθηκευμένους κωδικούς εργασιών και υπενθυμίσεων και δίνει νέους σε όσες δεν έχουν
+     * (αρχεία παλαιότερης μορφής). Πρέπει να καλείται πριν από την επανάληψη του journal, του οποίου
+     * οι εγγραφές αναφέρονται στα αντικείμενα με τον κωδικό τους.
+     *
+     * @param tasks οι φορτωμένες εργασίες.
+     * @param reminders οι φορτωμένες υπενθυμίσεις.
+     */
+    public static void assignIds(List<Task> tasks, List<Reminder> reminders) {
+        for (Task task : tasks) {
+            Task.reserveId(task.getId());
+        }
+        for (Reminder reminder : reminders) {
+            Reminder.reserveId(reminder.getId());
+        }
+        for (Task task : tasks) {
+            task.assignIdIfMissing();
+        }
+        for (Reminder reminder : reminders) {
+            reminder.assignIdIfMissing();
+        }
+    }
+
+    /**
+     * Δημιουργεί ένα ευρετήριο κωδικός → εργασία για τις φορτωμένες εργασίες.
+     * Πρώτα δεσμεύονται όλοι οι αποθηκευμένοι κωδικοί και μετά δίνονται νέοι κωδικοί
+     * στις εργασίες που δεν έχουν (αρχεία παλαιότερης μορφής).
+     *
+     * @param tasks οι φορτωμένες εργασίες.
+     * @return το ευρετήριο των εργασιών ανά κωδικό.
+     */
+    public static Map<Long, Task> indexTasks(List<Task> tasks) {
+        for (Task task : tasks) {
+            Task.reserveId(task.getId());
+        }
+        Map<Long, Task> tasksById = new HashMap<>(tasks.size() * 2);
+        for (Task task : tasks) {
+            task.assignIdIfMissing();
+            tasksById.put(task.getId(), task);
+        }
+        return tasksById;
+    }
+
+    /**
+     * Συνδέει κάθε υπενθύμιση με την εργασία της μέσω του ευρετηρίου κωδικών, σε O(1) ανά υπενθύμιση.
+     * Οι υπενθυμίσεις παλαιότερης μορφής (με ενσωματωμένο αντίγραφο εργασίας) αντιστοιχίζονται
+     * με βάση τα στοιχεία του αντιγράφου. Όσες δεν αντιστοιχούν σε καμία εργασία αφαιρούνται.
+     *
+     * @param reminders οι φορτωμένες υπενθυμίσεις.
+     * @param tasksById το ευρετήριο των εργασιών ανά κωδικό.
+     */
+    public static void resolveReminders(List<Reminder> reminders, Map<Long, Task> tasksById) {
+        Map<String, Task> tasksByContent = null;
+        Set<Reminder> orphans = new HashSet<>();
+        for (Reminder reminder : reminders) {
+            Task task = tasksById.get(reminder.getTaskId());
+            if (task == null && reminder.getTask() != null) {
+                if (tasksByContent == null) {
+                    tasksByContent = new HashMap<>(tasksById.size() * 2);
+                    for (Task candidate : tasksById.values()) {
+                        tasksByContent.putIfAbsent(contentKey(candidate), candidate);
+                    }
+                }
+                task = tasksByContent.get(contentKey(reminder.getTask()));
+            }
+            if (task != null) {
+                reminder.attachTask(task);
+            } else {
+                orphans.add(reminder);
+            }
+        }
+        if (!orphans.isEmpty()) {
+            System.out.println("Dropping " + orphans.size() + " reminders without a matching task");
+            reminders.removeAll(orphans);
+        }
+    }
+
+    /**
+     * Επιστρέφει ένα κλειδί με τα σταθερά στοιχεία μιας εργασίας, για την αντιστοίχιση
+     * αντιγράφων εργασιών από αρχεία παλαιότερης μορφής.
+     *
+     * @param task η εργασία.
+     * @return το κλειδί της εργασίας.
+     */
+    private static String contentKey(Task task) {
+        return Objects.toString(task.getTitle()) + '\u0000'
+                + Objects.toString(task.getDescription()) + '\u0000'
+                + task.getCategoryId() + '\u0000'
+                + Objects.toString(task.getDeadline());
     }
 
     /**
      * Γενική μέθοδος αποθήκευσης λίστας αντικειμένων σε αρχείο JSON.
+     * Κάθε αντικείμενο σειριοποιείται απευθείας στον JsonWriter, χωρίς ενδιάμεσο δέντρο JSON.
+     * Τα δεδομένα γράφονται σε προσωρινό αρχείο, γίνεται fsync και το αρχείο μετονομάζεται
+     * ατομικά στη θέση του παλιού.
      *
      * @param filename το όνομα του αρχείου όπου θα αποθηκευτούν τα δεδομένα.
-     * @param list η λίστα των αντικειμένων προς αποθήκευση.
+     * @param items τα αντικείμενα προς αποθήκευση.
+     * @param type η κλάση των αντικειμένων.
      * @param <T> ο τύπος των αντικειμένων της λίστας.
+     * @throws IOException αν αποτύχει η εγγραφή ή η μετονομασία· το προηγούμενο αρχείο μένει ανέπαφο.
      */
-    private static <T> void saveToFile(String filename, List<T> list) {
+    private static <T> void saveToFile(String filename, Iterable<T> items, Class<T> type) throws IOException {
         ensureDirectoryExists();
-        try (Writer writer = new FileWriter(filename)) {
-            gson.toJson(list, writer);
-            System.out.println("Data saved successfully to " + filename);
+        Path target = Path.of(filename);
+        Path tmp = Path.of(filename + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmp.toFile())) {
+            JsonWriter writer = new JsonWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+            writeArray(writer, items, type);
+            out.getFD().sync();
+        }
+        moveAtomically(tmp, target);
+    }
+
+    /**
+     * Μετονομάζει ατομικά ένα αρχείο στη θέση ενός άλλου και κάνει fsync στον φάκελο,
+     * ώστε η μετονομασία να επιβιώσει από crash. Αν το σύστημα αρχείων δεν υποστηρίζει
+     * ατομική μετονομασία, γίνεται απλή αντικατάσταση.
+     *
+     * @param source το προσωρινό αρχείο.
+     * @param target το τελικό αρχείο.
+     * @throws IOException αν αποτύχει η μετονομασία.
+     */
+    static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        Path directory = target.toAbsolutePath().getParent();
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
         } catch (IOException e) {
-            System.out.println("Error saving data to " + filename);
-            e.printStackTrace();
+            // Σε ορισμένα συστήματα (π.χ. Windows) δεν επιτρέπεται fsync σε φάκελο
         }
     }
-    
+
     /**
-     * Γενική μέθοδος φόρτωσης λίστας αντικειμένων από αρχείο JSON.
+     * Γράφει τα αντικείμενα ως πίνακα JSON στον δοσμένο JsonWriter, ένα τη φορά.
+     *
+     * @param writer ο JsonWriter εξόδου.
+     * @param items τα αντικείμενα προς εγγραφή.
+     * @param type η κλάση των αντικειμένων.
+     * @param <T> ο τύπος των αντικειμένων.
+     * @throws IOException αν αποτύχει η εγγραφή.
+     */
+    private static <T> void writeArray(JsonWriter writer, Iterable<T> items, Class<T> type) throws IOException {
+        writer.setIndent(compactOutput ? "" : PRETTY_INDENT);
+        writer.beginArray();
+        for (T item : items) {
+            gson.toJson(item, type, writer);
+        }
+        writer.endArray();
+        writer.flush();
+    }
+
+    /**
+     * Γενική μέθοδος φόρτωσης αντικειμένων από αρχείο JSON σε παρτίδες.
+     * Ο JsonReader διαβάζει μία εγγραφή τη φορά και κάθε γεμάτη παρτίδα παραδίδεται στον consumer,
+     * ώστε ο καλών να μπορεί να τη μεταφέρει στη δική του δομή χωρίς ενδιάμεση πλήρη λίστα.
      *
      * @param filename το όνομα του αρχείου από το οποίο θα φορτωθούν τα δεδομένα.
-     * @param type ο τύπος των δεδομένων που περιμένουμε να φορτωθούν.
-     * @param <T> ο τύπος των αντικειμένων που περιέχονται στη λίστα.
-     * @return μια λίστα με τα δεδομένα ή μια άδεια λίστα αν δεν βρεθούν δεδομένα.
+     * @param type η κλάση των αντικειμένων που περιμένουμε να φορτωθούν.
+     * @param batchSize το μέγιστο πλήθος αντικειμένων ανά παρτίδα.
+     * @param batchConsumer ο consumer που λαμβάνει κάθε παρτίδα.
+     * @param <T> ο τύπος των αντικειμένων.
+     * @throws JsonParseException αν το αρχείο δεν διαβάζεται ολόκληρο (π.χ. είναι κομμένο ή κατεστραμμένο).
      */
-    private static <T> List<T> loadFromFile(String filename, Type type) {
+    private static <T> void loadFromFile(String filename, Class<T> type, int batchSize, Consumer<List<T>> batchConsumer) {
         ensureDirectoryExists(); // Βεβαιωνόμαστε ότι υπάρχει ο φάκελος αποθήκευσης
-        try (Reader reader = new FileReader(filename)) {
-            if (new File(filename).length() == 0) {
-                return new ArrayList<>();
-            }
-            return gson.fromJson(reader, type);
-        } catch (FileNotFoundException e) {
+        File file = new File(filename);
+        if (!file.exists()) {
             System.out.println("No saved data found in " + filename);
-            return new ArrayList<>();
-        } catch (IOException e) {
-            e.printStackTrace();
-            return new ArrayList<>();
+            return;
+        }
+        if (file.length() == 0) {
+            return;
+        }
+        try (JsonReader reader = new JsonReader(new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)))) {
+            readArray(reader, type, batchSize, batchConsumer);
+        } catch (IOException | JsonParseException e) {
+            // Ο consumer μπορεί να έχει ήδη λάβει μέρος των εγγραφών· αν η εφαρμογή συνέχιζε, η επόμενη
+            // αποθήκευση θα αντικαθιστούσε τα αρχεία με τα μερικά δεδομένα, οπότε η φόρτωση αποτυγχάνει
+            System.out.println("Error loading data from " + filename);
+            throw new JsonParseException("Could not read " + filename, e);
+        }
+    }
+
+    /**
+     * Διαβάζει έναν πίνακα JSON από τον JsonReader και παραδίδει τα στοιχεία του σε παρτίδες.
+     *
+     * @param reader ο JsonReader εισόδου.
+     * @param type η κλάση των στοιχείων.
+     * @param batchSize το μέγιστο πλήθος στοιχείων ανά παρτίδα.
+     * @param batchConsumer ο consumer που λαμβάνει κάθε παρτίδα.
+     * @param <T> ο τύπος των στοιχείων.
+     * @throws IOException αν αποτύχει η ανάγνωση.
+     */
+    private static <T> void readArray(JsonReader reader, Class<T> type, int batchSize, Consumer<List<T>> batchConsumer) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return;
+        }
+        reader.beginArray();
+        List<T> batch = new ArrayList<>(batchSize);
+        while (reader.hasNext()) {
+            T item = gson.fromJson(reader, type);
+            if (item != null) {
+                batch.add(item);
+            }
+            if (batch.size() >= batchSize) {
+                batchConsumer.accept(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        reader.endArray();
+        if (!batch.isEmpty()) {
+            batchConsumer.accept(batch);
         }
     }
 }
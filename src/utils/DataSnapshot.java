@@ -0,0 +1,70 @@
+package utils;
+
+import model.Category;
+import model.Priority;
+import model.Reminder;
+import model.Task;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Η κλάση DataSnapshot κρατά ένα στιγμιότυπο των τεσσάρων λιστών της εφαρμογής.
+ * Τη στιγμή της δημιουργίας αντιγράφονται και οι λίστες και τα στοιχεία τους, γιατί οι εργασίες
+ * και οι υπενθυμίσεις τροποποιούνται επιτόπου στο JavaFX thread. Έτσι το στιγμιότυπο σειριοποιείται
+ * σε άλλο νήμα χωρίς να βλέπει μισοεφαρμοσμένες αλλαγές, ενώ οι αρχικές λίστες συνεχίζουν να αλλάζουν.
+ */
+public class DataSnapshot {
+    private final List<Task> tasks;
+    private final List<Category> categories;
+    private final List<Priority> priorities;
+    private final List<Reminder> reminders;
+
+    /**
+     * Δημιουργεί ένα στιγμιότυπο αντιγράφοντας τις δοσμένες λίστες και τα στοιχεία τους.
+     * Πρέπει να καλείται από το νήμα που τροποποιεί τις λίστες (JavaFX thread).
+     *
+     * @param tasks οι εργασίες.
+     * @param categories οι κατηγορίες.
+     * @param priorities οι προτεραιότητες.
+     * @param reminders οι υπενθυμίσεις.
+     */
+    public DataSnapshot(List<Task> tasks, List<Category> categories, List<Priority> priorities, List<Reminder> reminders) {
+        this.tasks = copyOf(tasks, Task::new);
+        this.categories = copyOf(categories, Category::new);
+        this.priorities = copyOf(priorities, Priority::new);
+        this.reminders = copyOf(reminders, Reminder::new);
+    }
+
+    /**
+     * Επιστρέφει μια λίστα με αντίγραφα των στοιχείων της δοσμένης λίστας.
+     *
+     * @param items τα στοιχεία.
+     * @param copier ο copy constructor των στοιχείων.
+     * @param <T> ο τύπος των στοιχείων.
+     * @return τα αντίγραφα, με την ίδια σειρά.
+     */
+    private static <T> List<T> copyOf(List<T> items, UnaryOperator<T> copier) {
+        List<T> copies = new ArrayList<>(items.size());
+        for (T item : items) {
+            copies.add(copier.apply(item));
+        }
+        return copies;
+    }
+
+    /**
+     * Αποθηκεύει το στιγμιότυπο στα τέσσερα αρχεία JSON μέσω του DataManager και γράφει τελευταίο
+     * το manifest με το sequence του journal. Αν αποτύχει κάποιο αρχείο, το manifest δεν αλλάζει.
+     *
+     * @param sequence το τελευταίο sequence του journal που περιέχεται στο στιγμιότυπο.
+     * @throws IOException αν αποτύχει η εγγραφή κάποιου αρχείου.
+     */
+    public void save(long sequence) throws IOException {
+        DataManager.saveTasks(tasks);
+        DataManager.saveCategories(categories);
+        DataManager.savePriorities(priorities);
+        DataManager.saveReminders(reminders);
+        DataManager.saveSnapshotManifest(sequence);
+    }
+}
@@ -0,0 +1,214 @@
+package utils;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import model.Status;
+import model.Task;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Η κλάση DeadlineIndex κρατά τις εργασίες ταξινομημένες κατά προθεσμία, με κλειδί την ημέρα
+ * της προθεσμίας (epoch day). Έτσι τα ερωτήματα εύρους, όπως "με προθεσμία τις επόμενες N ημέρες"
+ * ή "καθυστέρησαν από χθες", κοστίζουν O(log n + k) αντί για σάρωση όλων των εργασιών.
+ * Το ευρετήριο ενημερώνεται από το TaskStore και διατηρεί επίσης τη λίστα των μη ολοκληρωμένων
+ * εργασιών με προθεσμία μέσα στο τρέχον παράθυρο ημερών, που εμφανίζεται στο UI.
+ * Τα ερωτήματα εύρους χρησιμοποιούνται και από το νήμα των φίλτρων, γι' αυτό οι δημόσιες μέθοδοι
+ * είναι synchronized.
+ */
+public final class DeadlineIndex implements TaskStore.Listener {
+    private final NavigableMap<Long, Set<Task>> tasksByDay = new TreeMap<>();
+    private final ObservableList<Task> dueSoon = FXCollections.observableArrayList();
+    private final int windowDays;
+    private LocalDate today;
+
+    /**
+     * Δημιουργεί το ευρετήριο για τις δοσμένες εργασίες.
+     *
+     * @param tasks οι εργασίες της εφαρμογής.
+     * @param today η τρέχουσα ημερομηνία.
+     * @param windowDays το πλήθος των ημερών μετά τη σημερινή που θεωρούνται "σύντομα".
+     */
+    public DeadlineIndex(Collection<Task> tasks, LocalDate today, int windowDays) {
+        this.windowDays = windowDays;
+        for (Task task : tasks) {
+            index(task);
+        }
+        setToday(today);
+    }
+
+    /**
+     * Προσθέτει μια εργασία στο ευρετήριο και, αν χρειάζεται, στη λίστα του τρέχοντος παραθύρου.
+     *
+     * @param task η εργασία.
+     */
+    @Override
+    public synchronized void taskAdded(Task task) {
+        index(task);
+        if (inWindow(task)) {
+            dueSoon.add(task);
+        }
+    }
+
+    /**
+     * Αφαιρεί μια εργασία από το ευρετήριο και από τη λίστα του τρέχοντος παραθύρου.
+     *
+     * @param task η εργασία.
+     */
+    @Override
+    public synchronized void taskRemoved(Task task) {
+        LocalDate deadline = task.getDeadline();
+        if (deadline == null) {
+            return;
+        }
+        long day = deadline.toEpochDay();
+        Set<Task> dayTasks = tasksByDay.get(day);
+        if (dayTasks != null && dayTasks.remove(task) && dayTasks.isEmpty()) {
+            tasksByDay.remove(day);
+        }
+        if (inWindow(task)) {
+            dueSoon.remove(task);
+        }
+    }
+
+    /**
+     * Ορίζει την τρέχουσα ημερομηνία και ξαναχτίζει τη λίστα του παραθύρου με ένα ερώτημα εύρους.
+     *
+     * @param newToday η νέα ημερομηνία.
+     */
+    public synchronized void setToday(LocalDate newToday) {
+        today = newToday;
+        List<Task> window = new ArrayList<>();
+        for (Task task : dueBetween(today, today.plusDays(windowDays))) {
+            if (task.getStatus() != Status.COMPLETED) {
+                window.add(task);
+            }
+        }
+        dueSoon.setAll(window);
+    }
+
+    /**
+     * Επιστρέφει την ημερομηνία στην οποία αντιστοιχεί το παράθυρο.
+     *
+     * @return η τρέχουσα ημερομηνία του ευρετηρίου.
+     */
+    public synchronized LocalDate getToday() {
+        return today;
+    }
+
+    /**
+     * Επιστρέφει τις μη ολοκληρωμένες εργασίες με προθεσμία από σήμερα έως και windowDays ημέρες μετά.
+     * Η λίστα ενημερώνεται αυτόματα με κάθε μεταβολή των εργασιών.
+     *
+     * @return η λίστα των εργασιών με κοντινή προθεσμία.
+     */
+    public ObservableList<Task> getDueSoon() {
+        return dueSoon;
+    }
+
+    /**
+     * Επιστρέφει τις εργασίες με προθεσμία από την ημερομηνία from έως και την ημερομηνία to,
+     * ταξινομημένες κατά προθεσμία.
+     *
+     * @param from η πρώτη ημερομηνία (συμπεριλαμβάνεται).
+     * @param to η τελευταία ημερομηνία (συμπεριλαμβάνεται).
+     * @return οι εργασίες του εύρους.
+     */
+    public synchronized List<Task> dueBetween(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            return new ArrayList<>();
+        }
+        return collect(tasksByDay.subMap(from.toEpochDay(), true, to.toEpochDay(), true));
+    }
+
+    /**
+     * Μετρά τις εργασίες με προθεσμία από την ημερομηνία from έως και την ημερομηνία to,
+     * χωρίς να τις συγκεντρώνει σε λίστα.
+     *
+     * @param from η πρώτη ημερομηνία (συμπεριλαμβάνεται).
+     * @param to η τελευταία ημερομηνία (συμπεριλαμβάνεται).
+     * @return το πλήθος των εργασιών του εύρους.
+     */
+    public synchronized int countBetween(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            return 0;
+        }
+        int count = 0;
+        for (Set<Task> dayTasks : tasksByDay.subMap(from.toEpochDay(), true, to.toEpochDay(), true).values()) {
+            count += dayTasks.size();
+        }
+        return count;
+    }
+
+    /**
+     * Επιστρέφει τις εργασίες με προθεσμία από την ημερομηνία from και πριν από την ημερομηνία before,
+     * δηλαδή όσες καθυστέρησαν μέσα σε αυτό το διάστημα.
+     *
+     * @param from η πρώτη ημερομηνία (συμπεριλαμβάνεται).
+     * @param before η ημερομηνία μέχρι την οποία γίνεται η αναζήτηση (δεν συμπεριλαμβάνεται).
+     * @return οι εργασίες του εύρους.
+     */
+    public synchronized List<Task> overdueBetween(LocalDate from, LocalDate before) {
+        if (!from.isBefore(before)) {
+            return new ArrayList<>();
+        }
+        return collect(tasksByDay.subMap(from.toEpochDay(), true, before.toEpochDay(), false));
+    }
+
+    /**
+     * Επιστρέφει όλες τις εργασίες με προθεσμία πριν από τη δοσμένη ημερομηνία.
+     *
+     * @param before η ημερομηνία (δεν συμπεριλαμβάνεται).
+     * @return οι εργασίες με προθεσμία που έχει περάσει.
+     */
+    public synchronized List<Task> overdueBefore(LocalDate before) {
+        return collect(tasksByDay.headMap(before.toEpochDay(), false));
+    }
+
+    /**
+     * Προσθέτει μια εργασία στο σύνολο της ημέρας της προθεσμίας της.
+     *
+     * @param task η εργασία.
+     */
+    private void index(Task task) {
+        LocalDate deadline = task.getDeadline();
+        if (deadline != null) {
+            tasksByDay.computeIfAbsent(deadline.toEpochDay(), _ -> new HashSet<>()).add(task);
+        }
+    }
+
+    /**
+     * Επιστρέφει αν μια εργασία ανήκει στο τρέχον παράθυρο (μη ολοκληρωμένη, με προθεσμία
+     * από σήμερα έως και windowDays ημέρες μετά).
+     *
+     * @param task η εργασία.
+     * @return true αν η εργασία ανήκει στο παράθυρο.
+     */
+    private boolean inWindow(Task task) {
+        LocalDate deadline = task.getDeadline();
+        if (deadline == null || task.getStatus() == Status.COMPLETED) {
+            return false;
+        }
+        return !deadline.isBefore(today) && !deadline.isAfter(today.plusDays(windowDays));
+    }
+
+    /**
+     * Συγκεντρώνει σε μια λίστα τις εργασίες ενός τμήματος του ευρετηρίου.
+     *
+     * @param range το τμήμα του ευρετηρίου.
+     * @return οι εργασίες, ταξινομημένες κατά προθεσμία.
+     */
+    private static List<Task> collect(NavigableMap<Long, Set<Task>> range) {
+        List<Task> result = new ArrayList<>();
+        for (Set<Task> dayTasks : range.values()) {
+            result.addAll(dayTasks);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,183 @@
+package utils;
+
+import model.Task;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Η κλάση FilterCache κρατά τα αποτελέσματα των πιο πρόσφατων φίλτρων (LRU), ως σύνολα κωδικών
+ * εργασιών, με κλειδί την κανονικοποιημένη μορφή του φίλτρου. Κάθε αποτέλεσμα έχει την έκδοση
+ * (version) των εργασιών στην οποία αντιστοιχεί· η έκδοση αυξάνεται με κάθε μεταβολή μέσω του TaskStore.
+ * Αντί να ακυρώνονται, τα αποτελέσματα διορθώνονται σταδιακά: για κάθε εργασία που αλλάζει ελέγχεται
+ * μόνο αυτή η εργασία απέναντι στη συνθήκη κάθε αποτελέσματος. Έτσι το σύνολο που επιστρέφεται
+ * μένει σωστό όσο είναι στην cache και μπορεί να χρησιμοποιείται απευθείας από το predicate του πίνακα.
+ * Οι μέθοδοι είναι synchronized, επειδή τα φίλτρα υπολογίζονται στο νήμα του FilterPipeline.
+ */
+public class FilterCache implements TaskStore.Listener {
+
+    /** Το προκαθορισμένο πλήθος αποτελεσμάτων που κρατούνται */
+    public static final int DEFAULT_CAPACITY = Integer.getInteger("medialab.filterCacheSize", 64);
+
+    /** Το αποτέλεσμα ενός φίλτρου, με τη συνθήκη του για τη σταδιακή διόρθωση */
+    private static final class Entry {
+        private final Set<Long> taskIds;
+        private final Predicate<Task> matcher;
+        private long version;
+
+        private Entry(Set<Long> taskIds, Predicate<Task> matcher, long version) {
+            this.taskIds = taskIds;
+            this.matcher = matcher;
+            this.version = version;
+        }
+    }
+
+    private final Map<String, Entry> entries;
+    private long version;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Δημιουργεί μια κενή cache.
+     *
+     * @param capacity το μέγιστο πλήθος αποτελεσμάτων (τουλάχιστον 2, ώστε το αποτέλεσμα που
+     *                 εμφανίζεται να μην αφαιρείται όταν προστίθεται ένα νέο).
+     */
+    public FilterCache(int capacity) {
+        int limit = Math.max(2, capacity);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > limit) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Επιστρέφει το αποτέλεσμα ενός φίλτρου από την cache ή, αν δεν υπάρχει, το υπολογίζει και το αποθηκεύει.
+     * Αν οι εργασίες αλλάξουν όσο διαρκεί ο υπολογισμός, ο υπολογισμός επαναλαμβάνεται.
+     *
+     * @param key το κανονικοποιημένο κλειδί του φίλτρου.
+     * @param matcher ελέγχει αν μια μεμονωμένη εργασία περνά το φίλτρο.
+     * @param compute υπολογίζει τις εργασίες που περνούν το φίλτρο (εκτελείται χωρίς κλείδωμα).
+     * @return το σύνολο των κωδικών των εργασιών, που διορθώνεται με κάθε μεταβολή όσο είναι στην cache.
+     */
+    public Set<Long> get(String key, Predicate<Task> matcher, Supplier<Collection<Task>> compute) {
+        while (true) {
+            long computedAt;
+            synchronized (this) {
+                Entry entry = entries.get(key);
+                if (entry != null) {
+                    hits++;
+                    return entry.taskIds;
+                }
+                misses++;
+                computedAt = version;
+            }
+            Set<Long> taskIds = new HashSet<>();
+            for (Task task : compute.get()) {
+                taskIds.add(task.getId());
+            }
+            synchronized (this) {
+                if (computedAt == version) {
+                    entries.put(key, new Entry(taskIds, matcher, version));
+                    return taskIds;
+                }
+            }
+        }
+    }
+
+    /**
+     * Προσθέτει την εργασία σε κάθε αποτέλεσμα του οποίου τη συνθήκη ικανοποιεί.
+     *
+     * @param task η εργασία.
+     */
+    @Override
+    public synchronized void taskAdded(Task task) {
+        version++;
+        for (Entry entry : entries.values()) {
+            if (entry.matcher.test(task)) {
+                entry.taskIds.add(task.getId());
+            }
+            entry.version = version;
+        }
+    }
+
+    /**
+     * Αφαιρεί την εργασία από όλα τα αποτελέσματα.
+     *
+     * @param task η εργασία.
+     */
+    @Override
+    public synchronized void taskRemoved(Task task) {
+        version++;
+        for (Entry entry : entries.values()) {
+            entry.taskIds.remove(task.getId());
+            entry.version = version;
+        }
+    }
+
+    /**
+     * Αφαιρεί όλα τα αποτελέσματα (π.χ. όταν αλλάζει κάτι που δεν περνά από το TaskStore).
+     */
+    public synchronized void invalidateAll() {
+        version++;
+        entries.clear();
+    }
+
+    /**
+     * Επιστρέφει την τρέχουσα έκδοση των εργασιών, όπως τη μετρά η cache.
+     *
+     * @return η έκδοση.
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Επιστρέφει πόσες φορές ένα φίλτρο βρέθηκε στην cache.
+     *
+     * @return το πλήθος.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Επιστρέφει πόσες φορές ένα φίλτρο δεν βρέθηκε στην cache και υπολογίστηκε.
+     *
+     * @return το πλήθος.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Επιστρέφει πόσα αποτελέσματα αφαιρέθηκαν επειδή η cache γέμισε.
+     *
+     * @return το πλήθος.
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Επιστρέφει τα στατιστικά της cache σε μία γραμμή.
+     *
+     * @return τα στατιστικά.
+     */
+    @Override
+    public synchronized String toString() {
+        return "Filter cache: " + entries.size() + " entries, " + hits + " hits, " + misses + " misses, "
+            + evictions + " evictions, version " + version;
+    }
+}
@@ -0,0 +1,146 @@
+package utils;
+
+import javafx.application.Platform;
+import javafx.beans.property.ObjectProperty;
+import javafx.collections.transformation.FilteredList;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Η κλάση FilterPipeline υπολογίζει τα φίλτρα του πίνακα εργασιών σε δικό της νήμα.
+ * Κάθε αίτημα περιμένει ένα μικρό διάστημα (debounce), ώστε η γρήγορη πληκτρολόγηση να οδηγεί
+ * σε έναν μόνο υπολογισμό. Ένα νέο αίτημα ακυρώνει όσα εκκρεμούν, και το αποτέλεσμα ενός
+ * υπολογισμού που έχει ήδη ξεπεραστεί απορρίπτεται. Στο JavaFX thread γίνεται μόνο η αλλαγή του
+ * predicate της (μόνιμης) FilteredList και της σειράς ταξινόμησης.
+ *
+ * @param <T> ο τύπος των στοιχείων της λίστας.
+ */
+public class FilterPipeline<T> {
+
+    /** Το προκαθορισμένο διάστημα αναμονής πριν από τον υπολογισμό ενός φίλτρου */
+    public static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(Long.getLong("medialab.filterDebounceMillis", 250));
+
+    /**
+     * Το αποτέλεσμα του υπολογισμού ενός φίλτρου: το predicate και, προαιρετικά, η σειρά ταξινόμησης.
+     *
+     * @param <T> ο τύπος των στοιχείων της λίστας.
+     */
+    public static final class Result<T> {
+        private final Predicate<? super T> predicate;
+        private final Comparator<T> order;
+
+        /**
+         * Δημιουργεί ένα αποτέλεσμα.
+         *
+         * @param predicate το predicate ή null για εμφάνιση όλων των στοιχείων.
+         * @param order η σειρά ταξινόμησης ή null για την προκαθορισμένη σειρά.
+         */
+        public Result(Predicate<? super T> predicate, Comparator<T> order) {
+            this.predicate = predicate;
+            this.order = order;
+        }
+    }
+
+    private final FilteredList<T> view;
+    private final ObjectProperty<Comparator<T>> order;
+    private final Duration debounce;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "filter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** Ο αύξων αριθμός του πιο πρόσφατου αιτήματος· κάθε παλαιότερο αποτέλεσμα απορρίπτεται */
+    private final AtomicLong generation = new AtomicLong();
+
+    private ScheduledFuture<?> pending;
+
+    /**
+     * Δημιουργεί τη ροή φιλτραρίσματος.
+     *
+     * @param view η λίστα της οποίας το predicate αλλάζει.
+     * @param order η ιδιότητα στην οποία δημοσιεύεται η σειρά ταξινόμησης του αποτελέσματος.
+     * @param debounce το διάστημα αναμονής πριν από τον υπολογισμό.
+     */
+    public FilterPipeline(FilteredList<T> view, ObjectProperty<Comparator<T>> order, Duration debounce) {
+        this.view = view;
+        this.order = order;
+        this.debounce = debounce;
+    }
+
+    /**
+     * Προγραμματίζει τον υπολογισμό ενός φίλτρου μετά το διάστημα αναμονής, ακυρώνοντας όσα εκκρεμούν.
+     *
+     * @param evaluation ο υπολογισμός του φίλτρου (εκτελείται εκτός του JavaFX thread).
+     */
+    public void submit(Supplier<Result<T>> evaluation) {
+        schedule(evaluation, debounce);
+    }
+
+    /**
+     * Προγραμματίζει τον άμεσο υπολογισμό ενός φίλτρου (π.χ. από το κουμπί αναζήτησης),
+     * ακυρώνοντας όσα εκκρεμούν.
+     *
+     * @param evaluation ο υπολογισμός του φίλτρου (εκτελείται εκτός του JavaFX thread).
+     */
+    public void submitNow(Supplier<Result<T>> evaluation) {
+        schedule(evaluation, Duration.ZERO);
+    }
+
+    /**
+     * Σταματά το νήμα της ροής· τα αιτήματα που εκκρεμούν απορρίπτονται.
+     */
+    public void shutdown() {
+        generation.incrementAndGet();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Ακυρώνει το αίτημα που περιμένει και προγραμματίζει το νέο.
+     *
+     * @param evaluation ο υπολογισμός του φίλτρου.
+     * @param delay η καθυστέρηση πριν από τον υπολογισμό.
+     */
+    private synchronized void schedule(Supplier<Result<T>> evaluation, Duration delay) {
+        long requested = generation.incrementAndGet();
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        pending = executor.schedule(() -> evaluate(requested, evaluation), delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Υπολογίζει ένα φίλτρο και, αν δεν έχει ξεπεραστεί από νεότερο αίτημα, το δημοσιεύει στο JavaFX thread.
+     *
+     * @param requested ο αύξων αριθμός του αιτήματος.
+     * @param evaluation ο υπολογισμός του φίλτρου.
+     */
+    private void evaluate(long requested, Supplier<Result<T>> evaluation) {
+        if (requested != generation.get()) {
+            return;
+        }
+        Result<T> result;
+        try {
+            result = evaluation.get();
+        } catch (RuntimeException e) {
+            System.out.println("Error filtering tasks");
+            e.printStackTrace();
+            return;
+        }
+        if (requested != generation.get()) {
+            return;
+        }
+        Platform.runLater(() -> {
+            if (requested == generation.get()) {
+                order.set(result.order);
+                view.setPredicate(result.predicate);
+            }
+        });
+    }
+}
@@ -0,0 +1,574 @@
+package utils;
+
+import model.Task;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Η κλάση FullTextIndex είναι ένα ανεστραμμένο ευρετήριο πλήρους κειμένου πάνω στον τίτλο και
+ * την περιγραφή των εργασιών, με κατάταξη BM25. Για κάθε λέξη κρατά τις εργασίες (κατά κωδικό)
+ * που την περιέχουν και τις θέσεις της μέσα σε αυτές, ώστε να υποστηρίζονται και ερωτήματα φράσης.
+ * Το λεξικό των λέξεων είναι ταξινομημένο, οπότε τα ερωτήματα προθέματος είναι ερωτήματα εύρους.
+ * <p>
+ * Σύνταξη ερωτημάτων: λέξεις χωρισμένες με κενά (πρέπει να υπάρχουν όλες), φράσεις σε εισαγωγικά
+ * ("weekly report") και προθέματα με αστερίσκο (rep*). Οι λέξεις του τίτλου μετράνε διπλά.
+ * <p>
+ * Το ευρετήριο ενημερώνεται από το TaskStore και αποθηκεύεται σε δυαδική μορφή δίπλα στα αρχεία JSON.
+ * Για κάθε εργασία κρατείται ένα αποτύπωμα (hash) του τίτλου και της περιγραφής, ώστε κατά τη φόρτωση
+ * να ξαναδεικτοδοτούνται μόνο οι εργασίες που άλλαξαν από την τελευταία αποθήκευση.
+ * Οι δημόσιες μέθοδοι είναι synchronized, επειδή οι αναζητήσεις εκτελούνται στο νήμα του FilterPipeline.
+ */
+public class FullTextIndex implements TaskStore.Listener {
+    /** Η αρχή των θέσεων της περιγραφής (οι θέσεις του τίτλου είναι μικρότερες) */
+    private static final int DESCRIPTION_OFFSET = 1 << 20;
+    /** Το βάρος των λέξεων του τίτλου */
+    private static final int TITLE_BOOST = 2;
+    /** Οι παράμετροι του BM25 */
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    /** Το μέγιστο πλήθος λέξεων στις οποίες επεκτείνεται ένα πρόθεμα */
+    private static final int MAX_PREFIX_EXPANSIONS = 512;
+    /** Η αναγνώριση και η έκδοση του δυαδικού αρχείου */
+    private static final int MAGIC = 0x4D4C4654;
+    private static final int VERSION = 1;
+
+    /** Λέξη → (κωδικός εργασίας → ταξινομημένες θέσεις της λέξης) */
+    private final TreeMap<String, Map<Long, int[]>> postings = new TreeMap<>();
+    /** Τα στοιχεία κάθε δεικτοδοτημένης εργασίας ανά κωδικό */
+    private final Map<Long, Document> documents = new HashMap<>();
+    /** Το άθροισμα των (σταθμισμένων) μηκών όλων των εργασιών */
+    private long totalLength;
+
+    /**
+     * Τα στοιχεία μιας δεικτοδοτημένης εργασίας.
+     */
+    private static final class Document {
+        private final long fingerprint;
+        private final int length;
+        private final List<String> terms;
+
+        private Document(long fingerprint, int length, List<String> terms) {
+            this.fingerprint = fingerprint;
+            this.length = length;
+            this.terms = terms;
+        }
+    }
+
+    /**
+     * Ένα αποτέλεσμα αναζήτησης: ο κωδικός της εργασίας και η βαθμολογία της.
+     */
+    public static final class Hit {
+        private final long taskId;
+        private final double score;
+
+        private Hit(long taskId, double score) {
+            this.taskId = taskId;
+            this.score = score;
+        }
+
+        /**
+         * Επιστρέφει τον κωδικό της εργασίας.
+         *
+         * @return ο κωδικός.
+         */
+        public long getTaskId() {
+            return taskId;
+        }
+
+        /**
+         * Επιστρέφει τη βαθμολογία BM25 της εργασίας για το ερώτημα.
+         *
+         * @return η βαθμολογία.
+         */
+        public double getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * Δημιουργεί ένα κενό ευρετήριο.
+     */
+    public FullTextIndex() {
+    }
+
+    /**
+     * Συγχρονίζει το ευρετήριο με τις δοσμένες εργασίες: δεικτοδοτεί όσες λείπουν ή άλλαξαν
+     * (με βάση το αποτύπωμά τους) και αφαιρεί όσες δεν υπάρχουν πια.
+     *
+     * @param tasks οι εργασίες της εφαρμογής.
+     * @return το πλήθος των εργασιών που χρειάστηκε να δεικτοδοτηθούν ξανά.
+     */
+    public synchronized int synchronize(Collection<Task> tasks) {
+        Set<Long> present = new HashSet<>(tasks.size() * 2);
+        int reindexed = 0;
+        for (Task task : tasks) {
+            present.add(task.getId());
+            Document document = documents.get(task.getId());
+            if (document == null || document.fingerprint != fingerprint(task)) {
+                taskAdded(task);
+                reindexed++;
+            }
+        }
+        if (present.size() != documents.size()) {
+            for (Long id : new ArrayList<>(documents.keySet())) {
+                if (!present.contains(id)) {
+                    removeDocument(id);
+                }
+            }
+        }
+        return reindexed;
+    }
+
+    /**
+     * Δεικτοδοτεί μια εργασία (αντικαθιστώντας τυχόν προηγούμενη δεικτοδότησή της).
+     *
+     * @param task η εργασία.
+     */
+    @Override
+    public synchronized void taskAdded(Task task) {
+        removeDocument(task.getId());
+        Map<String, List<Integer>> positions = new LinkedHashMap<>();
+        List<String> titleTokens = TextAnalyzer.tokenize(task.getTitle());
+        List<String> descriptionTokens = TextAnalyzer.tokenize(task.getDescription());
+        for (int i = 0; i < titleTokens.size(); i++) {
+            positions.computeIfAbsent(titleTokens.get(i), _ -> new ArrayList<>(2)).add(i);
+        }
+        for (int i = 0; i < descriptionTokens.size(); i++) {
+            positions.computeIfAbsent(descriptionTokens.get(i), _ -> new ArrayList<>(2)).add(DESCRIPTION_OFFSET + i);
+        }
+        for (Map.Entry<String, List<Integer>> entry : positions.entrySet()) {
+            int[] termPositions = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+            postings.computeIfAbsent(entry.getKey(), _ -> new HashMap<>(4)).put(task.getId(), termPositions);
+        }
+        int length = titleTokens.size() * TITLE_BOOST + descriptionTokens.size();
+        documents.put(task.getId(), new Document(fingerprint(task), length, new ArrayList<>(positions.keySet())));
+        totalLength += length;
+    }
+
+    /**
+     * Αφαιρεί μια εργασία από το ευρετήριο.
+     *
+     * @param task η εργασία.
+     */
+    @Override
+    public synchronized void taskRemoved(Task task) {
+        removeDocument(task.getId());
+    }
+
+    /**
+     * Επιστρέφει το πλήθος των δεικτοδοτημένων εργασιών.
+     *
+     * @return το πλήθος.
+     */
+    public synchronized int size() {
+        return documents.size();
+    }
+
+    /**
+     * Εκτελεί ένα ερώτημα και επιστρέφει τις εργασίες που ταιριάζουν σε όλους τους όρους του,
+     * ταξινομημένες κατά φθίνουσα βαθμολογία BM25.
+     *
+     * @param query το ερώτημα (λέξεις, "φράσεις" και προθέματα*).
+     * @return τα αποτελέσματα, ή κενή λίστα αν το ερώτημα δεν έχει όρους.
+     */
+    public synchronized List<Hit> search(String query) {
+        Map<Long, Double> scores = null;
+        for (Clause clause : parse(query)) {
+            Map<Long, Double> clauseScores = evaluate(clause);
+            if (scores == null) {
+                scores = clauseScores;
+            } else {
+                // Τομή: διατηρούνται μόνο οι εργασίες που ταιριάζουν σε όλους τους όρους
+                Map<Long, Double> smaller = scores.size() <= clauseScores.size() ? scores : clauseScores;
+                Map<Long, Double> larger = smaller == scores ? clauseScores : scores;
+                Map<Long, Double> merged = new HashMap<>(smaller.size() * 2);
+                for (Map.Entry<Long, Double> entry : smaller.entrySet()) {
+                    Double other = larger.get(entry.getKey());
+                    if (other != null) {
+                        merged.put(entry.getKey(), entry.getValue() + other);
+                    }
+                }
+                scores = merged;
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        List<Hit> hits = new ArrayList<>();
+        if (scores != null) {
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                hits.add(new Hit(entry.getKey(), entry.getValue()));
+            }
+            hits.sort(Comparator.comparingDouble(Hit::getScore).reversed());
+        }
+        return hits;
+    }
+
+    /**
+     * Γράφει το ευρετήριο σε δυαδική μορφή.
+     *
+     * @param out η ροή εξόδου.
+     * @throws IOException αν αποτύχει η εγγραφή.
+     */
+    public synchronized void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(documents.size());
+        for (Map.Entry<Long, Document> entry : documents.entrySet()) {
+            out.writeLong(entry.getKey());
+            out.writeLong(entry.getValue().fingerprint);
+            out.writeInt(entry.getValue().length);
+        }
+        out.writeInt(postings.size());
+        for (Map.Entry<String, Map<Long, int[]>> entry : postings.entrySet()) {
+            out.writeUTF(entry.getKey());
+            writeVarInt(out, entry.getValue().size());
+            for (Map.Entry<Long, int[]> posting : entry.getValue().entrySet()) {
+                out.writeLong(posting.getKey());
+                int[] positions = posting.getValue();
+                writeVarInt(out, positions.length);
+                int previous = 0;
+                for (int position : positions) {
+                    writeVarInt(out, position - previous);
+                    previous = position;
+                }
+            }
+        }
+    }
+
+    /**
+     * Διαβάζει ένα ευρετήριο που γράφτηκε με τη writeTo. Κάθε πλήθος ελέγχεται πριν από τη δέσμευση
+     * μνήμης, ώστε ένα κατεστραμμένο αρχείο να απορρίπτεται αντί να προκαλεί τεράστιες δεσμεύσεις.
+     * Τα bytes που απομένουν προκύπτουν από το available() της ροής, που για αρχεία είναι ακριβές.
+     *
+     * @param in η ροή εισόδου.
+     * @param maxDocuments το μέγιστο πλήθος εγγράφων (το πλήθος των εργασιών).
+     * @return το ευρετήριο.
+     * @throws IOException αν αποτύχει η ανάγνωση ή το αρχείο δεν είναι έγκυρο.
+     */
+    public static FullTextIndex readFrom(DataInputStream in, int maxDocuments) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Unsupported search index format");
+        }
+        FullTextIndex index = new FullTextIndex();
+        // Κάθε έγγραφο πιάνει 20 bytes στην κεφαλίδα
+        int documentCount = checkCount(in.readInt(), Math.min(maxDocuments, in.available() / 20), "document");
+        Map<Long, long[]> header = new HashMap<>(documentCount * 2);
+        Map<Long, List<String>> termsByDocument = new HashMap<>(documentCount * 2);
+        for (int i = 0; i < documentCount; i++) {
+            long id = in.readLong();
+            long fingerprint = in.readLong();
+            int length = checkCount(in.readInt(), Integer.MAX_VALUE, "document length");
+            header.put(id, new long[] {fingerprint, length});
+            termsByDocument.put(id, new ArrayList<>());
+        }
+        // Κάθε όρος πιάνει τουλάχιστον 3 bytes και κάθε εμφάνιση τουλάχιστον 9
+        int termCount = checkCount(in.readInt(), in.available() / 3, "term");
+        for (int i = 0; i < termCount; i++) {
+            String term = in.readUTF();
+            int postingCount = checkCount(readVarInt(in), Math.min(documentCount, in.available() / 9), "posting");
+            Map<Long, int[]> termPostings = new HashMap<>(Math.max(4, postingCount * 2));
+            for (int j = 0; j < postingCount; j++) {
+                long id = in.readLong();
+                int[] positions = new int[checkCount(readVarInt(in), in.available(), "position")];
+                int previous = 0;
+                for (int k = 0; k < positions.length; k++) {
+                    previous += checkCount(readVarInt(in), Integer.MAX_VALUE - previous, "position delta");
+                    positions[k] = previous;
+                }
+                termPostings.put(id, positions);
+                List<String> documentTerms = termsByDocument.get(id);
+                if (documentTerms == null) {
+                    throw new IOException("Search index references unknown task " + id);
+                }
+                documentTerms.add(term);
+            }
+            index.postings.put(term, termPostings);
+        }
+        for (Map.Entry<Long, long[]> entry : header.entrySet()) {
+            int length = (int) entry.getValue()[1];
+            index.documents.put(entry.getKey(), new Document(entry.getValue()[0], length, termsByDocument.get(entry.getKey())));
+            index.totalLength += length;
+        }
+        return index;
+    }
+
+    /**
+     * Ένας όρος ερωτήματος: μια λέξη, μια φράση ή ένα πρόθεμα.
+     */
+    private static final class Clause {
+        private final List<String> terms;
+        private final boolean prefix;
+
+        private Clause(List<String> terms, boolean prefix) {
+            this.terms = terms;
+            this.prefix = prefix;
+        }
+    }
+
+    /**
+     * Χωρίζει ένα ερώτημα σε όρους. Το κείμενο μέσα σε εισαγωγικά γίνεται φράση,
+     * μια λέξη που τελειώνει σε * γίνεται πρόθεμα και κάθε άλλη λέξη γίνεται απλός όρος.
+     *
+     * @param query το ερώτημα.
+     * @return οι όροι του ερωτήματος.
+     */
+    private static List<Clause> parse(String query) {
+        List<Clause> clauses = new ArrayList<>();
+        if (query == null) {
+            return clauses;
+        }
+        int i = 0;
+        while (i < query.length()) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '"') {
+                int end = query.indexOf('"', i + 1);
+                if (end < 0) {
+                    end = query.length();
+                }
+                List<String> phrase = TextAnalyzer.tokenize(query.substring(i + 1, end));
+                if (!phrase.isEmpty()) {
+                    clauses.add(new Clause(phrase, false));
+                }
+                i = end + 1;
+            } else {
+                int end = i;
+                while (end < query.length() && !Character.isWhitespace(query.charAt(end)) && query.charAt(end) != '"') {
+                    end++;
+                }
+                String word = query.substring(i, end);
+                boolean prefix = word.endsWith("*");
+                List<String> tokens = TextAnalyzer.tokenize(prefix ? word.substring(0, word.length() - 1) : word);
+                for (int t = 0; t < tokens.size(); t++) {
+                    boolean last = t == tokens.size() - 1;
+                    clauses.add(new Clause(List.of(tokens.get(t)), prefix && last));
+                }
+                i = end;
+            }
+        }
+        return clauses;
+    }
+
+    /**
+     * Υπολογίζει τις βαθμολογίες των εργασιών που ταιριάζουν σε έναν όρο.
+     *
+     * @param clause ο όρος.
+     * @return κωδικός εργασίας → βαθμολογία.
+     */
+    private Map<Long, Double> evaluate(Clause clause) {
+        Map<Long, Double> scores = new HashMap<>();
+        if (clause.prefix) {
+            String prefix = clause.terms.get(0);
+            int expansions = 0;
+            for (Map.Entry<String, Map<Long, int[]>> entry
+                    : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, true).entrySet()) {
+                if (++expansions > MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                Map<Long, int[]> termPostings = entry.getValue();
+                for (Map.Entry<Long, int[]> posting : termPostings.entrySet()) {
+                    double score = bm25(weightedFrequency(posting.getValue()), termPostings.size(), posting.getKey());
+                    scores.merge(posting.getKey(), score, Double::sum);
+                }
+            }
+        } else if (clause.terms.size() == 1) {
+            Map<Long, int[]> termPostings = postings.get(clause.terms.get(0));
+            if (termPostings != null) {
+                for (Map.Entry<Long, int[]> posting : termPostings.entrySet()) {
+                    scores.put(posting.getKey(), bm25(weightedFrequency(posting.getValue()), termPostings.size(), posting.getKey()));
+                }
+            }
+        } else {
+            Map<Long, Integer> frequencies = matchPhrase(clause.terms);
+            for (Map.Entry<Long, Integer> entry : frequencies.entrySet()) {
+                scores.put(entry.getKey(), bm25(entry.getValue(), frequencies.size(), entry.getKey()));
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Βρίσκει τις εργασίες που περιέχουν τις δοσμένες λέξεις σε διαδοχικές θέσεις.
+     *
+     * @param terms οι λέξεις της φράσης.
+     * @return κωδικός εργασίας → σταθμισμένο πλήθος εμφανίσεων της φράσης.
+     */
+    private Map<Long, Integer> matchPhrase(List<String> terms) {
+        Map<Long, Integer> frequencies = new HashMap<>();
+        List<Map<Long, int[]>> lists = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Map<Long, int[]> termPostings = postings.get(term);
+            if (termPostings == null) {
+                return frequencies;
+            }
+            lists.add(termPostings);
+        }
+        Map<Long, int[]> smallest = lists.get(0);
+        for (Map<Long, int[]> list : lists) {
+            if (list.size() < smallest.size()) {
+                smallest = list;
+            }
+        }
+        candidates:
+        for (Long id : smallest.keySet()) {
+            int[][] positions = new int[terms.size()][];
+            for (int t = 0; t < terms.size(); t++) {
+                positions[t] = lists.get(t).get(id);
+                if (positions[t] == null) {
+                    continue candidates;
+                }
+            }
+            int frequency = 0;
+            occurrences:
+            for (int start : positions[0]) {
+                for (int t = 1; t < terms.size(); t++) {
+                    if (Arrays.binarySearch(positions[t], start + t) < 0) {
+                        continue occurrences;
+                    }
+                }
+                frequency += start < DESCRIPTION_OFFSET ? TITLE_BOOST : 1;
+            }
+            if (frequency > 0) {
+                frequencies.put(id, frequency);
+            }
+        }
+        return frequencies;
+    }
+
+    /**
+     * Επιστρέφει τη σταθμισμένη συχνότητα μιας λέξης σε μια εργασία (οι εμφανίσεις στον τίτλο μετράνε διπλά).
+     *
+     * @param positions οι θέσεις της λέξης.
+     * @return η σταθμισμένη συχνότητα.
+     */
+    private static int weightedFrequency(int[] positions) {
+        int frequency = 0;
+        for (int position : positions) {
+            frequency += position < DESCRIPTION_OFFSET ? TITLE_BOOST : 1;
+        }
+        return frequency;
+    }
+
+    /**
+     * Υπολογίζει τη βαθμολογία BM25 ενός όρου για μια εργασία.
+     *
+     * @param frequency η (σταθμισμένη) συχνότητα του όρου στην εργασία.
+     * @param documentFrequency το πλήθος των εργασιών που περιέχουν τον όρο.
+     * @param id ο κωδικός της εργασίας.
+     * @return η βαθμολογία.
+     */
+    private double bm25(int frequency, int documentFrequency, long id) {
+        int n = documents.size();
+        double idf = Math.log(1 + (n - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        double averageLength = n == 0 ? 1 : Math.max(1.0, (double) totalLength / n);
+        Document document = documents.get(id);
+        int length = document == null ? 0 : document.length;
+        double norm = K1 * (1 - B + B * length / averageLength);
+        return idf * frequency * (K1 + 1) / (frequency + norm);
+    }
+
+    /**
+     * Αφαιρεί μια εργασία από τις λίστες όλων των λέξεών της.
+     *
+     * @param id ο κωδικός της εργασίας.
+     */
+    private void removeDocument(long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        totalLength -= document.length;
+        for (String term : document.terms) {
+            Map<Long, int[]> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(id);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    /**
+     * Υπολογίζει ένα αποτύπωμα 64 bit (FNV-1a) του τίτλου και της περιγραφής μιας εργασίας.
+     *
+     * @param task η εργασία.
+     * @return το αποτύπωμα.
+     */
+    private static long fingerprint(Task task) {
+        long hash = 0xcbf29ce484222325L;
+        String text = task.getTitle() + '\u0000' + task.getDescription();
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Γράφει έναν μη αρνητικό ακέραιο με μεταβλητό πλήθος bytes (7 bits ανά byte).
+     *
+     * @param out η ροή εξόδου.
+     * @param value η τιμή.
+     * @throws IOException αν αποτύχει η εγγραφή.
+     */
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Ελέγχει ότι ένα πλήθος που διαβάστηκε από το αρχείο είναι μέσα στα όρια.
+     *
+     * @param count το πλήθος.
+     * @param limit το μέγιστο επιτρεπτό πλήθος.
+     * @param what τι μετρά το πλήθος, για το μήνυμα σφάλματος.
+     * @return το πλήθος.
+     * @throws IOException αν το πλήθος είναι αρνητικό ή μεγαλύτερο από το όριο.
+     */
+    private static int checkCount(int count, long limit, String what) throws IOException {
+        if (count < 0 || count > limit) {
+            throw new IOException("Invalid " + what + " count " + count + " in search index");
+        }
+        return count;
+    }
+
+    /**
+     * Διαβάζει έναν ακέραιο που γράφτηκε με τη writeVarInt.
+     *
+     * @param in η ροή εισόδου.
+     * @return η τιμή.
+     * @throws IOException αν αποτύχει η ανάγνωση.
+     */
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (shift > 28) {
+                throw new IOException("Malformed number in search index");
+            }
+            b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,221 @@
+package utils;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+/**
+ * Μια ταξινομημένη skip list με πλάτη (widths) στους δείκτες κάθε επιπέδου, ώστε εκτός από
+ * την εισαγωγή και τη διαγραφή να υποστηρίζεται και η πρόσβαση κατά θέση, όλα σε O(log n).
+ * Κάθε δείκτης ξέρει πόσα στοιχεία του κατώτερου επιπέδου προσπερνά, οπότε η θέση ενός στοιχείου
+ * υπολογίζεται αθροίζοντας τα πλάτη κατά την αναζήτηση.
+ * Ο comparator πρέπει να ορίζει ολική διάταξη (π.χ. με τελικό κριτήριο τον κωδικό),
+ * ώστε ένα στοιχείο να βρίσκεται ξανά κατά τη διαγραφή.
+ *
+ * @param <T> ο τύπος των στοιχείων.
+ */
+final class IndexedSkipList<T> implements Iterable<T> {
+    /** Το μέγιστο πλήθος επιπέδων (αρκεί για 2^32 στοιχεία με πιθανότητα 1/2 ανά επίπεδο) */
+    private static final int MAX_LEVEL = 32;
+
+    /** Ένας κόμβος της λίστας, με έναν δείκτη και ένα πλάτος ανά επίπεδο */
+    private static final class Node<T> {
+        private final T value;
+        private final Node<T>[] next;
+        private final int[] width;
+
+        @SuppressWarnings("unchecked")
+        private Node(T value, int levels) {
+            this.value = value;
+            this.next = (Node<T>[]) new Node<?>[levels];
+            this.width = new int[levels];
+        }
+    }
+
+    private final Comparator<? super T> comparator;
+    private final Node<T> head = new Node<>(null, MAX_LEVEL);
+    private final SplittableRandom random = new SplittableRandom(0x5EED);
+    private int levels = 1;
+    private int size;
+    /** Ο κόμβος της τελευταίας get, ώστε η σειριακή πρόσβαση (i, i+1, ...) να κοστίζει O(1) */
+    private Node<T> cursor;
+    private int cursorIndex = -1;
+
+    /**
+     * Δημιουργεί μια κενή λίστα.
+     *
+     * @param comparator η (ολική) διάταξη των στοιχείων.
+     */
+    IndexedSkipList(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Εισάγει ένα στοιχείο στη θέση που του αντιστοιχεί.
+     *
+     * @param value το στοιχείο.
+     * @return η θέση του στοιχείου μετά την εισαγωγή.
+     */
+    @SuppressWarnings("unchecked")
+    int add(T value) {
+        Node<T>[] update = (Node<T>[]) new Node<?>[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node<T> x = head;
+        for (int i = levels - 1; i >= 0; i--) {
+            rank[i] = (i == levels - 1) ? 0 : rank[i + 1];
+            while (x.next[i] != null && comparator.compare(x.next[i].value, value) < 0) {
+                rank[i] += x.width[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int nodeLevels = randomLevels();
+        if (nodeLevels > levels) {
+            for (int i = levels; i < nodeLevels; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.width[i] = size;
+            }
+            levels = nodeLevels;
+        }
+
+        Node<T> node = new Node<>(value, nodeLevels);
+        for (int i = 0; i < nodeLevels; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.width[i] = update[i].width[i] - (rank[0] - rank[i]);
+            update[i].width[i] = (rank[0] - rank[i]) + 1;
+        }
+        for (int i = nodeLevels; i < levels; i++) {
+            update[i].width[i]++;
+        }
+        size++;
+        cursorIndex = -1;
+        return rank[0];
+    }
+
+    /**
+     * Διαγράφει ένα στοιχείο. Το στοιχείο πρέπει να συγκρίνεται όπως όταν εισήχθη.
+     *
+     * @param value το στοιχείο.
+     * @return η θέση που είχε το στοιχείο ή -1 αν δεν βρέθηκε.
+     */
+    @SuppressWarnings("unchecked")
+    int remove(T value) {
+        Node<T>[] update = (Node<T>[]) new Node<?>[MAX_LEVEL];
+        int index = 0;
+        Node<T> x = head;
+        for (int i = levels - 1; i >= 0; i--) {
+            while (x.next[i] != null && comparator.compare(x.next[i].value, value) < 0) {
+                index += x.width[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        Node<T> target = x.next[0];
+        if (target == null || comparator.compare(target.value, value) != 0) {
+            return -1;
+        }
+        for (int i = 0; i < levels; i++) {
+            if (update[i].next[i] == target) {
+                update[i].width[i] += target.width[i] - 1;
+                update[i].next[i] = target.next[i];
+            } else {
+                update[i].width[i]--;
+            }
+        }
+        while (levels > 1 && head.next[levels - 1] == null) {
+            levels--;
+        }
+        size--;
+        cursorIndex = -1;
+        return index;
+    }
+
+    /**
+     * Επιστρέφει το στοιχείο στη δοσμένη θέση. Αν ζητείται το στοιχείο μετά από αυτό της
+     * προηγούμενης κλήσης, ακολουθείται απευθείας ο δείκτης του κατώτερου επιπέδου.
+     *
+     * @param index η θέση.
+     * @return το στοιχείο.
+     */
+    T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        if (cursorIndex >= 0 && index == cursorIndex) {
+            return cursor.value;
+        }
+        if (cursorIndex >= 0 && index == cursorIndex + 1) {
+            cursor = cursor.next[0];
+            cursorIndex = index;
+            return cursor.value;
+        }
+        int target = index + 1;
+        int traversed = 0;
+        Node<T> x = head;
+        for (int i = levels - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.width[i] <= target) {
+                traversed += x.width[i];
+                x = x.next[i];
+            }
+            if (traversed == target) {
+                cursor = x;
+                cursorIndex = index;
+                return x.value;
+            }
+        }
+        throw new IllegalStateException("Corrupted skip list");
+    }
+
+    /**
+     * Επιστρέφει το πλήθος των στοιχείων.
+     *
+     * @return το πλήθος.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Διατρέχει τα στοιχεία με τη σειρά τους, μέσω του κατώτερου επιπέδου (O(1) ανά στοιχείο).
+     *
+     * @return ο iterator.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private Node<T> current = head.next[0];
+
+            @Override
+            public boolean hasNext() {
+                return current != null;
+            }
+
+            @Override
+            public T next() {
+                if (current == null) {
+                    throw new NoSuchElementException();
+                }
+                T value = current.value;
+                current = current.next[0];
+                return value;
+            }
+        };
+    }
+
+    /**
+     * Επιλέγει τυχαία το πλήθος επιπέδων ενός νέου κόμβου (πιθανότητα 1/2 για κάθε επιπλέον επίπεδο).
+     *
+     * @return το πλήθος επιπέδων.
+     */
+    private int randomLevels() {
+        int result = 1;
+        while (result < MAX_LEVEL && random.nextBoolean()) {
+            result++;
+        }
+        return result;
+    }
+}
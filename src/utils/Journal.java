@@ -0,0 +1,632 @@
+package utils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import model.Category;
+import model.Priority;
+import model.Reminder;
+import model.Task;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Η κλάση Journal υλοποιεί ένα append-only ημερολόγιο μεταβολών (write-ahead journal).
+ * Κάθε προσθήκη, αλλαγή ή διαγραφή στις λίστες tasks, categories, priorities και reminders
+ * καταγράφεται ως μια μικρή εγγραφή JSON σε μία γραμμή του αρχείου journal.log.
+ *
+ * Οι εγγραφές γράφονται από ξεχωριστό νήμα με group commit: όσες εγγραφές έχουν συσσωρευτεί
+ * γράφονται μαζί και ακολουθεί ένα μόνο fsync. Κατά την εκκίνηση το journal εφαρμόζεται
+ * πάνω στο τελευταίο στιγμιότυπο του DataManager. Όταν το αρχείο ξεπεράσει ένα όριο μεγέθους,
+ * ζητείται συμπύκνωση (compaction) στο παρασκήνιο μέσω του compaction trigger: αποθηκεύεται νέο
+ * στιγμιότυπο, του οποίου το manifest (γραμμένο τελευταίο) κρατά το sequence που περιέχει,
+ * και αφαιρούνται οι εγγραφές που καλύπτονται από αυτό.
+ *
+ * Οι εγγραφές αναφέρονται στα αντικείμενα με τον κωδικό τους: PUT (αντικατάσταση ή προσθήκη) και
+ * DELETE (αφαίρεση αν υπάρχει). Έτσι η επανάληψη μιας εγγραφής που περιέχεται ήδη στο στιγμιότυπο
+ * δεν αλλάζει το αποτέλεσμα, ακόμα και αν ένα crash διέκοψε την αποθήκευση του στιγμιότυπου.
+ * Η σειρά των στοιχείων στις λίστες δεν καταγράφεται. Οι αλλαγές πεδίων ενός αντικειμένου
+ * πρέπει να δηλώνονται με list.set(index, item).
+ */
+public class Journal {
+
+    /**
+     * Τα είδη οντοτήτων που καταγράφονται στο journal.
+     */
+    public enum Entity {
+        TASK(Task.class, item -> ((Task) item).getId()),
+        CATEGORY(Category.class, item -> ((Category) item).getId()),
+        PRIORITY(Priority.class, item -> ((Priority) item).getId()),
+        REMINDER(Reminder.class, item -> ((Reminder) item).getId());
+
+        private final Class<?> type;
+        private final ToLongFunction<Object> key;
+
+        Entity(Class<?> type, ToLongFunction<Object> key) {
+            this.type = type;
+            this.key = key;
+        }
+    }
+
+    /** Το όνομα του αρχείου του journal */
+    private static final String JOURNAL_FILE = "journal.log";
+    /** Το προκαθορισμένο όριο μεγέθους (σε bytes) πάνω από το οποίο γίνεται συμπύκνωση */
+    private static final long DEFAULT_COMPACTION_THRESHOLD = 8L * 1024 * 1024;
+    /** Ο χρόνος που περιμένει ο writer για να μαζέψει περισσότερες εγγραφές σε ένα commit */
+    private static final long GROUP_COMMIT_WINDOW_MS = 5;
+
+    private static final String OP_PUT = "PUT";
+    private static final String OP_DELETE = "DELETE";
+
+    private final File file;
+    private final long compactionThreshold;
+    private final Gson gson = DataManager.gson();
+    private final Map<Entity, ObservableList<?>> lists = new EnumMap<>(Entity.class);
+    private final BlockingQueue<PendingRecord> queue = new LinkedBlockingQueue<>();
+    private final Object fileLock = new Object();
+
+    private FileChannel channel;
+    private Thread writer;
+    private volatile boolean running;
+    private volatile Runnable compactionTrigger;
+
+    /** Το τελευταίο sequence που έχει ανατεθεί (μόνο από το JavaFX thread) */
+    private volatile long lastSequence;
+    /** Το sequence μέχρι το οποίο έχουν αφαιρεθεί οι εγγραφές από το αρχείο */
+    private long truncatedSequence;
+    /** Το τελευταίο sequence που έχει καταγραφεί στον δίσκο με fsync */
+    private long durableSequence;
+    /** Το τελευταίο sequence που έχει μπει στην ουρά του νήματος εγγραφής */
+    private long enqueuedSequence;
+
+    /**
+     * Μια εγγραφή που περιμένει στην ουρά, μαζί με το sequence της.
+     */
+    private static final class PendingRecord {
+        private final long sequence;
+        private final String line;
+
+        private PendingRecord(long sequence, String line) {
+            this.sequence = sequence;
+            this.line = line;
+        }
+    }
+
+    /**
+     * Δημιουργεί ένα journal στον φάκελο δεδομένων του DataManager.
+     * Το όριο συμπύκνωσης μπορεί να οριστεί με το system property medialab.journal.compactBytes.
+     */
+    public Journal() {
+        this(DataManager.dataFile(JOURNAL_FILE), Long.getLong("medialab.journal.compactBytes", DEFAULT_COMPACTION_THRESHOLD));
+    }
+
+    /**
+     * Δημιουργεί ένα journal με το δοσμένο αρχείο και όριο συμπύκνωσης.
+     *
+     * @param file το αρχείο του journal.
+     * @param compactionThreshold το όριο μεγέθους σε bytes για τη συμπύκνωση.
+     */
+    public Journal(File file, long compactionThreshold) {
+        this.file = file;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Συνδέει μια λίστα με ένα είδος οντότητας. Πρέπει να καλείται πριν από τα replay() και start().
+     *
+     * @param entity το είδος της οντότητας.
+     * @param list η λίστα που περιέχει τις οντότητες αυτού του είδους.
+     */
+    public void bind(Entity entity, ObservableList<?> list) {
+        lists.put(entity, list);
+    }
+
+    /**
+     * Ορίζει την ενέργεια που ζητά συμπύκνωση όταν το journal ξεπεράσει το όριο μεγέθους.
+     * Καλείται από το νήμα εγγραφής, οπότε πρέπει απλώς να προγραμματίζει τη συμπύκνωση
+     * (π.χ. AutosaveService::requestSave) και όχι να την εκτελεί.
+     *
+     * @param compactionTrigger η ενέργεια που ζητά συμπύκνωση.
+     */
+    public void setCompactionTrigger(Runnable compactionTrigger) {
+        this.compactionTrigger = compactionTrigger;
+    }
+
+    /**
+     * Εφαρμόζει τις εγγραφές του journal που δεν καλύπτονται από το στιγμιότυπο πάνω στις συνδεδεμένες λίστες.
+     * Οι κωδικοί των αντικειμένων των λιστών πρέπει να έχουν ήδη ανατεθεί (DataManager.assignIds).
+     * Αν μια γραμμή είναι μισογραμμένη (π.χ. λόγω crash) ή δεν μπορεί να εφαρμοστεί, η ανάγνωση σταματά εκεί,
+     * οι γραμμές από εκεί και πέρα μεταφέρονται στο αρχείο .rejected και το journal περικόπτεται
+     * στο τελευταίο έγκυρο σημείο.
+     *
+     * @return το πλήθος των εγγραφών που εφαρμόστηκαν.
+     */
+    public int replay() {
+        long checkpoint = DataManager.loadSnapshotSequence();
+        truncatedSequence = checkpoint;
+        lastSequence = checkpoint;
+        if (!file.exists()) {
+            return 0;
+        }
+
+        Map<Entity, Map<Long, Object>> states = new EnumMap<>(Entity.class);
+        int applied = 0;
+        long validLength = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    long seq;
+                    try {
+                        JsonObject record = JsonParser.parseString(line).getAsJsonObject();
+                        seq = record.get("seq").getAsLong();
+                        if (seq > checkpoint) {
+                            apply(record, states);
+                            applied++;
+                        }
+                    } catch (RuntimeException e) {
+                        System.out.println("Journal: stopping replay at unreadable record after sequence "
+                                + lastSequence + " in " + file + " (" + e + ")");
+                        break;
+                    }
+                    lastSequence = Math.max(lastSequence, seq);
+                }
+                validLength += line.getBytes(StandardCharsets.UTF_8).length + 1;
+            }
+        } catch (IOException e) {
+            System.out.println("Error replaying journal " + file);
+            e.printStackTrace();
+        }
+        commit(states);
+
+        if (validLength < file.length()) {
+            rejectFrom(validLength);
+        }
+        return applied;
+    }
+
+    /**
+     * Εφαρμόζει μία εγγραφή στην κατάσταση (κωδικός → αντικείμενο) της αντίστοιχης λίστας.
+     * Τα στοιχεία αποκωδικοποιούνται πριν από οποιαδήποτε αλλαγή, ώστε μια εγγραφή που
+     * αποτυγχάνει να μην εφαρμόζεται μισή.
+     *
+     * @param record η εγγραφή του journal.
+     * @param states οι καταστάσεις των λιστών που έχουν αλλάξει μέχρι τώρα.
+     * @throws JsonParseException αν η λειτουργία της εγγραφής δεν είναι γνωστή.
+     */
+    private void apply(JsonObject record, Map<Entity, Map<Long, Object>> states) {
+        Entity entity = Entity.valueOf(record.get("entity").getAsString());
+        if (!lists.containsKey(entity)) {
+            return;
+        }
+        String op = record.get("op").getAsString();
+        switch (op) {
+            case OP_PUT:
+                List<Object> items = decodeItems(entity, record.getAsJsonArray("items"));
+                Map<Long, Object> state = stateOf(entity, states);
+                for (Object item : items) {
+                    state.put(entity.key.applyAsLong(item), item);
+                }
+                break;
+            case OP_DELETE:
+                JsonArray keys = record.getAsJsonArray("keys");
+                List<Long> decoded = new ArrayList<>(keys.size());
+                for (JsonElement key : keys) {
+                    decoded.add(key.getAsLong());
+                }
+                stateOf(entity, states).keySet().removeAll(decoded);
+                break;
+            default:
+                throw new JsonParseException("unknown operation " + op);
+        }
+    }
+
+    /**
+     * Επιστρέφει την κατάσταση μιας λίστας κατά την επανάληψη, δημιουργώντας την από τη λίστα
+     * την πρώτη φορά. Η σειρά των υπαρχόντων στοιχείων διατηρείται και τα νέα προστίθενται στο τέλος.
+     *
+     * @param entity το είδος της οντότητας.
+     * @param states οι καταστάσεις των λιστών που έχουν αλλάξει μέχρι τώρα.
+     * @return η κατάσταση της λίστας.
+     */
+    private Map<Long, Object> stateOf(Entity entity, Map<Entity, Map<Long, Object>> states) {
+        Map<Long, Object> state = states.get(entity);
+        if (state == null) {
+            ObservableList<?> list = lists.get(entity);
+            state = new LinkedHashMap<>(list.size() * 2);
+            for (Object item : list) {
+                state.put(entity.key.applyAsLong(item), item);
+            }
+            states.put(entity, state);
+        }
+        return state;
+    }
+
+    /**
+     * Αντικαθιστά το περιεχόμενο των λιστών που άλλαξαν κατά την επανάληψη με την τελική τους κατάσταση.
+     *
+     * @param states οι καταστάσεις των λιστών που άλλαξαν.
+     */
+    @SuppressWarnings("unchecked")
+    private void commit(Map<Entity, Map<Long, Object>> states) {
+        for (Map.Entry<Entity, Map<Long, Object>> entry : states.entrySet()) {
+            ((ObservableList<Object>) lists.get(entry.getKey())).setAll(entry.getValue().values());
+        }
+    }
+
+    /**
+     * Μεταφέρει το τμήμα του journal από τη δοσμένη θέση και μετά στο αρχείο .rejected,
+     * ώστε να μη χαθεί, και περικόπτει το journal σε αυτή τη θέση.
+     *
+     * @param validLength το μήκος του έγκυρου τμήματος του journal.
+     */
+    private void rejectFrom(long validLength) {
+        File rejected = new File(file.getPath() + ".rejected");
+        try (FileChannel in = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileChannel out = FileChannel.open(rejected.toPath(), StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            long position = validLength;
+            long size = in.size();
+            while (position < size) {
+                position += in.transferTo(position, size - position, out);
+            }
+            out.force(true);
+            in.truncate(validLength);
+            System.out.println("Journal: moved " + (size - validLength) + " bytes that could not be replayed to " + rejected);
+        } catch (IOException e) {
+            System.out.println("Error truncating journal " + file);
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Μετατρέπει τα στοιχεία μιας εγγραφής σε αντικείμενα του είδους της οντότητας.
+     *
+     * @param entity το είδος της οντότητας.
+     * @param items ο πίνακας JSON με τα στοιχεία.
+     * @return η λίστα των αντικειμένων.
+     */
+    private List<Object> decodeItems(Entity entity, JsonArray items) {
+        List<Object> decoded = new ArrayList<>(items.size());
+        for (JsonElement item : items) {
+            decoded.add(gson.fromJson(item, entity.type));
+        }
+        return decoded;
+    }
+
+    /**
+     * Ξεκινά την καταγραφή: συνδέει τους listeners στις λίστες και εκκινεί το νήμα εγγραφής.
+     *
+     * @throws IOException αν δεν είναι δυνατό να ανοίξει το αρχείο του journal.
+     */
+    public void start() throws IOException {
+        channel = openChannel();
+        enqueuedSequence = lastSequence;
+        durableSequence = lastSequence;
+        running = true;
+        writer = new Thread(this::writeLoop, "journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        for (Map.Entry<Entity, ObservableList<?>> entry : lists.entrySet()) {
+            track(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Συνδέει έναν ListChangeListener που μετατρέπει κάθε αλλαγή της λίστας σε εγγραφές.
+     * Οι αντιμεταθέσεις δεν καταγράφονται, αφού δεν αλλάζουν το περιεχόμενο της λίστας.
+     *
+     * @param entity το είδος της οντότητας.
+     * @param list η λίστα που παρακολουθείται.
+     * @param <T> ο τύπος των στοιχείων της λίστας.
+     */
+    private <T> void track(Entity entity, ObservableList<T> list) {
+        list.addListener((ListChangeListener<T>) change -> {
+            while (change.next()) {
+                if (change.wasPermutated()) {
+                    continue;
+                }
+                if (change.wasRemoved()) {
+                    // Ένα στοιχείο που αντικαθίσταται από αντικείμενο με τον ίδιο κωδικό καλύπτεται από το PUT
+                    Set<Long> replaced = new HashSet<>();
+                    for (T item : change.getAddedSubList()) {
+                        replaced.add(entity.key.applyAsLong(item));
+                    }
+                    JsonArray keys = new JsonArray();
+                    for (T item : change.getRemoved()) {
+                        long key = entity.key.applyAsLong(item);
+                        if (!replaced.contains(key)) {
+                            keys.add(key);
+                        }
+                    }
+                    if (!keys.isEmpty()) {
+                        appendDelete(entity, keys);
+                    }
+                }
+                if (change.wasAdded()) {
+                    appendPut(entity, change.getAddedSubList());
+                }
+            }
+        });
+    }
+
+    /**
+     * Καταγράφει μια εγγραφή PUT, που προσθέτει τα στοιχεία ή αντικαθιστά όσα έχουν τον ίδιο κωδικό.
+     *
+     * @param entity το είδος της οντότητας.
+     * @param items τα στοιχεία της εγγραφής.
+     */
+    private void appendPut(Entity entity, List<?> items) {
+        JsonObject record = newRecord(entity, OP_PUT);
+        JsonArray array = new JsonArray(items.size());
+        for (Object item : items) {
+            array.add(gson.toJsonTree(item, entity.type));
+        }
+        record.add("items", array);
+        enqueue(record);
+    }
+
+    /**
+     * Καταγράφει μια εγγραφή DELETE για τα στοιχεία με τους δοσμένους κωδικούς.
+     *
+     * @param entity το είδος της οντότητας.
+     * @param keys οι κωδικοί των στοιχείων που αφαιρέθηκαν.
+     */
+    private void appendDelete(Entity entity, JsonArray keys) {
+        JsonObject record = newRecord(entity, OP_DELETE);
+        record.add("keys", keys);
+        enqueue(record);
+    }
+
+    /**
+     * Δημιουργεί τη βάση μιας εγγραφής με νέο sequence.
+     *
+     * @param entity το είδος της οντότητας.
+     * @param op η λειτουργία της εγγραφής.
+     * @return η νέα εγγραφή.
+     */
+    private JsonObject newRecord(Entity entity, String op) {
+        JsonObject record = new JsonObject();
+        record.addProperty("seq", ++lastSequence);
+        record.addProperty("op", op);
+        record.addProperty("entity", entity.name());
+        return record;
+    }
+
+    /**
+     * Βάζει μια εγγραφή στην ουρά του νήματος εγγραφής.
+     *
+     * @param record η εγγραφή.
+     */
+    private void enqueue(JsonObject record) {
+        long sequence = record.get("seq").getAsLong();
+        synchronized (this) {
+            enqueuedSequence = sequence;
+        }
+        queue.add(new PendingRecord(sequence, record.toString() + "\n"));
+    }
+
+    /**
+     * Ο βρόχος του νήματος εγγραφής. Μαζεύει όσες εγγραφές είναι διαθέσιμες, τις γράφει
+     * μαζί και κάνει ένα fsync για όλη την ομάδα (group commit).
+     */
+    private void writeLoop() {
+        List<PendingRecord> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingRecord first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Μικρό παράθυρο ώστε οι εγγραφές μιας ενέργειας να γραφτούν σε ένα commit
+                Thread.sleep(GROUP_COMMIT_WINDOW_MS);
+                queue.drainTo(batch);
+                long size = writeBatch(batch);
+                batch.clear();
+                Runnable trigger = compactionTrigger;
+                if (size > compactionThreshold && trigger != null) {
+                    trigger.run();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                System.out.println("Error writing journal " + file);
+                e.printStackTrace();
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Γράφει μια ομάδα εγγραφών και κάνει fsync.
+     *
+     * @param batch οι γραμμές προς εγγραφή.
+     * @return το νέο μέγεθος του αρχείου.
+     * @throws IOException αν αποτύχει η εγγραφή.
+     */
+    private long writeBatch(List<PendingRecord> batch) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (PendingRecord record : batch) {
+            builder.append(record.line);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(builder.toString().getBytes(StandardCharsets.UTF_8));
+        long size;
+        synchronized (fileLock) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            size = channel.size();
+        }
+        long seq = batch.get(batch.size() - 1).sequence;
+        synchronized (this) {
+            durableSequence = Math.max(durableSequence, seq);
+            notifyAll();
+        }
+        return size;
+    }
+
+    /**
+     * Αποθηκεύει το στιγμιότυπο μαζί με το manifest του και αφαιρεί από το journal όσες εγγραφές καλύπτονται.
+     * Αν η αποθήκευση αποτύχει, το journal μένει ανέπαφο.
+     * Το στιγμιότυπο και το sequence πρέπει να έχουν ληφθεί μαζί στο JavaFX thread.
+     *
+     * @param snapshot το στιγμιότυπο των λιστών.
+     * @param sequence το τελευταίο sequence που περιέχεται στο στιγμιότυπο.
+     * @throws IOException αν αποτύχει η αποθήκευση του στιγμιότυπου.
+     */
+    public void compact(DataSnapshot snapshot, long sequence) throws IOException {
+        snapshot.save(sequence);
+        truncateThrough(sequence);
+    }
+
+    /**
+     * Ξαναγράφει το journal κρατώντας μόνο τις εγγραφές μετά το δοσμένο sequence.
+     *
+     * @param sequence το sequence μέχρι το οποίο (συμπεριλαμβανομένου) αφαιρούνται οι εγγραφές.
+     */
+    private void truncateThrough(long sequence) {
+        awaitDurable(sequence);
+        synchronized (fileLock) {
+            if (sequence <= truncatedSequence) {
+                return;
+            }
+            try {
+                truncatedSequence = sequence;
+                if (!file.exists()) {
+                    return;
+                }
+                File tmp = new File(file.getPath() + ".tmp");
+                try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8);
+                     BufferedWriter out = Files.newBufferedWriter(tmp.toPath(), StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (!line.isBlank() && sequenceOf(line) > sequence) {
+                            out.write(line);
+                            out.write('\n');
+                        }
+                    }
+                }
+                if (channel != null) {
+                    channel.close();
+                }
+                DataManager.moveAtomically(tmp.toPath(), file.toPath());
+                if (running) {
+                    channel = openChannel();
+                }
+            } catch (IOException e) {
+                System.out.println("Error compacting journal " + file);
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Περιμένει μέχρι όλες οι εγγραφές που έχουν μπει στην ουρά να γραφτούν στον δίσκο.
+     */
+    public void sync() {
+        long target;
+        synchronized (this) {
+            target = enqueuedSequence;
+        }
+        awaitDurable(target);
+    }
+
+    /**
+     * Επιστρέφει το sequence μιας γραμμής του journal χωρίς πλήρη ανάλυση του JSON.
+     * Κάθε γραμμή ξεκινά με το πεδίο seq, αφού έτσι τη δημιουργεί η newRecord.
+     *
+     * @param line η γραμμή του journal.
+     * @return το sequence της γραμμής.
+     */
+    private static long sequenceOf(String line) {
+        int start = line.indexOf(':') + 1;
+        int end = line.indexOf(',', start);
+        return Long.parseLong(line.substring(start, end).trim());
+    }
+
+    /**
+     * Περιμένει μέχρι το δοσμένο sequence (ή όσες εγγραφές έχουν μπει στην ουρά) να γραφτεί στον δίσκο.
+     *
+     * @param sequence το sequence που πρέπει να γίνει durable.
+     */
+    private synchronized void awaitDurable(long sequence) {
+        long target = Math.min(sequence, enqueuedSequence);
+        while (running && durableSequence < target) {
+            try {
+                wait(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Επιστρέφει το τελευταίο sequence που έχει ανατεθεί σε εγγραφή.
+     * Πρέπει να καλείται στο JavaFX thread, μαζί με τη δημιουργία του αντίστοιχου στιγμιότυπου.
+     *
+     * @return το τελευταίο sequence.
+     */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Γράφει όλες τις εκκρεμείς εγγραφές και σταματά το νήμα εγγραφής.
+     */
+    public void close() {
+        sync();
+        running = false;
+        try {
+            if (writer != null) {
+                writer.join(1000);
+            }
+            synchronized (fileLock) {
+                if (channel != null) {
+                    channel.close();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Ανοίγει το αρχείο του journal για προσθήκη εγγραφών.
+     *
+     * @return το κανάλι του αρχείου.
+     * @throws IOException αν δεν είναι δυνατό να ανοίξει το αρχείο.
+     */
+    private FileChannel openChannel() throws IOException {
+        return FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,163 @@
+package utils;
+
+import model.Reminder;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Η κλάση NotificationCenter συγκεντρώνει τις υπενθυμίσεις που λήγουν και τις εμφανίζει χωρίς να
+ * μπλοκάρει τον controller ή το JavaFX thread. Οι υπενθυμίσεις μπαίνουν σε μια ουρά· όσες φτάνουν
+ * μέσα στο παράθυρο συγχώνευσης εμφανίζονται σε μία ειδοποίηση. Κάθε φορά εμφανίζεται το πολύ μία
+ * ειδοποίηση, και η επόμενη όχι νωρίτερα από το minInterval μετά την προηγούμενη· όσες υπενθυμίσεις
+ * φτάσουν στο μεταξύ περιμένουν στην ουρά και εμφανίζονται μαζί όταν κλείσει η τρέχουσα.
+ */
+public class NotificationCenter {
+
+    /** Το προκαθορισμένο παράθυρο συγχώνευσης */
+    public static final Duration DEFAULT_COALESCE_WINDOW =
+        Duration.ofMillis(Long.getLong("medialab.notificationCoalesceMillis", 500));
+
+    /** Το προκαθορισμένο ελάχιστο διάστημα μεταξύ δύο ειδοποιήσεων */
+    public static final Duration DEFAULT_MIN_INTERVAL =
+        Duration.ofSeconds(Long.getLong("medialab.notificationIntervalSeconds", 5));
+
+    private final Clock clock;
+    private final Duration coalesceWindow;
+    private final Duration minInterval;
+    private final Executor presenterExecutor;
+    private final Consumer<List<Reminder>> presenter;
+    private final ScheduledExecutorService timer;
+    /** Οι υπενθυμίσεις που περιμένουν να εμφανιστούν */
+    private final List<Reminder> queue = new ArrayList<>();
+    private ScheduledFuture<?> flush;
+    /** Αν εμφανίζεται αυτή τη στιγμή μια ειδοποίηση που δεν έχει κλείσει */
+    private boolean showing;
+    /** Η στιγμή (σε ms του ρολογιού) που εμφανίστηκε η τελευταία ειδοποίηση */
+    private long lastShown = Long.MIN_VALUE;
+    private long notifications;
+    private long reminders;
+
+    /**
+     * Δημιουργεί το κέντρο ειδοποιήσεων.
+     *
+     * @param clock το ρολόι για τον περιορισμό του ρυθμού.
+     * @param coalesceWindow το διάστημα μέσα στο οποίο οι υπενθυμίσεις συγχωνεύονται σε μία ειδοποίηση.
+     * @param minInterval το ελάχιστο διάστημα μεταξύ δύο ειδοποιήσεων.
+     * @param presenterExecutor ο Executor στον οποίο εμφανίζονται οι ειδοποιήσεις (π.χ. Platform::runLater).
+     * @param presenter εμφανίζει μια ειδοποίηση για τις υπενθυμίσεις της και δεν πρέπει να μπλοκάρει·
+     *                  όταν η ειδοποίηση κλείσει, πρέπει να κληθεί η dismissed.
+     */
+    public NotificationCenter(Clock clock, Duration coalesceWindow, Duration minInterval,
+                              Executor presenterExecutor, Consumer<List<Reminder>> presenter) {
+        this.clock = clock;
+        this.coalesceWindow = coalesceWindow;
+        this.minInterval = minInterval;
+        this.presenterExecutor = presenterExecutor;
+        this.presenter = presenter;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-center");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Προσθέτει υπενθυμίσεις στην ουρά. Μπορεί να κληθεί από οποιοδήποτε νήμα και επιστρέφει αμέσως.
+     *
+     * @param due οι υπενθυμίσεις που έληξαν.
+     */
+    public synchronized void submit(List<Reminder> due) {
+        if (due.isEmpty()) {
+            return;
+        }
+        queue.addAll(due);
+        schedule(coalesceWindow.toMillis());
+    }
+
+    /**
+     * Δηλώνει ότι η ειδοποίηση που εμφανίζεται έκλεισε, ώστε να μπορεί να εμφανιστεί η επόμενη.
+     */
+    public synchronized void dismissed() {
+        showing = false;
+        schedule(0);
+    }
+
+    /**
+     * Επιστρέφει το πλήθος των υπενθυμίσεων που περιμένουν στην ουρά.
+     *
+     * @return το πλήθος.
+     */
+    public synchronized int size() {
+        return queue.size();
+    }
+
+    /**
+     * Σταματά τον χρονοδιακόπτη. Οι υπενθυμίσεις της ουράς δεν εμφανίζονται.
+     */
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    /**
+     * Επιστρέφει τα στατιστικά του κέντρου σε μία γραμμή.
+     *
+     * @return τα στατιστικά.
+     */
+    @Override
+    public synchronized String toString() {
+        return "Notification center: " + reminders + " reminders in " + notifications + " notifications, "
+            + queue.size() + " queued";
+    }
+
+    /**
+     * Προγραμματίζει την εμφάνιση της ουράς, αν δεν εμφανίζεται ήδη ειδοποίηση και δεν έχει
+     * προγραμματιστεί ήδη. Η καθυστέρηση δεν είναι μικρότερη από όσο απομένει έως το minInterval.
+     *
+     * @param delay η ελάχιστη καθυστέρηση σε ms.
+     */
+    private void schedule(long delay) {
+        if (showing || flush != null || queue.isEmpty() || timer.isShutdown()) {
+            return;
+        }
+        if (lastShown != Long.MIN_VALUE) {
+            delay = Math.max(delay, lastShown + minInterval.toMillis() - clock.millis());
+        }
+        flush = timer.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Παραδίδει όλη την ουρά στον presenter ως μία ειδοποίηση. Εκτελείται στο νήμα του χρονοδιακόπτη.
+     */
+    private void flush() {
+        List<Reminder> batch;
+        synchronized (this) {
+            flush = null;
+            if (showing || queue.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(queue);
+            queue.clear();
+            showing = true;
+            lastShown = clock.millis();
+            notifications++;
+            reminders += batch.size();
+        }
+        presenterExecutor.execute(() -> {
+            try {
+                presenter.accept(batch);
+            } catch (RuntimeException e) {
+                System.out.println("Error showing reminder notification: " + e.getMessage());
+                e.printStackTrace();
+                dismissed();
+            }
+        });
+    }
+}
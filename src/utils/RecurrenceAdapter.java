@@ -0,0 +1,77 @@
+package utils;
+
+import com.google.gson.*;
+import model.Recurrence;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+
+/**
+ * Ο adapter RecurrenceAdapter χρησιμοποιείται για την ανάγνωση κανόνων επανάληψης από JSON.
+ * Τα αρχεία και το journal μπορεί να έχουν τιμές που δεν παράγει ποτέ η φόρμα (διάστημα 0, αρνητικά
+ * πλήθη, άγνωστη συχνότητα), οπότε οι αριθμοί διορθώνονται στα όριά τους, ενώ ένας κανόνας χωρίς
+ * έγκυρη συχνότητα ή αρχή απορρίπτεται και η εργασία φορτώνεται ως μη επαναλαμβανόμενη.
+ * Η σειριοποίηση γίνεται από τον προκαθορισμένο μηχανισμό του Gson.
+ */
+public class RecurrenceAdapter implements JsonDeserializer<Recurrence> {
+
+    /**
+     * Ανασσειριοποιεί ένα JsonElement σε αντικείμενο Recurrence.
+     *
+     * @param json το JsonElement που περιέχει τον κανόνα.
+     * @param typeOfT ο τύπος του αντικειμένου που αναμένεται (δεν χρησιμοποιείται).
+     * @param context το πλαίσιο αποσειριοποίησης.
+     * @return ο κανόνας ή null αν δεν είναι έγκυρος.
+     * @throws JsonParseException αν η ανάλυση δεν είναι δυνατή.
+     */
+    @Override
+    public Recurrence deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
+        if (!json.isJsonObject()) {
+            return null;
+        }
+        JsonObject object = json.getAsJsonObject();
+        Recurrence.Frequency frequency = readFrequency(object.get("frequency"));
+        LocalDate start = context.deserialize(object.get("start"), LocalDate.class);
+        if (frequency == null || start == null) {
+            System.out.println("Ignoring invalid recurrence rule: " + json);
+            return null;
+        }
+        int interval = readInt(object, "interval", 1);
+        LocalDate until = context.deserialize(object.get("until"), LocalDate.class);
+        int count = readInt(object, "count", 0);
+        int completed = readInt(object, "completed", 0);
+        return new Recurrence(frequency, interval, start, until, count, completed);
+    }
+
+    /**
+     * Διαβάζει τη συχνότητα, είτε ως όνομα της σταθεράς (π.χ. "WEEKLY") είτε ως εμφανιζόμενο όνομα (π.χ. "Weekly").
+     *
+     * @param element το στοιχείο JSON ή null.
+     * @return η συχνότητα ή null αν λείπει ή είναι άγνωστη.
+     */
+    private static Recurrence.Frequency readFrequency(JsonElement element) {
+        if (element == null || !element.isJsonPrimitive()) {
+            return null;
+        }
+        try {
+            return Recurrence.Frequency.valueOf(element.getAsString().trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Διαβάζει ένα ακέραιο πεδίο.
+     *
+     * @param object το αντικείμενο JSON.
+     * @param name το όνομα του πεδίου.
+     * @param defaultValue η τιμή όταν το πεδίο λείπει ή δεν είναι αριθμός.
+     * @return η τιμή.
+     */
+    private static int readInt(JsonObject object, String name, int defaultValue) {
+        JsonElement element = object.get(name);
+        if (element == null || !element.isJsonPrimitive() || !element.getAsJsonPrimitive().isNumber()) {
+            return defaultValue;
+        }
+        return element.getAsInt();
+    }
+}
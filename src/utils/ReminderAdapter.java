@@ -0,0 +1,47 @@
+package utils;
+
+import com.google.gson.*;
+import model.Reminder;
+import model.Task;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+
+/**
+ * Ο adapter ReminderAdapter χρησιμοποιείται για την ανάγνωση υπενθυμίσεων από JSON.
+ * Υποστηρίζει τη νέα μορφή, όπου η εργασία αναφέρεται μόνο με το taskId, καθώς και την παλαιότερη μορφή,
+ * όπου κάθε υπενθύμιση περιείχε πλήρες αντίγραφο της εργασίας. Στη δεύτερη περίπτωση το αντίγραφο
+ * συνδέεται προσωρινά με την υπενθύμιση, ώστε να αντιστοιχιστεί αργότερα στην πραγματική εργασία.
+ * Η σειριοποίηση γίνεται από τον προκαθορισμένο μηχανισμό του Gson.
+ */
+public class ReminderAdapter implements JsonDeserializer<Reminder> {
+
+    /**
+     * Ανασσειριοποιεί ένα JsonElement σε αντικείμενο Reminder.
+     *
+     * @param json το JsonElement που περιέχει την υπενθύμιση.
+     * @param typeOfT ο τύπος του αντικειμένου που αναμένεται (δεν χρησιμοποιείται).
+     * @param context το πλαίσιο αποσειριοποίησης.
+     * @return η υπενθύμιση.
+     * @throws JsonParseException αν η ανάλυση δεν είναι δυνατή.
+     */
+    @Override
+    public Reminder deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
+        JsonObject object = json.getAsJsonObject();
+        long id = object.has("id") ? object.get("id").getAsLong() : 0;
+        String name = object.has("name") ? object.get("name").getAsString() : null;
+        String type = object.has("type") ? object.get("type").getAsString() : null;
+        LocalDate reminderDate = context.deserialize(object.get("reminderDate"), LocalDate.class);
+        long taskId = object.has("taskId") ? object.get("taskId").getAsLong() : 0;
+
+        Reminder reminder = new Reminder(id, name, taskId, reminderDate, type);
+        if (object.has("daysBefore")) {
+            reminder.setDaysBefore(object.get("daysBefore").getAsInt());
+        }
+        if (taskId == 0 && object.has("task") && object.get("task").isJsonObject()) {
+            // Παλαιότερη μορφή: η εργασία ήταν αποθηκευμένη ολόκληρη μέσα στην υπενθύμιση
+            Task legacyCopy = context.deserialize(object.get("task"), Task.class);
+            reminder.attachTask(legacyCopy);
+        }
+        return reminder;
+    }
+}
@@ -0,0 +1,347 @@
+package utils;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import model.Reminder;
+import model.Status;
+import model.Task;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Η κλάση ReminderScheduler ενεργοποιεί τις υπενθυμίσεις την ημέρα τους, όσο η εφαρμογή είναι ανοιχτή.
+ * Οι εκκρεμείς υπενθυμίσεις κρατούνται ταξινομημένες κατά ημερομηνία (TreeMap), οπότε η προσθήκη και
+ * η ακύρωση κοστίζουν O(log n), και ένα νήμα χρονοδιακόπτη ξυπνά μόνο στην αρχή της ημέρας της
+ * επόμενης υπενθύμισης. Το νήμα αυτό μόνο περιμένει και αποθηκεύει την τελευταία ημέρα που παραδόθηκε:
+ * ο έλεγχος των υπενθυμίσεων που έληξαν και ο υπολογισμός της επόμενης ημέρας τους, που διαβάζουν τις
+ * εργασίες, γίνονται στον δοσμένο Executor (Platform::runLater), όπου όσες λήγουν μαζί παραδίδονται
+ * σε μία παρτίδα. Η αναμονή δεν ξεπερνά ποτέ το maxSleep, ώστε μετά από αναστολή του
+ * υπολογιστή οι υπενθυμίσεις που χάθηκαν να παραδίδονται σύντομα. Η τελευταία ημέρα που παραδόθηκε
+ * αποθηκεύεται, ώστε μετά από επανεκκίνηση να παραδίδονται και όσες έληξαν όσο η εφαρμογή ήταν κλειστή.
+ * Οι υπενθυμίσεις επαναλαμβανόμενων εργασιών προγραμματίζονται μόνο για την επόμενη εμφάνιση· όταν
+ * παραδοθούν, προγραμματίζονται ξανά για την εμφάνιση που ακολουθεί. Όταν μια εργασία αλλάζει (προθεσμία,
+ * κανόνας επανάληψης, κατάσταση), οι υπενθυμίσεις της ξαναϋπολογίζονται, ενώ όσες ανήκουν σε
+ * ολοκληρωμένη εργασία δεν προγραμματίζονται.
+ */
+public class ReminderScheduler implements TaskStore.Listener {
+
+    /** Η προκαθορισμένη μέγιστη αναμονή του χρονοδιακόπτη */
+    public static final Duration DEFAULT_MAX_SLEEP =
+        Duration.ofMinutes(Long.getLong("medialab.reminderMaxSleepMinutes", 15));
+
+    private final Clock clock;
+    private final Duration maxSleep;
+    private final Executor deliveryExecutor;
+    private final Consumer<List<Reminder>> delivery;
+    private final ScheduledExecutorService timer;
+    /** Οι εκκρεμείς υπενθυμίσεις ανά ημερομηνία */
+    private final TreeMap<LocalDate, Set<Reminder>> pending = new TreeMap<>();
+    /** Η ημέρα για την οποία είναι προγραμματισμένη κάθε εκκρεμής υπενθύμιση */
+    private final Map<Reminder, LocalDate> scheduled = new IdentityHashMap<>();
+    private ScheduledFuture<?> wakeUp;
+    /** Το store από το οποίο προκύπτουν οι υπενθυμίσεις κάθε εργασίας */
+    private TaskStore store;
+    /** Η τελευταία ημέρα της οποίας οι υπενθυμίσεις έχουν παραδοθεί */
+    private LocalDate deliveredThrough;
+
+    /**
+     * Δημιουργεί τον scheduler. Δεν ξεκινά πριν από την κλήση της start.
+     *
+     * @param clock το ρολόι από το οποίο προκύπτει η τρέχουσα ημέρα και η ζώνη ώρας.
+     * @param maxSleep η μέγιστη αναμονή του χρονοδιακόπτη.
+     * @param deliveryExecutor ο Executor του νήματος που τροποποιεί τις εργασίες (Platform::runLater), στον
+     *                         οποίο ελέγχονται και παραδίδονται οι υπενθυμίσεις που έληξαν.
+     * @param delivery καλείται με κάθε παρτίδα υπενθυμίσεων που έληξαν.
+     */
+    public ReminderScheduler(Clock clock, Duration maxSleep, Executor deliveryExecutor,
+                             Consumer<List<Reminder>> delivery) {
+        this.clock = clock;
+        this.maxSleep = maxSleep;
+        this.deliveryExecutor = deliveryExecutor;
+        this.delivery = delivery;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reminder-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Προγραμματίζει τις υπενθυμίσεις του store και παρακολουθεί τις αλλαγές τους και των εργασιών.
+     * Οι υπενθυμίσεις έως και την ημέρα που είχε παραδοθεί την τελευταία φορά παραλείπονται·
+     * όσες έληξαν από τότε παραδίδονται αμέσως.
+     *
+     * @param store το store των εργασιών και των υπενθυμίσεων.
+     * @param lastDelivered η τελευταία ημέρα που είχε παραδοθεί ή null (οπότε θεωρείται η χθεσινή).
+     */
+    public void start(TaskStore store, LocalDate lastDelivered) {
+        ObservableList<Reminder> reminders = store.getReminders();
+        synchronized (this) {
+            this.store = store;
+            deliveredThrough = (lastDelivered != null) ? lastDelivered : LocalDate.now(clock).minusDays(1);
+            for (Reminder reminder : reminders) {
+                LocalDate date = isActive(reminder) ? reminder.nextReminderDate(deliveredThrough) : null;
+                if (date != null && date.isAfter(deliveredThrough)) {
+                    add(reminder, date);
+                }
+            }
+        }
+        reminders.addListener(this::remindersChanged);
+        store.addListener(this);
+        deliveryExecutor.execute(this::deliverDue);
+    }
+
+    /**
+     * Προγραμματίζει μια νέα υπενθύμιση. Αν η ημέρα της έχει ήδη έρθει, παραδίδεται αμέσως.
+     * Η υπενθύμιση ολοκληρωμένης εργασίας δεν προγραμματίζεται.
+     *
+     * @param reminder η υπενθύμιση.
+     */
+    public synchronized void schedule(Reminder reminder) {
+        LocalDate date = isActive(reminder) ? reminder.nextReminderDate(reminder.getReminderDate().minusDays(1)) : null;
+        if (date != null) {
+            add(reminder, date);
+            rearm();
+        }
+    }
+
+    /**
+     * Ακυρώνει μια εκκρεμή υπενθύμιση.
+     *
+     * @param reminder η υπενθύμιση.
+     */
+    public synchronized void cancel(Reminder reminder) {
+        if (remove(reminder)) {
+            rearm();
+        }
+    }
+
+    /**
+     * Ξαναϋπολογίζει την ημέρα των υπενθυμίσεων μιας εργασίας που προστέθηκε ή άλλαξε (π.χ. νέα
+     * προθεσμία ή κανόνας επανάληψης). Αν η εργασία ολοκληρώθηκε, οι υπενθυμίσεις της ακυρώνονται.
+     *
+     * @param task η εργασία.
+     */
+    @Override
+    public void taskAdded(Task task) {
+        if (store == null) {
+            return;
+        }
+        List<Reminder> taskReminders = store.getReminders(task);
+        if (taskReminders.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            for (Reminder reminder : taskReminders) {
+                reschedule(reminder);
+            }
+            rearm();
+        }
+    }
+
+    /**
+     * Δεν χρειάζεται ενέργεια: οι υπενθυμίσεις μιας εργασίας που διαγράφεται αφαιρούνται από τη λίστα
+     * τους και ακυρώνονται από τον listener της, ενώ μετά από επεξεργασία καλείται η taskAdded.
+     *
+     * @param task η εργασία.
+     */
+    @Override
+    public void taskRemoved(Task task) {
+    }
+
+    /**
+     * Επιστρέφει το πλήθος των εκκρεμών υπενθυμίσεων.
+     *
+     * @return το πλήθος.
+     */
+    public synchronized int size() {
+        return scheduled.size();
+    }
+
+    /**
+     * Επιστρέφει την τελευταία ημέρα της οποίας οι υπενθυμίσεις έχουν παραδοθεί.
+     *
+     * @return η ημέρα.
+     */
+    public synchronized LocalDate getDeliveredThrough() {
+        return deliveredThrough;
+    }
+
+    /**
+     * Ξυπνά αμέσως τον χρονοδιακόπτη (π.χ. όταν αλλάζει η ζώνη ώρας ή μετά από αναστολή).
+     */
+    public void wakeUp() {
+        deliveryExecutor.execute(this::deliverDue);
+    }
+
+    /**
+     * Σταματά τον χρονοδιακόπτη.
+     */
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    /**
+     * Επιστρέφει αν η υπενθύμιση πρέπει να είναι προγραμματισμένη, δηλαδή αν η εργασία της δεν έχει ολοκληρωθεί.
+     *
+     * @param reminder η υπενθύμιση.
+     * @return true αν η υπενθύμιση είναι ενεργή.
+     */
+    private static boolean isActive(Reminder reminder) {
+        Task task = reminder.getTask();
+        return task == null || task.getStatus() != Status.COMPLETED;
+    }
+
+    /**
+     * Προγραμματίζει μια υπενθύμιση για την επόμενη ημέρα της μετά την τελευταία που παραδόθηκε
+     * ή την ακυρώνει αν δεν έχει τέτοια, χωρίς να επαναπρογραμματίσει τον χρονοδιακόπτη.
+     *
+     * @param reminder η υπενθύμιση.
+     */
+    private void reschedule(Reminder reminder) {
+        LocalDate date = isActive(reminder) ? reminder.nextReminderDate(deliveredThrough) : null;
+        if (date != null && date.isAfter(deliveredThrough)) {
+            add(reminder, date);
+        } else {
+            remove(reminder);
+        }
+    }
+
+    /**
+     * Αφαιρεί μια υπενθύμιση από τις εκκρεμείς, χωρίς να επαναπρογραμματίσει τον χρονοδιακόπτη.
+     *
+     * @param reminder η υπενθύμιση.
+     * @return true αν άδειασε η ημέρα της, οπότε μπορεί να αλλάζει το επόμενο ξύπνημα.
+     */
+    private boolean remove(Reminder reminder) {
+        LocalDate date = scheduled.remove(reminder);
+        Set<Reminder> day = (date != null) ? pending.get(date) : null;
+        if (day != null && day.remove(reminder) && day.isEmpty()) {
+            pending.remove(date);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Προσθέτει μια υπενθύμιση στις εκκρεμείς για τη δοσμένη ημέρα, χωρίς να επαναπρογραμματίσει
+     * τον χρονοδιακόπτη. Αν ήταν ήδη προγραμματισμένη για άλλη ημέρα, μεταφέρεται.
+     *
+     * @param reminder η υπενθύμιση.
+     * @param date η ημέρα ενεργοποίησης.
+     */
+    private void add(Reminder reminder, LocalDate date) {
+        LocalDate previous = scheduled.put(reminder, date);
+        if (previous != null && !previous.equals(date)) {
+            Set<Reminder> day = pending.get(previous);
+            if (day != null && day.remove(reminder) && day.isEmpty()) {
+                pending.remove(previous);
+            }
+        }
+        pending.computeIfAbsent(date, _ -> Collections.newSetFromMap(new IdentityHashMap<>())).add(reminder);
+    }
+
+    /**
+     * Προγραμματίζει το επόμενο ξύπνημα: στην αρχή της ημέρας της πρώτης εκκρεμούς υπενθύμισης,
+     * αλλά όχι αργότερα από το maxSleep.
+     */
+    private void rearm() {
+        if (deliveredThrough == null || timer.isShutdown()) {
+            return;
+        }
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+            wakeUp = null;
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        long delay = Duration.between(clock.instant(),
+            pending.firstKey().atStartOfDay(clock.getZone()).toInstant()).toMillis();
+        delay = Math.max(0, Math.min(delay, maxSleep.toMillis()));
+        wakeUp = timer.schedule(() -> deliveryExecutor.execute(this::deliverDue), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Αφαιρεί όλες τις υπενθυμίσεις έως και σήμερα και τις παραδίδει σε μία παρτίδα.
+     * Εκτελείται στον deliveryExecutor, ώστε οι εργασίες να διαβάζονται στο νήμα που τις τροποποιεί·
+     * η νέα τελευταία ημέρα αποθηκεύεται στο νήμα του χρονοδιακόπτη, αφού παραδοθεί η παρτίδα.
+     */
+    private void deliverDue() {
+        List<Reminder> due = new ArrayList<>();
+        LocalDate today = LocalDate.now(clock);
+        boolean advanced = false;
+        synchronized (this) {
+            Iterator<Set<Reminder>> days = pending.headMap(today, true).values().iterator();
+            while (days.hasNext()) {
+                due.addAll(days.next());
+                days.remove();
+            }
+            for (Reminder reminder : due) {
+                scheduled.remove(reminder);
+                // Οι υπενθυμίσεις επαναλαμβανόμενων εργασιών προγραμματίζονται για την επόμενη εμφάνιση
+                LocalDate next = isActive(reminder) ? reminder.nextReminderDate(today) : null;
+                if (next != null && next.isAfter(today)) {
+                    add(reminder, next);
+                }
+            }
+            if (today.isAfter(deliveredThrough)) {
+                deliveredThrough = today;
+                advanced = true;
+            }
+            rearm();
+        }
+        if (!due.isEmpty()) {
+            delivery.accept(due);
+        }
+        if (advanced && !timer.isShutdown()) {
+            timer.execute(() -> DataManager.saveReminderWatermark(today));
+        }
+    }
+
+    /**
+     * Προγραμματίζει ή ακυρώνει τις υπενθυμίσεις που προστέθηκαν ή αφαιρέθηκαν από τη λίστα.
+     * Μια υπενθύμιση που αντικαταστάθηκε από τον εαυτό της (επεξεργασία) ξαναϋπολογίζεται από την
+     * τελευταία ημέρα που παραδόθηκε, ώστε να μην παραδοθεί δεύτερη φορά.
+     *
+     * @param change η αλλαγή της λίστας.
+     */
+    private void remindersChanged(ListChangeListener.Change<? extends Reminder> change) {
+        while (change.next()) {
+            Set<Reminder> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+            removed.addAll(change.getRemoved());
+            Set<Reminder> added = new LinkedHashSet<>(change.getAddedSubList());
+            for (Reminder reminder : removed) {
+                if (!added.contains(reminder)) {
+                    cancel(reminder);
+                }
+            }
+            for (Reminder reminder : added) {
+                if (!removed.contains(reminder)) {
+                    schedule(reminder);
+                } else {
+                    synchronized (this) {
+                        reschedule(reminder);
+                        rearm();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Η κλάση ScanEngine εκτελεί σαρώσεις ολόκληρων λιστών (φιλτράρισμα, μέτρηση, συναθροίσεις και
+ * μαζικές ενημερώσεις) παράλληλα, σε ένα ForkJoinPool. Η λίστα χωρίζεται αναδρομικά στη μέση
+ * μέχρι τα κομμάτια να έχουν το πολύ threshold στοιχεία· κάθε κομμάτι σαρώνεται σειριακά και
+ * τα αποτελέσματα συνδυάζονται πάντα με τη σειρά αριστερό-δεξί, οπότε είναι ίδια με αυτά της
+ * σειριακής σάρωσης. Λίστες μικρότερες από το threshold σαρώνονται απευθείας στο νήμα του καλούντος.
+ */
+public class ScanEngine {
+
+    /** Το προκαθορισμένο πλήθος νημάτων (όσοι και οι πυρήνες, αν δεν οριστεί αλλιώς) */
+    public static final int DEFAULT_PARALLELISM =
+        Integer.getInteger("medialab.scanParallelism", Runtime.getRuntime().availableProcessors());
+
+    /** Το προκαθορισμένο μέγεθος κομματιού κάτω από το οποίο η σάρωση γίνεται σειριακά */
+    public static final int DEFAULT_THRESHOLD = Integer.getInteger("medialab.scanThreshold", 8192);
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    /**
+     * Δημιουργεί τη μηχανή σάρωσης με δικό της ForkJoinPool.
+     *
+     * @param parallelism το πλήθος των νημάτων.
+     * @param threshold το μέγιστο μέγεθος κομματιού που σαρώνεται σειριακά.
+     */
+    public ScanEngine(int parallelism, int threshold) {
+        this.pool = new ForkJoinPool(Math.max(1, parallelism), forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("scan-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+        this.threshold = Math.max(1, threshold);
+    }
+
+    /**
+     * Επιστρέφει τα στοιχεία που ικανοποιούν ένα predicate, με τη σειρά της λίστας.
+     *
+     * @param items τα στοιχεία.
+     * @param predicate η συνθήκη.
+     * @return μια νέα λίστα με τα στοιχεία που ταιριάζουν.
+     */
+    public <T> List<T> filter(List<T> items, Predicate<? super T> predicate) {
+        return aggregate(items, ArrayList::new, (matches, item) -> {
+            if (predicate.test(item)) {
+                matches.add(item);
+            }
+        }, (left, right) -> {
+            left.addAll(right);
+            return left;
+        });
+    }
+
+    /**
+     * Μετρά τα στοιχεία που ικανοποιούν ένα predicate.
+     *
+     * @param items τα στοιχεία.
+     * @param predicate η συνθήκη.
+     * @return το πλήθος των στοιχείων που ταιριάζουν.
+     */
+    public <T> int count(List<T> items, Predicate<? super T> predicate) {
+        return aggregate(items, () -> new int[1], (counter, item) -> {
+            if (predicate.test(item)) {
+                counter[0]++;
+            }
+        }, (left, right) -> {
+            left[0] += right[0];
+            return left;
+        })[0];
+    }
+
+    /**
+     * Υπολογίζει μια συνάθροιση πάνω σε όλα τα στοιχεία. Κάθε κομμάτι ξεκινά από ένα νέο αποτέλεσμα
+     * του identity και τα αποτελέσματα των κομματιών συνδυάζονται με τη σειρά της λίστας.
+     *
+     * @param items τα στοιχεία.
+     * @param identity δημιουργεί ένα κενό (μεταβλητό) αποτέλεσμα.
+     * @param accumulator προσθέτει ένα στοιχείο σε ένα αποτέλεσμα.
+     * @param combiner συνδυάζει το αποτέλεσμα ενός κομματιού με αυτό του επόμενου.
+     * @return το τελικό αποτέλεσμα.
+     */
+    public <T, A> A aggregate(List<T> items, Supplier<A> identity, BiConsumer<A, ? super T> accumulator,
+                              BinaryOperator<A> combiner) {
+        List<T> source = items instanceof RandomAccess ? items : new ArrayList<>(items);
+        if (source.size() <= threshold) {
+            return scan(source, 0, source.size(), identity, accumulator);
+        }
+        return pool.invoke(new Chunk<>(source, 0, source.size(), identity, accumulator, combiner));
+    }
+
+    /**
+     * Εφαρμόζει μια ενημέρωση στα στοιχεία που ικανοποιούν ένα predicate. Τα στοιχεία βρίσκονται
+     * παράλληλα, ενώ η ενημέρωση εφαρμόζεται σειριακά, με τη σειρά της λίστας, στο νήμα του καλούντος
+     * (π.χ. μέσω του TaskStore στο JavaFX thread).
+     *
+     * @param items τα στοιχεία.
+     * @param predicate η συνθήκη.
+     * @param update η ενημέρωση κάθε στοιχείου που ταιριάζει.
+     * @return το πλήθος των στοιχείων που ενημερώθηκαν.
+     */
+    public <T> int updateAll(List<T> items, Predicate<? super T> predicate, Consumer<? super T> update) {
+        List<T> matches = filter(items, predicate);
+        for (T item : matches) {
+            update.accept(item);
+        }
+        return matches.size();
+    }
+
+    /**
+     * Σταματά τα νήματα της μηχανής.
+     */
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Σαρώνει σειριακά ένα τμήμα της λίστας.
+     *
+     * @param items τα στοιχεία.
+     * @param from η πρώτη θέση (συμπεριλαμβάνεται).
+     * @param to η τελευταία θέση (δεν συμπεριλαμβάνεται).
+     * @param identity δημιουργεί ένα κενό αποτέλεσμα.
+     * @param accumulator προσθέτει ένα στοιχείο σε ένα αποτέλεσμα.
+     * @return το αποτέλεσμα του τμήματος.
+     */
+    private static <T, A> A scan(List<T> items, int from, int to, Supplier<A> identity,
+                                 BiConsumer<A, ? super T> accumulator) {
+        A result = identity.get();
+        for (int i = from; i < to; i++) {
+            accumulator.accept(result, items.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Ένα τμήμα της λίστας, που σαρώνεται σειριακά ή χωρίζεται σε δύο μισά.
+     * Δεν σειριοποιείται ποτέ, παρόλο που η RecursiveTask είναι Serializable.
+     */
+    @SuppressWarnings("serial")
+    private final class Chunk<T, A> extends RecursiveTask<A> {
+        private final List<T> items;
+        private final int from;
+        private final int to;
+        private final Supplier<A> identity;
+        private final BiConsumer<A, ? super T> accumulator;
+        private final BinaryOperator<A> combiner;
+
+        private Chunk(List<T> items, int from, int to, Supplier<A> identity,
+                      BiConsumer<A, ? super T> accumulator, BinaryOperator<A> combiner) {
+            this.items = items;
+            this.from = from;
+            this.to = to;
+            this.identity = identity;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= threshold) {
+                return scan(items, from, to, identity, accumulator);
+            }
+            int middle = (from + to) >>> 1;
+            Chunk<T, A> left = new Chunk<>(items, from, middle, identity, accumulator, combiner);
+            Chunk<T, A> right = new Chunk<>(items, middle, to, identity, accumulator, combiner);
+            left.fork();
+            A rightResult = right.compute();
+            return combiner.apply(left.join(), rightResult);
+        }
+    }
+}
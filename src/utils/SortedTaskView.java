@@ -0,0 +1,159 @@
+package utils;
+
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
+import model.Task;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+
+/**
+ * Η κλάση SortedTaskView είναι μια ταξινομημένη όψη όλων των εργασιών, που διατηρείται σε μια
+ * IndexedSkipList και ενημερώνεται σταδιακά από το TaskStore: κάθε προσθήκη, διαγραφή ή επεξεργασία
+ * μιας εργασίας κοστίζει O(log n) και φτάνει στον πίνακα ως μία αλλαγή ενός στοιχείου, χωρίς
+ * επαναταξινόμηση. Η αντίστροφη σειρά δίνεται από την όψη descending(), που ενημερώνεται μαζί της.
+ * Οι μέθοδοι πρέπει να καλούνται από το JavaFX thread, όπως και οι μεταβολές του TaskStore.
+ */
+public class SortedTaskView extends ObservableListBase<Task> implements TaskStore.Listener {
+
+    /** Κατά προθεσμία (αύξουσα) */
+    public static final Comparator<Task> BY_DEADLINE =
+        Comparator.comparing(Task::getDeadline, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingLong(Task::getId);
+
+    /** Κατά βαθμό προτεραιότητας (πρώτα οι πιο επείγουσες) και στη συνέχεια κατά προθεσμία */
+    public static final Comparator<Task> BY_PRIORITY =
+        Comparator.comparingInt((Task task) -> -task.getPriority().getRank())
+            .thenComparing(BY_DEADLINE);
+
+    /** Κατά κατάσταση (με τη σειρά της απαρίθμησης Status) και στη συνέχεια κατά προθεσμία */
+    public static final Comparator<Task> BY_STATUS =
+        Comparator.comparingInt((Task task) -> task.getStatus().ordinal())
+            .thenComparing(BY_DEADLINE);
+
+    private final IndexedSkipList<Task> tasks;
+    private final Descending descending = new Descending();
+
+    /**
+     * Δημιουργεί την όψη από τις τρέχουσες εργασίες.
+     *
+     * @param initial οι εργασίες.
+     * @param comparator η σειρά της όψης· πρέπει να καταλήγει στον κωδικό, ώστε να είναι ολική.
+     */
+    public SortedTaskView(Collection<Task> initial, Comparator<Task> comparator) {
+        this.tasks = new IndexedSkipList<>(comparator);
+        for (Task task : initial) {
+            tasks.add(task);
+        }
+    }
+
+    /**
+     * Επιστρέφει την όψη με την αντίστροφη σειρά.
+     *
+     * @return η αντίστροφη όψη.
+     */
+    public ObservableList<Task> descending() {
+        return descending;
+    }
+
+    /**
+     * Εισάγει την εργασία στη θέση της και ειδοποιεί και τις δύο όψεις.
+     *
+     * @param task η εργασία.
+     */
+    @Override
+    public void taskAdded(Task task) {
+        int index = tasks.add(task);
+        beginChange();
+        nextAdd(index, index + 1);
+        endChange();
+        descending.added(tasks.size() - 1 - index);
+    }
+
+    /**
+     * Αφαιρεί την εργασία (με τις τιμές που είχε όταν εισήχθη) και ειδοποιεί και τις δύο όψεις.
+     *
+     * @param task η εργασία.
+     */
+    @Override
+    public void taskRemoved(Task task) {
+        int index = tasks.remove(task);
+        if (index < 0) {
+            return;
+        }
+        beginChange();
+        nextRemove(index, task);
+        endChange();
+        descending.removed(tasks.size() - index, task);
+    }
+
+    /**
+     * Επιστρέφει την εργασία στη δοσμένη θέση.
+     *
+     * @param index η θέση.
+     * @return η εργασία.
+     */
+    @Override
+    public Task get(int index) {
+        return tasks.get(index);
+    }
+
+    /**
+     * Επιστρέφει το πλήθος των εργασιών.
+     *
+     * @return το πλήθος.
+     */
+    @Override
+    public int size() {
+        return tasks.size();
+    }
+
+    /**
+     * Διατρέχει τις εργασίες με τη σειρά της όψης.
+     *
+     * @return ο iterator.
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return tasks.iterator();
+    }
+
+    /**
+     * Η αντίστροφη όψη: η θέση i αντιστοιχεί στη θέση size-1-i της κύριας όψης.
+     */
+    private final class Descending extends ObservableListBase<Task> {
+
+        /**
+         * Ειδοποιεί για μια εργασία που προστέθηκε.
+         *
+         * @param index η θέση της στην αντίστροφη όψη.
+         */
+        private void added(int index) {
+            beginChange();
+            nextAdd(index, index + 1);
+            endChange();
+        }
+
+        /**
+         * Ειδοποιεί για μια εργασία που αφαιρέθηκε.
+         *
+         * @param index η θέση που είχε στην αντίστροφη όψη.
+         * @param task η εργασία.
+         */
+        private void removed(int index, Task task) {
+            beginChange();
+            nextRemove(index, task);
+            endChange();
+        }
+
+        @Override
+        public Task get(int index) {
+            return tasks.get(tasks.size() - 1 - index);
+        }
+
+        @Override
+        public int size() {
+            return tasks.size();
+        }
+    }
+}
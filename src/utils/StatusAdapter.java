@@ -0,0 +1,61 @@
+package utils;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import model.Status;
+import java.io.IOException;
+
+/**
+ * Ο adapter StatusAdapter γράφει και διαβάζει καταστάσεις στη μορφή {"name": "..."} των αρχείων JSON.
+ * Κατά την ανάγνωση επιστρέφεται πάντα το κοινόχρηστο στιγμιότυπο της κατάστασης.
+ * Άγνωστα ονόματα αντιστοιχίζονται στην κατάσταση Open.
+ */
+public class StatusAdapter extends TypeAdapter<Status> {
+
+    /**
+     * Γράφει μια κατάσταση σε JSON.
+     *
+     * @param out ο JsonWriter εξόδου.
+     * @param status η κατάσταση.
+     * @throws IOException αν αποτύχει η εγγραφή.
+     */
+    @Override
+    public void write(JsonWriter out, Status status) throws IOException {
+        if (status == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("name").value(status.getName());
+        out.endObject();
+    }
+
+    /**
+     * Διαβάζει μια κατάσταση από JSON.
+     *
+     * @param in ο JsonReader εισόδου.
+     * @return το κοινόχρηστο στιγμιότυπο της κατάστασης.
+     * @throws IOException αν αποτύχει η ανάγνωση.
+     */
+    @Override
+    public Status read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        String name = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            if (in.nextName().equals("name") && in.peek() == JsonToken.STRING) {
+                name = in.nextString();
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        Status status = Status.fromName(name);
+        return status != null ? status : Status.OPEN;
+    }
+}
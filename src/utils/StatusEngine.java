@@ -0,0 +1,183 @@
+package utils;
+
+import model.Status;
+import model.Task;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Η κλάση StatusEngine θέτει σε "Delayed" τις εργασίες των οποίων η προθεσμία πέρασε, όσο η εφαρμογή
+ * είναι ανοιχτή. Ένα νήμα χρονοδιακόπτη ξυπνά στα τοπικά μεσάνυχτα (το πολύ κάθε maxSleep, ώστε να
+ * εντοπίζονται και οι αλλαγές ζώνης ώρας ή η αναστολή του υπολογιστή). Όταν αλλάξει η ημέρα, από το
+ * DeadlineIndex λαμβάνονται μόνο οι εργασίες με προθεσμία από την προηγούμενη έως τη νέα ημέρα,
+ * και αλλάζουν όλες μαζί με μία κλήση του TaskStore, οπότε οι μετρητές, τα ευρετήρια και ο πίνακας
+ * ενημερώνονται μόνο για αυτές. Το ρολόι δίνεται στον constructor, ώστε να μπορεί να αντικατασταθεί.
+ */
+public class StatusEngine {
+
+    /** Η προκαθορισμένη μέγιστη αναμονή του χρονοδιακόπτη */
+    public static final Duration DEFAULT_MAX_SLEEP =
+        Duration.ofMinutes(Long.getLong("medialab.statusMaxSleepMinutes", 15));
+
+    private final Clock clock;
+    private final Duration maxSleep;
+    private final TaskStore taskStore;
+    private final DeadlineIndex deadlineIndex;
+    private final Executor fxExecutor;
+    private final Consumer<LocalDate> onDayChanged;
+    private final ScheduledExecutorService timer;
+    /** Η ζώνη ώρας του τελευταίου ελέγχου, για τον εντοπισμό αλλαγών ζώνης */
+    private ZoneId lastZone;
+
+    /**
+     * Δημιουργεί τη μηχανή. Δεν ξεκινά πριν από την κλήση της start.
+     *
+     * @param clock το ρολόι από το οποίο προκύπτει η σημερινή ημέρα και η ζώνη ώρας.
+     * @param maxSleep η μέγιστη αναμονή του χρονοδιακόπτη.
+     * @param taskStore το store μέσω του οποίου αλλάζουν οι εργασίες.
+     * @param deadlineIndex το ευρετήριο προθεσμιών, του οποίου η τρέχουσα ημέρα ενημερώνεται.
+     * @param fxExecutor ο Executor του JavaFX thread (π.χ. Platform::runLater).
+     * @param onDayChanged καλείται στο JavaFX thread μετά από κάθε αλλαγή ημέρας ή ζώνης ώρας.
+     */
+    public StatusEngine(Clock clock, Duration maxSleep, TaskStore taskStore, DeadlineIndex deadlineIndex,
+                        Executor fxExecutor, Consumer<LocalDate> onDayChanged) {
+        this.clock = clock;
+        this.maxSleep = maxSleep;
+        this.taskStore = taskStore;
+        this.deadlineIndex = deadlineIndex;
+        this.fxExecutor = fxExecutor;
+        this.onDayChanged = onDayChanged;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "status-engine");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Επιστρέφει ένα ρολόι συστήματος που ακολουθεί την τρέχουσα προκαθορισμένη ζώνη ώρας
+     * (σε αντίθεση με το Clock.systemDefaultZone, που κρατά τη ζώνη της στιγμής που δημιουργήθηκε).
+     *
+     * @return το ρολόι.
+     */
+    public static Clock systemClock() {
+        return new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneId.systemDefault();
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return Clock.system(zone);
+            }
+
+            @Override
+            public Instant instant() {
+                return Instant.now();
+            }
+        };
+    }
+
+    /**
+     * Θέτει σε "Delayed" όσες εργασίες έχουν ήδη περάσει την προθεσμία τους, απευθείας και χωρίς
+     * ειδοποιήσεις, γιατί καλείται κατά τη φόρτωση, πριν δημιουργηθούν οι listeners των εργασιών.
+     *
+     * @param clock το ρολόι.
+     * @param deadlineIndex το ευρετήριο προθεσμιών.
+     * @return το πλήθος των εργασιών που άλλαξαν.
+     */
+    public static int markOverdueOnLoad(Clock clock, DeadlineIndex deadlineIndex) {
+        int updated = 0;
+        for (Task task : deadlineIndex.overdueBefore(LocalDate.now(clock))) {
+            if (isPending(task)) {
+                task.setStatus(Status.DELAYED);
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Ξεκινά τον χρονοδιακόπτη. Ο πρώτος έλεγχος γίνεται αμέσως.
+     */
+    public void start() {
+        lastZone = clock.getZone();
+        timer.execute(this::tick);
+    }
+
+    /**
+     * Ζητά άμεσο έλεγχο (π.χ. μετά από αλλαγή της ώρας του συστήματος).
+     */
+    public void checkNow() {
+        timer.execute(this::tick);
+    }
+
+    /**
+     * Σταματά τον χρονοδιακόπτη.
+     */
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    /**
+     * Ελέγχει αν άλλαξε η ημέρα ή η ζώνη ώρας και προγραμματίζει τον επόμενο έλεγχο στα επόμενα
+     * μεσάνυχτα. Εκτελείται στο νήμα του χρονοδιακόπτη· η αλλαγή των εργασιών γίνεται στο JavaFX thread.
+     */
+    private void tick() {
+        LocalDate today = LocalDate.now(clock);
+        ZoneId zone = clock.getZone();
+        boolean zoneChanged = !zone.equals(lastZone);
+        lastZone = zone;
+        if (zoneChanged || !today.equals(deadlineIndex.getToday())) {
+            fxExecutor.execute(() -> rollOver(today));
+        }
+        Instant nextMidnight = today.plusDays(1).atStartOfDay(zone).toInstant();
+        long delay = Duration.between(clock.instant(), nextMidnight).toMillis();
+        delay = Math.max(0, Math.min(delay, maxSleep.toMillis()));
+        if (!timer.isShutdown()) {
+            timer.schedule(this::tick, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Μεταφέρει το DeadlineIndex στη νέα ημέρα και θέτει σε "Delayed", με μία κλήση του TaskStore,
+     * μόνο τις εργασίες με προθεσμία από την προηγούμενη ημέρα έως πριν από τη νέα.
+     *
+     * @param today η νέα ημέρα.
+     */
+    private void rollOver(LocalDate today) {
+        LocalDate previous = deadlineIndex.getToday();
+        if (!today.equals(previous)) {
+            deadlineIndex.setToday(today);
+            List<Task> overdue = new ArrayList<>();
+            for (Task task : deadlineIndex.overdueBetween(previous, today)) {
+                if (isPending(task)) {
+                    overdue.add(task);
+                }
+            }
+            taskStore.updateTasks(overdue, task -> task.setStatus(Status.DELAYED));
+        }
+        onDayChanged.accept(today);
+    }
+
+    /**
+     * Επιστρέφει αν μια εργασία δεν είναι ούτε Completed ούτε ήδη Delayed.
+     *
+     * @param task η εργασία.
+     * @return true αν η εργασία πρέπει να γίνει Delayed όταν περάσει η προθεσμία της.
+     */
+    private static boolean isPending(Task task) {
+        return task.getStatus() != Status.COMPLETED && task.getStatus() != Status.DELAYED;
+    }
+}
@@ -0,0 +1,97 @@
+package utils;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Η κλάση SwitchableList προωθεί τις αλλαγές μιας λίστας-πηγής, που μπορεί να αντικατασταθεί
+ * από άλλη. Έτσι ο πίνακας των εργασιών (και τα φίλτρα μπροστά του) μπορεί να διαβάζει από μια
+ * ταξινομημένη όψη, χωρίς να ξαναδημιουργείται η αλυσίδα FilteredList/SortedList.
+ *
+ * @param <E> ο τύπος των στοιχείων.
+ */
+public class SwitchableList<E> extends ObservableListBase<E> {
+    private final ListChangeListener<E> forwarder = this::forward;
+    private ObservableList<E> source;
+
+    /**
+     * Δημιουργεί τη λίστα πάνω σε μια αρχική πηγή.
+     *
+     * @param source η πηγή.
+     */
+    public SwitchableList(ObservableList<E> source) {
+        this.source = source;
+        source.addListener(forwarder);
+    }
+
+    /**
+     * Επιστρέφει την τρέχουσα πηγή.
+     *
+     * @return η πηγή.
+     */
+    public ObservableList<E> getSource() {
+        return source;
+    }
+
+    /**
+     * Αντικαθιστά την πηγή. Οι listeners λαμβάνουν μία αλλαγή που αντικαθιστά όλα τα στοιχεία.
+     *
+     * @param newSource η νέα πηγή.
+     */
+    public void setSource(ObservableList<E> newSource) {
+        if (newSource == source) {
+            return;
+        }
+        List<E> removed = new ArrayList<>(source);
+        source.removeListener(forwarder);
+        source = newSource;
+        source.addListener(forwarder);
+        beginChange();
+        nextRemove(0, removed);
+        nextAdd(0, source.size());
+        endChange();
+    }
+
+    /**
+     * Προωθεί μια αλλαγή της πηγής στους listeners αυτής της λίστας.
+     *
+     * @param change η αλλαγή της πηγής.
+     */
+    private void forward(ListChangeListener.Change<? extends E> change) {
+        beginChange();
+        while (change.next()) {
+            if (change.wasPermutated()) {
+                int[] permutation = new int[change.getTo() - change.getFrom()];
+                for (int i = change.getFrom(); i < change.getTo(); i++) {
+                    permutation[i - change.getFrom()] = change.getPermutation(i);
+                }
+                nextPermutation(change.getFrom(), change.getTo(), permutation);
+            } else if (change.wasUpdated()) {
+                for (int i = change.getFrom(); i < change.getTo(); i++) {
+                    nextUpdate(i);
+                }
+            } else {
+                if (change.wasRemoved()) {
+                    nextRemove(change.getFrom(), new ArrayList<E>(change.getRemoved()));
+                }
+                if (change.wasAdded()) {
+                    nextAdd(change.getFrom(), change.getTo());
+                }
+            }
+        }
+        endChange();
+    }
+
+    @Override
+    public E get(int index) {
+        return source.get(index);
+    }
+
+    @Override
+    public int size() {
+        return source.size();
+    }
+}
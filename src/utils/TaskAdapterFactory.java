@@ -0,0 +1,132 @@
+package utils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import model.Category;
+import model.Priority;
+import model.Task;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ο TaskAdapterFactory δημιουργεί τον adapter των εργασιών. Η εγγραφή γίνεται από τον προκαθορισμένο
+ * μηχανισμό του Gson (με τα πεδία categoryId και priorityId). Κατά την ανάγνωση μετατρέπει
+ * τις εργασίες παλαιότερης μορφής, όπου η κατηγορία ήταν όνομα ("category": "...") και η προτεραιότητα
+ * αντικείμενο ("priority": {"name": "..."}), στους αντίστοιχους κωδικούς. Όσες κατηγορίες και
+ * προτεραιότητες δεν υπάρχουν στα λεξικά δημιουργούνται και κρατούνται, ώστε να προστεθούν στις λίστες.
+ */
+public class TaskAdapterFactory implements TypeAdapterFactory {
+    /** Οι κατηγορίες που δημιουργήθηκαν κατά τη μετατροπή */
+    private final List<Category> migratedCategories = new ArrayList<>();
+    /** Οι προτεραιότητες που δημιουργήθηκαν κατά τη μετατροπή */
+    private final List<Priority> migratedPriorities = new ArrayList<>();
+
+    /**
+     * Δημιουργεί τον adapter για τον τύπο Task· για κάθε άλλο τύπο επιστρέφει null.
+     *
+     * @param gson ο Gson που ζητά τον adapter.
+     * @param type ο τύπος του αντικειμένου.
+     * @return ο adapter ή null αν ο τύπος δεν είναι Task.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != Task.class) {
+            return null;
+        }
+        TypeAdapter<Task> delegate = gson.getDelegateAdapter(this, TypeToken.get(Task.class));
+        TypeAdapter<JsonElement> elementAdapter = gson.getAdapter(JsonElement.class);
+        return (TypeAdapter<T>) new TypeAdapter<Task>() {
+            @Override
+            public void write(JsonWriter out, Task task) throws IOException {
+                delegate.write(out, task);
+            }
+
+            @Override
+            public Task read(JsonReader in) throws IOException {
+                JsonElement element = elementAdapter.read(in);
+                if (element.isJsonObject()) {
+                    migrate(element.getAsJsonObject());
+                }
+                return delegate.fromJsonTree(element);
+            }
+        };
+    }
+
+    /**
+     * Αντικαθιστά τα πεδία category και priority της παλαιότερης μορφής με τους κωδικούς τους.
+     *
+     * @param object το αντικείμενο JSON της εργασίας.
+     */
+    private void migrate(JsonObject object) {
+        JsonElement category = object.remove("category");
+        if (category != null && category.isJsonPrimitive() && !object.has("categoryId")) {
+            object.addProperty("categoryId", resolveCategory(category.getAsString()).getId());
+        }
+        JsonElement priority = object.remove("priority");
+        if (priority != null && priority.isJsonObject() && !object.has("priorityId")) {
+            JsonElement name = priority.getAsJsonObject().get("name");
+            Priority resolved = (name != null && !name.isJsonNull()) ? resolvePriority(name.getAsString()) : Priority.DEFAULT;
+            object.addProperty("priorityId", resolved.getId());
+        }
+    }
+
+    /**
+     * Βρίσκει την κατηγορία με το δοσμένο όνομα ή τη δημιουργεί αν δεν υπάρχει.
+     *
+     * @param name το όνομα της κατηγορίας.
+     * @return η κατηγορία.
+     */
+    private synchronized Category resolveCategory(String name) {
+        Category category = Category.findByName(name);
+        if (category == null) {
+            category = Category.of(name);
+            migratedCategories.add(category);
+        }
+        return category;
+    }
+
+    /**
+     * Βρίσκει την προτεραιότητα με το δοσμένο όνομα ή τη δημιουργεί αν δεν υπάρχει.
+     *
+     * @param name το όνομα της προτεραιότητας.
+     * @return η προτεραιότητα.
+     */
+    private synchronized Priority resolvePriority(String name) {
+        Priority priority = Priority.findByName(name);
+        if (priority == null) {
+            priority = Priority.of(name);
+            migratedPriorities.add(priority);
+        }
+        return priority;
+    }
+
+    /**
+     * Μεταφέρει στη δοσμένη λίστα τις κατηγορίες που δημιουργήθηκαν κατά τη μετατροπή
+     * και αδειάζει τη λίστα τους.
+     *
+     * @param categories η λίστα κατηγοριών της εφαρμογής.
+     */
+    public synchronized void drainMigratedCategories(List<Category> categories) {
+        categories.addAll(migratedCategories);
+        migratedCategories.clear();
+    }
+
+    /**
+     * Μεταφέρει στη δοσμένη λίστα τις προτεραιότητες που δημιουργήθηκαν κατά τη μετατροπή
+     * και αδειάζει τη λίστα τους.
+     *
+     * @param priorities η λίστα προτεραιοτήτων της εφαρμογής.
+     */
+    public synchronized void drainMigratedPriorities(List<Priority> priorities) {
+        priorities.addAll(migratedPriorities);
+        migratedPriorities.clear();
+    }
+}
@@ -0,0 +1,178 @@
+package utils;
+
+import model.Status;
+import model.Task;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Η κλάση TaskCounters κρατά τους μετρητές εργασιών (συνολικές, ολοκληρωμένες, καθυστερημένες
+ * και με προθεσμία εντός των επόμενων ημερών). Οι μετρητές υπολογίζονται πλήρως μόνο μία φορά,
+ * παράλληλα από το ScanEngine, και στη συνέχεια ενημερώνονται σε O(1) για κάθε εργασία που
+ * προστίθεται, αφαιρείται ή αλλάζει μέσω του TaskStore. Όταν αλλάζει η ημέρα, ξαναμετριούνται
+ * μόνο οι εργασίες με κοντινή προθεσμία, όπως τις επιστρέφει το DeadlineIndex.
+ */
+public final class TaskCounters implements TaskStore.Listener {
+
+    /** Το πλήθος των ημερών που θεωρούνται "σύντομα" για μια προθεσμία */
+    public static final int DUE_SOON_DAYS = 7;
+
+    private final Runnable onChange;
+    private LocalDate today;
+    private int total;
+    private int completed;
+    private int delayed;
+    private int dueSoon;
+
+    /**
+     * Δημιουργεί τους μετρητές και τους υπολογίζει για τις δοσμένες εργασίες.
+     *
+     * @param tasks οι εργασίες της εφαρμογής.
+     * @param today η τρέχουσα ημερομηνία.
+     * @param engine η μηχανή σάρωσης για τον αρχικό υπολογισμό.
+     * @param onChange καλείται μετά από κάθε αλλαγή των μετρητών (π.χ. για την ενημέρωση του UI).
+     */
+    public TaskCounters(List<Task> tasks, LocalDate today, ScanEngine engine, Runnable onChange) {
+        this.today = today;
+        this.onChange = onChange;
+        int[] counts = engine.aggregate(tasks, () -> new int[4], (partial, task) -> {
+            partial[0]++;
+            if (task.getStatus() == Status.COMPLETED) {
+                partial[1]++;
+            } else if (task.getStatus() == Status.DELAYED) {
+                partial[2]++;
+            }
+            if (isDueSoon(task)) {
+                partial[3]++;
+            }
+        }, (left, right) -> {
+            for (int i = 0; i < left.length; i++) {
+                left[i] += right[i];
+            }
+            return left;
+        });
+        total = counts[0];
+        completed = counts[1];
+        delayed = counts[2];
+        dueSoon = counts[3];
+    }
+
+    /**
+     * Ενημερώνει τους μετρητές για μια εργασία που προστέθηκε.
+     *
+     * @param task η εργασία.
+     */
+    @Override
+    public void taskAdded(Task task) {
+        apply(task, 1);
+        onChange.run();
+    }
+
+    /**
+     * Ενημερώνει τους μετρητές για μια εργασία που αφαιρέθηκε.
+     *
+     * @param task η εργασία.
+     */
+    @Override
+    public void taskRemoved(Task task) {
+        apply(task, -1);
+        onChange.run();
+    }
+
+    /**
+     * Ορίζει τη νέα τρέχουσα ημερομηνία και ξαναμετρά μόνο τις εργασίες με κοντινή προθεσμία.
+     *
+     * @param newToday η νέα ημερομηνία.
+     * @param candidates οι εργασίες με προθεσμία μέσα στο νέο παράθυρο (π.χ. από το DeadlineIndex).
+     */
+    public void dayChanged(LocalDate newToday, Collection<Task> candidates) {
+        today = newToday;
+        int count = 0;
+        for (Task task : candidates) {
+            if (isDueSoon(task)) {
+                count++;
+            }
+        }
+        dueSoon = count;
+        onChange.run();
+    }
+
+    /**
+     * Επιστρέφει αν μια εργασία δεν έχει ολοκληρωθεί και η προθεσμία της είναι σήμερα
+     * ή μέσα στις επόμενες DUE_SOON_DAYS ημέρες.
+     *
+     * @param task η εργασία.
+     * @return true αν η προθεσμία της εργασίας είναι κοντά.
+     */
+    public boolean isDueSoon(Task task) {
+        LocalDate deadline = task.getDeadline();
+        if (deadline == null || task.getStatus() == Status.COMPLETED) {
+            return false;
+        }
+        return !deadline.isBefore(today) && !deadline.isAfter(today.plusDays(DUE_SOON_DAYS));
+    }
+
+    /**
+     * Προσθέτει ή αφαιρεί τη συνεισφορά μιας εργασίας στους μετρητές.
+     *
+     * @param task η εργασία.
+     * @param delta 1 για προσθήκη, -1 για αφαίρεση.
+     */
+    private void apply(Task task, int delta) {
+        total += delta;
+        if (task.getStatus() == Status.COMPLETED) {
+            completed += delta;
+        } else if (task.getStatus() == Status.DELAYED) {
+            delayed += delta;
+        }
+        if (isDueSoon(task)) {
+            dueSoon += delta;
+        }
+    }
+
+    /**
+     * Επιστρέφει την ημερομηνία στην οποία αντιστοιχούν οι μετρητές.
+     *
+     * @return η τρέχουσα ημερομηνία των μετρητών.
+     */
+    public LocalDate getToday() {
+        return today;
+    }
+
+    /**
+     * Επιστρέφει το συνολικό πλήθος εργασιών.
+     *
+     * @return το πλήθος.
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Επιστρέφει το πλήθος των ολοκληρωμένων εργασιών.
+     *
+     * @return το πλήθος.
+     */
+    public int getCompleted() {
+        return completed;
+    }
+
+    /**
+     * Επιστρέφει το πλήθος των καθυστερημένων εργασιών.
+     *
+     * @return το πλήθος.
+     */
+    public int getDelayed() {
+        return delayed;
+    }
+
+    /**
+     * Επιστρέφει το πλήθος των εργασιών με κοντινή προθεσμία.
+     *
+     * @return το πλήθος.
+     */
+    public int getDueSoon() {
+        return dueSoon;
+    }
+}
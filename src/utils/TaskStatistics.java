@@ -0,0 +1,356 @@
+package utils;
+
+import model.Category;
+import model.Priority;
+import model.Status;
+import model.Task;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Η κλάση TaskStatistics κρατά συναθροίσεις των εργασιών για τον πίνακα στατιστικών (dashboard):
+ * πλήθη ανά κατηγορία × προτεραιότητα × κατάσταση και, για κάθε εβδομάδα ή μήνα προθεσμίας,
+ * το πλήθος των εργασιών και των ολοκληρωμένων (ιστόγραμμα προθεσμιών και ποσοστό ολοκλήρωσης).
+ * Οι συναθροίσεις υπολογίζονται μία φορά παράλληλα από το ScanEngine και στη συνέχεια
+ * ενημερώνονται σε O(log n) από το TaskStore, οπότε οι ερωτήσεις δεν σαρώνουν τις εργασίες.
+ * Οι μέθοδοι είναι synchronized, ώστε οι αναφορές να μπορούν να διαβάζονται και εκτός JavaFX thread.
+ */
+public class TaskStatistics implements TaskStore.Listener {
+
+    /**
+     * Η περίοδος στην οποία ομαδοποιούνται οι προθεσμίες.
+     */
+    public enum Period {
+        WEEK("Week"),
+        MONTH("Month");
+
+        private final String name;
+
+        /**
+         * Δημιουργεί μια περίοδο με το δοσμένο όνομα εμφάνισης.
+         *
+         * @param name το όνομα της περιόδου.
+         */
+        Period(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Επιστρέφει την αρχή της περιόδου που περιέχει μια ημερομηνία
+         * (τη Δευτέρα της εβδομάδας ή την πρώτη του μήνα).
+         *
+         * @param date η ημερομηνία.
+         * @return η αρχή της περιόδου.
+         */
+        public LocalDate start(LocalDate date) {
+            switch (this) {
+                case WEEK:
+                    return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                default:
+                    return date.withDayOfMonth(1);
+            }
+        }
+
+        /**
+         * Επιστρέφει το όνομα της περιόδου.
+         *
+         * @return το όνομα.
+         */
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * Μια ομάδα εργασιών με την ίδια κατηγορία, προτεραιότητα και κατάσταση, με το πλήθος της.
+     */
+    public static final class Group {
+        private final int categoryId;
+        private final int priorityId;
+        private final Status status;
+        private final int count;
+
+        private Group(int categoryId, int priorityId, Status status, int count) {
+            this.categoryId = categoryId;
+            this.priorityId = priorityId;
+            this.status = status;
+            this.count = count;
+        }
+
+        /**
+         * Επιστρέφει το όνομα της κατηγορίας της ομάδας.
+         *
+         * @return το όνομα ή κενή συμβολοσειρά αν η κατηγορία δεν υπάρχει πια.
+         */
+        public String getCategoryName() {
+            Category category = Category.byId(categoryId);
+            return (category != null) ? category.getName() : "";
+        }
+
+        /**
+         * Επιστρέφει το όνομα της προτεραιότητας της ομάδας.
+         *
+         * @return το όνομα (η "Default" αν η προτεραιότητα δεν υπάρχει πια).
+         */
+        public String getPriorityName() {
+            Priority priority = Priority.byId(priorityId);
+            return (priority != null) ? priority.getName() : Priority.DEFAULT.getName();
+        }
+
+        /**
+         * Επιστρέφει την κατάσταση της ομάδας.
+         *
+         * @return η κατάσταση.
+         */
+        public Status getStatus() {
+            return status;
+        }
+
+        /**
+         * Επιστρέφει το πλήθος των εργασιών της ομάδας.
+         *
+         * @return το πλήθος.
+         */
+        public int getCount() {
+            return count;
+        }
+    }
+
+    /**
+     * Οι συναθροίσεις ενός συνόλου εργασιών. Χρησιμοποιούνται και ως μερικά αποτελέσματα
+     * του αρχικού παράλληλου υπολογισμού, που συνδυάζονται με τη merge.
+     */
+    private static final class Aggregates {
+        /** Πλήθη ανά κατάσταση (θέση = ordinal) για κάθε ζεύγος κατηγορίας και προτεραιότητας */
+        private final Map<Long, int[]> groups = new HashMap<>();
+        /** Για κάθε περίοδο: {εργασίες, ολοκληρωμένες} ανά αρχή περιόδου προθεσμίας */
+        private final Map<Period, TreeMap<LocalDate, int[]>> buckets = new EnumMap<>(Period.class);
+
+        private Aggregates() {
+            for (Period period : Period.values()) {
+                buckets.put(period, new TreeMap<>());
+            }
+        }
+
+        /**
+         * Προσθέτει ή αφαιρεί τη συνεισφορά μιας εργασίας.
+         *
+         * @param task η εργασία.
+         * @param delta 1 για προσθήκη, -1 για αφαίρεση.
+         */
+        private void apply(Task task, int delta) {
+            long key = groupKey(task.getCategoryId(), task.getPriorityId());
+            int[] counts = groups.computeIfAbsent(key, _ -> new int[Status.values().length]);
+            counts[task.getStatus().ordinal()] += delta;
+            if (isEmpty(counts)) {
+                groups.remove(key);
+            }
+
+            LocalDate deadline = task.getDeadline();
+            if (deadline == null) {
+                return;
+            }
+            int completed = (task.getStatus() == Status.COMPLETED) ? delta : 0;
+            for (Map.Entry<Period, TreeMap<LocalDate, int[]>> entry : buckets.entrySet()) {
+                LocalDate start = entry.getKey().start(deadline);
+                int[] bucket = entry.getValue().computeIfAbsent(start, _ -> new int[2]);
+                bucket[0] += delta;
+                bucket[1] += completed;
+                if (bucket[0] == 0) {
+                    entry.getValue().remove(start);
+                }
+            }
+        }
+
+        /**
+         * Προσθέτει τις συναθροίσεις ενός άλλου μερικού αποτελέσματος σε αυτό.
+         *
+         * @param other το άλλο αποτέλεσμα.
+         * @return αυτό το αποτέλεσμα.
+         */
+        private Aggregates merge(Aggregates other) {
+            for (Map.Entry<Long, int[]> entry : other.groups.entrySet()) {
+                addAll(groups.computeIfAbsent(entry.getKey(), _ -> new int[Status.values().length]), entry.getValue());
+            }
+            for (Period period : Period.values()) {
+                TreeMap<LocalDate, int[]> target = buckets.get(period);
+                for (Map.Entry<LocalDate, int[]> entry : other.buckets.get(period).entrySet()) {
+                    addAll(target.computeIfAbsent(entry.getKey(), _ -> new int[2]), entry.getValue());
+                }
+            }
+            return this;
+        }
+    }
+
+    private final Runnable onChange;
+    private final Aggregates aggregates;
+
+    /**
+     * Υπολογίζει τις συναθροίσεις για τις δοσμένες εργασίες.
+     *
+     * @param tasks οι εργασίες της εφαρμογής.
+     * @param engine η μηχανή σάρωσης για τον αρχικό υπολογισμό.
+     * @param onChange καλείται μετά από κάθε αλλαγή των συναθροίσεων (π.χ. για την ενημέρωση του dashboard).
+     */
+    public TaskStatistics(List<Task> tasks, ScanEngine engine, Runnable onChange) {
+        this.onChange = onChange;
+        this.aggregates = engine.aggregate(tasks, Aggregates::new, (partial, task) -> partial.apply(task, 1),
+            Aggregates::merge);
+    }
+
+    /**
+     * Προσθέτει τη συνεισφορά μιας εργασίας που προστέθηκε.
+     *
+     * @param task η εργασία.
+     */
+    @Override
+    public void taskAdded(Task task) {
+        synchronized (this) {
+            aggregates.apply(task, 1);
+        }
+        onChange.run();
+    }
+
+    /**
+     * Αφαιρεί τη συνεισφορά μιας εργασίας που αφαιρέθηκε.
+     *
+     * @param task η εργασία.
+     */
+    @Override
+    public void taskRemoved(Task task) {
+        synchronized (this) {
+            aggregates.apply(task, -1);
+        }
+        onChange.run();
+    }
+
+    /**
+     * Μετρά τις εργασίες με τη δοσμένη κατηγορία, προτεραιότητα και κατάσταση.
+     * Ένα κριτήριο null σημαίνει οποιαδήποτε τιμή.
+     *
+     * @param categoryId ο κωδικός της κατηγορίας ή null.
+     * @param priorityId ο κωδικός της προτεραιότητας ή null.
+     * @param status η κατάσταση ή null.
+     * @return το πλήθος.
+     */
+    public synchronized int count(Integer categoryId, Integer priorityId, Status status) {
+        int total = 0;
+        for (Map.Entry<Long, int[]> entry : aggregates.groups.entrySet()) {
+            long key = entry.getKey();
+            if (categoryId != null && categoryId != (int) (key >> 32)) {
+                continue;
+            }
+            if (priorityId != null && priorityId != (int) key) {
+                continue;
+            }
+            int[] counts = entry.getValue();
+            if (status != null) {
+                total += counts[status.ordinal()];
+            } else {
+                for (int count : counts) {
+                    total += count;
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Επιστρέφει όλες τις μη κενές ομάδες κατηγορίας × προτεραιότητας × κατάστασης,
+     * από τη μεγαλύτερη στη μικρότερη.
+     *
+     * @return οι ομάδες.
+     */
+    public synchronized List<Group> groups() {
+        List<Group> result = new ArrayList<>();
+        for (Map.Entry<Long, int[]> entry : aggregates.groups.entrySet()) {
+            long key = entry.getKey();
+            int[] counts = entry.getValue();
+            for (Status status : Status.values()) {
+                if (counts[status.ordinal()] > 0) {
+                    result.add(new Group((int) (key >> 32), (int) key, status, counts[status.ordinal()]));
+                }
+            }
+        }
+        result.sort(Comparator.comparingInt(Group::getCount).reversed());
+        return result;
+    }
+
+    /**
+     * Επιστρέφει το ιστόγραμμα των προθεσμιών: το πλήθος των εργασιών ανά περίοδο.
+     *
+     * @param period η περίοδος ομαδοποίησης.
+     * @return τα πλήθη ανά αρχή περιόδου, με χρονολογική σειρά.
+     */
+    public synchronized SortedMap<LocalDate, Integer> deadlineHistogram(Period period) {
+        SortedMap<LocalDate, Integer> histogram = new TreeMap<>();
+        for (Map.Entry<LocalDate, int[]> entry : aggregates.buckets.get(period).entrySet()) {
+            histogram.put(entry.getKey(), entry.getValue()[0]);
+        }
+        return histogram;
+    }
+
+    /**
+     * Επιστρέφει τη χρονοσειρά του ποσοστού ολοκλήρωσης: για κάθε περίοδο προθεσμίας,
+     * το κλάσμα των εργασιών της που έχουν ολοκληρωθεί.
+     *
+     * @param period η περίοδος ομαδοποίησης.
+     * @return το ποσοστό (0 έως 1) ανά αρχή περιόδου, με χρονολογική σειρά.
+     */
+    public synchronized SortedMap<LocalDate, Double> completionRate(Period period) {
+        SortedMap<LocalDate, Double> series = new TreeMap<>();
+        for (Map.Entry<LocalDate, int[]> entry : aggregates.buckets.get(period).entrySet()) {
+            int[] bucket = entry.getValue();
+            series.put(entry.getKey(), (double) bucket[1] / bucket[0]);
+        }
+        return series;
+    }
+
+    /**
+     * Συνδυάζει τους κωδικούς κατηγορίας και προτεραιότητας σε ένα κλειδί.
+     *
+     * @param categoryId ο κωδικός της κατηγορίας.
+     * @param priorityId ο κωδικός της προτεραιότητας.
+     * @return το κλειδί.
+     */
+    private static long groupKey(int categoryId, int priorityId) {
+        return ((long) categoryId << 32) | (priorityId & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Προσθέτει τα στοιχεία ενός πίνακα στα αντίστοιχα ενός άλλου.
+     *
+     * @param target ο πίνακας που ενημερώνεται.
+     * @param values οι τιμές που προστίθενται.
+     */
+    private static void addAll(int[] target, int[] values) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] += values[i];
+        }
+    }
+
+    /**
+     * Ελέγχει αν όλα τα πλήθη ενός πίνακα είναι μηδέν.
+     *
+     * @param counts τα πλήθη.
+     * @return true αν ο πίνακας είναι κενός.
+     */
+    private static boolean isEmpty(int[] counts) {
+        for (int count : counts) {
+            if (count != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
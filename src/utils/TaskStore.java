@@ -0,0 +1,403 @@
+package utils;
+
+import javafx.collections.ObservableList;
+import model.Reminder;
+import model.Task;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Η κλάση TaskStore διαχειρίζεται τις εργασίες και τις υπενθυμίσεις της εφαρμογής.
+ * Εκτός από τις ObservableList που εμφανίζονται στο UI, κρατά ένα ευρετήριο κωδικός → εργασία
+ * και ένα αντίστροφο ευρετήριο εργασία → υπενθυμίσεις, ώστε η αναζήτηση μιας εργασίας και οι
+ * διαγραφές σε αλυσίδα (εργασία και υπενθυμίσεις της) να μη χρειάζονται εμφωλευμένες σαρώσεις.
+ * Επιπλέον κρατά λίστες εργασιών ανά κωδικό κατηγορίας και ανά κωδικό προτεραιότητας,
+ * ώστε η διαγραφή μιας κατηγορίας ή προτεραιότητας να βρίσκει απευθείας τις εργασίες της,
+ * και τη θέση κάθε εργασίας στη λίστα, ώστε η ενημέρωση και η διαγραφή να μη σαρώνουν τη λίστα.
+ * Άλλες δομές (π.χ. μετρητές) μπορούν να παρακολουθούν τις εργασίες μέσω ενός Listener.
+ * Όλες οι μεταβολές εργασιών και υπενθυμίσεων πρέπει να γίνονται μέσω αυτής της κλάσης.
+ */
+public class TaskStore {
+
+    /**
+     * Ο Listener ειδοποιείται για κάθε εργασία που προστίθεται ή αφαιρείται από το store.
+     * Μια επεξεργασία εργασίας αναφέρεται ως αφαίρεση (με τις παλιές τιμές) και στη συνέχεια
+     * προσθήκη (με τις νέες τιμές), ώστε ο listener να μπορεί να ενημερωθεί σε O(1).
+     * Οι listeners ειδοποιούνται πριν από την αλλαγή της ObservableList, ώστε τα ευρετήρια
+     * να είναι ήδη ενημερωμένα όταν την επεξεργαστούν οι πίνακες και τα φίλτρα του UI.
+     */
+    public interface Listener {
+
+        /**
+         * Καλείται όταν μια εργασία προστίθεται ή μετά την επεξεργασία της.
+         *
+         * @param task η εργασία.
+         */
+        void taskAdded(Task task);
+
+        /**
+         * Καλείται όταν μια εργασία αφαιρείται ή πριν από την επεξεργασία της.
+         *
+         * @param task η εργασία.
+         */
+        void taskRemoved(Task task);
+    }
+
+    private final ObservableList<Task> tasks;
+    private final ObservableList<Reminder> reminders;
+    private final Map<Long, Task> tasksById;
+    /** Η θέση κάθε εργασίας στη λίστα tasks, ανά κωδικό εργασίας */
+    private final Map<Long, Integer> positions = new HashMap<>();
+    private final Map<Long, List<Reminder>> remindersByTask = new HashMap<>();
+    private final Map<Integer, Set<Task>> tasksByCategory = new HashMap<>();
+    private final Map<Integer, Set<Task>> tasksByPriority = new HashMap<>();
+    private final List<Listener> listeners = new ArrayList<>();
+
+    /**
+     * Δημιουργεί το store πάνω στις δοσμένες λίστες και χτίζει τα ευρετήρια.
+     * Οι υπενθυμίσεις συνδέονται με τις εργασίες τους μέσω του κωδικού τους.
+     *
+     * @param tasks η λίστα των εργασιών.
+     * @param reminders η λίστα των υπενθυμίσεων.
+     */
+    public TaskStore(ObservableList<Task> tasks, ObservableList<Reminder> reminders) {
+        this.tasks = tasks;
+        this.reminders = reminders;
+        this.tasksById = DataManager.indexTasks(tasks);
+        DataManager.resolveReminders(reminders, tasksById);
+        for (Task task : tasks) {
+            indexTask(task);
+        }
+        for (Reminder reminder : reminders) {
+            indexReminder(reminder);
+        }
+        renumberFrom(0);
+    }
+
+    /**
+     * Προσθέτει έναν listener για τις μεταβολές των εργασιών.
+     *
+     * @param listener ο listener.
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Επιστρέφει τη λίστα των εργασιών.
+     *
+     * @return η ObservableList των εργασιών.
+     */
+    public ObservableList<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Επιστρέφει τη λίστα των υπενθυμίσεων.
+     *
+     * @return η ObservableList των υπενθυμίσεων.
+     */
+    public ObservableList<Reminder> getReminders() {
+        return reminders;
+    }
+
+    /**
+     * Επιστρέφει την εργασία με τον δοσμένο κωδικό.
+     *
+     * @param id ο κωδικός της εργασίας.
+     * @return η εργασία ή null αν δεν υπάρχει.
+     */
+    public Task findById(long id) {
+        return tasksById.get(id);
+    }
+
+    /**
+     * Επιστρέφει τις υπενθυμίσεις μιας εργασίας.
+     *
+     * @param task η εργασία.
+     * @return μια μη τροποποιήσιμη λίστα με τις υπενθυμίσεις της εργασίας.
+     */
+    public List<Reminder> getReminders(Task task) {
+        List<Reminder> taskReminders = remindersByTask.get(task.getId());
+        return taskReminders == null ? Collections.emptyList() : Collections.unmodifiableList(taskReminders);
+    }
+
+    /**
+     * Επιστρέφει τις εργασίες μιας κατηγορίας.
+     *
+     * @param categoryId ο κωδικός της κατηγορίας.
+     * @return ένα αντίγραφο του συνόλου των εργασιών της κατηγορίας.
+     */
+    public List<Task> getTasksInCategory(int categoryId) {
+        Set<Task> categoryTasks = tasksByCategory.get(categoryId);
+        return categoryTasks == null ? Collections.emptyList() : new ArrayList<>(categoryTasks);
+    }
+
+    /**
+     * Επιστρέφει τις εργασίες μιας προτεραιότητας.
+     *
+     * @param priorityId ο κωδικός της προτεραιότητας.
+     * @return ένα αντίγραφο του συνόλου των εργασιών της προτεραιότητας.
+     */
+    public List<Task> getTasksWithPriority(int priorityId) {
+        Set<Task> priorityTasks = tasksByPriority.get(priorityId);
+        return priorityTasks == null ? Collections.emptyList() : new ArrayList<>(priorityTasks);
+    }
+
+    /**
+     * Προσθέτει μια νέα εργασία.
+     *
+     * @param task η εργασία.
+     */
+    public void addTask(Task task) {
+        tasksById.put(task.getId(), task);
+        indexTask(task);
+        fireAdded(task);
+        positions.put(task.getId(), tasks.size());
+        tasks.add(task);
+    }
+
+    /**
+     * Εφαρμόζει μια αλλαγή σε μια εργασία και ενημερώνει τη λίστα,
+     * ώστε η αλλαγή να φτάσει στους πίνακες και στο journal.
+     *
+     * @param task η εργασία που αλλάζει.
+     * @param change η αλλαγή που εφαρμόζεται στην εργασία.
+     */
+    public void updateTask(Task task, Consumer<Task> change) {
+        unindexTask(task);
+        fireRemoved(task);
+        change.accept(task);
+        indexTask(task);
+        fireAdded(task);
+        int index = positionOf(task);
+        if (index >= 0) {
+            tasks.set(index, task);
+        }
+    }
+
+    /**
+     * Εφαρμόζει την ίδια αλλαγή σε πολλές εργασίες. Τα ευρετήρια ενημερώνονται για κάθε εργασία,
+     * ενώ η λίστα ενημερώνεται στο τέλος, μόνο στις θέσεις των εργασιών που άλλαξαν.
+     *
+     * @param changed οι εργασίες που αλλάζουν.
+     * @param change η αλλαγή που εφαρμόζεται σε κάθε εργασία.
+     */
+    public void updateTasks(Collection<Task> changed, Consumer<Task> change) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        Set<Task> batch = new HashSet<>(changed);
+        for (Task task : batch) {
+            unindexTask(task);
+            fireRemoved(task);
+            change.accept(task);
+            indexTask(task);
+            fireAdded(task);
+        }
+        for (Task task : batch) {
+            int index = positionOf(task);
+            if (index >= 0) {
+                tasks.set(index, task);
+            }
+        }
+    }
+
+    /**
+     * Εφαρμόζει μια αλλαγή που επηρεάζει τη θέση των δοσμένων εργασιών στα ευρετήρια χωρίς να αλλάζει
+     * τις ίδιες τις εργασίες (π.χ. τον βαθμό της προτεραιότητάς τους). Οι listeners ειδοποιούνται για
+     * την αφαίρεση όλων των εργασιών πριν από την αλλαγή και για την προσθήκη τους μετά από αυτή.
+     *
+     * @param affected οι εργασίες που επηρεάζονται.
+     * @param change η αλλαγή.
+     */
+    public void reindexTasks(Collection<Task> affected, Runnable change) {
+        for (Task task : affected) {
+            fireRemoved(task);
+        }
+        change.run();
+        for (Task task : affected) {
+            fireAdded(task);
+        }
+    }
+
+    /**
+     * Διαγράφει μια εργασία μαζί με τις υπενθυμίσεις της.
+     *
+     * @param task η εργασία προς διαγραφή.
+     */
+    public void removeTask(Task task) {
+        removeTasks(Collections.singletonList(task));
+    }
+
+    /**
+     * Διαγράφει τις δοσμένες εργασίες μαζί με τις υπενθυμίσεις τους.
+     * Οι υπενθυμίσεις βρίσκονται από το αντίστροφο ευρετήριο και οι λίστες καθαρίζονται
+     * με ένα πέρασμα η καθεμία, χρησιμοποιώντας σύνολα για τον έλεγχο συμμετοχής· μία μόνο εργασία
+     * αφαιρείται απευθείας από τη θέση της. Οι θέσεις ενημερώνονται από την πρώτη θέση που άδειασε.
+     *
+     * @param toRemove οι εργασίες προς διαγραφή.
+     */
+    public void removeTasks(Collection<Task> toRemove) {
+        if (toRemove.isEmpty()) {
+            return;
+        }
+        Set<Task> removedTasks = new HashSet<>(toRemove);
+        Set<Reminder> removedReminders = new HashSet<>();
+        int first = tasks.size();
+        for (Task task : removedTasks) {
+            int index = positionOf(task);
+            if (index >= 0 && index < first) {
+                first = index;
+            }
+        }
+        for (Task task : removedTasks) {
+            positions.remove(task.getId());
+            List<Reminder> taskReminders = remindersByTask.remove(task.getId());
+            if (taskReminders != null) {
+                removedReminders.addAll(taskReminders);
+            }
+            tasksById.remove(task.getId());
+            unindexTask(task);
+            fireRemoved(task);
+        }
+        if (!removedReminders.isEmpty()) {
+            reminders.removeAll(removedReminders);
+        }
+        if (removedTasks.size() == 1 && first < tasks.size()) {
+            tasks.remove(first);
+        } else {
+            tasks.removeAll(removedTasks);
+        }
+        renumberFrom(first);
+    }
+
+    /**
+     * Προσθέτει μια νέα υπενθύμιση.
+     *
+     * @param reminder η υπενθύμιση.
+     */
+    public void addReminder(Reminder reminder) {
+        indexReminder(reminder);
+        reminders.add(reminder);
+    }
+
+    /**
+     * Διαγράφει μια υπενθύμιση.
+     *
+     * @param reminder η υπενθύμιση προς διαγραφή.
+     */
+    public void removeReminder(Reminder reminder) {
+        List<Reminder> taskReminders = remindersByTask.get(reminder.getTaskId());
+        if (taskReminders != null) {
+            taskReminders.remove(reminder);
+            if (taskReminders.isEmpty()) {
+                remindersByTask.remove(reminder.getTaskId());
+            }
+        }
+        reminders.remove(reminder);
+    }
+
+    /**
+     * Επιστρέφει τη θέση μιας εργασίας στη λίστα. Αν η λίστα άλλαξε χωρίς να περάσει από το store,
+     * οι θέσεις ξαναχτίζονται.
+     *
+     * @param task η εργασία.
+     * @return η θέση της εργασίας ή -1 αν δεν υπάρχει στη λίστα.
+     */
+    private int positionOf(Task task) {
+        Integer index = positions.get(task.getId());
+        if (index == null || index >= tasks.size() || tasks.get(index) != task) {
+            positions.clear();
+            renumberFrom(0);
+            index = positions.get(task.getId());
+            if (index == null || tasks.get(index) != task) {
+                return -1;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Ενημερώνει τις θέσεις των εργασιών από τη δοσμένη θέση της λίστας και μετά.
+     *
+     * @param from η πρώτη θέση που ενημερώνεται.
+     */
+    private void renumberFrom(int from) {
+        for (int i = from; i < tasks.size(); i++) {
+            positions.put(tasks.get(i).getId(), i);
+        }
+    }
+
+    /**
+     * Ειδοποιεί τους listeners για μια εργασία που προστέθηκε.
+     *
+     * @param task η εργασία.
+     */
+    private void fireAdded(Task task) {
+        for (Listener listener : listeners) {
+            listener.taskAdded(task);
+        }
+    }
+
+    /**
+     * Ειδοποιεί τους listeners για μια εργασία που αφαιρέθηκε.
+     *
+     * @param task η εργασία.
+     */
+    private void fireRemoved(Task task) {
+        for (Listener listener : listeners) {
+            listener.taskRemoved(task);
+        }
+    }
+
+    /**
+     * Προσθέτει μια εργασία στις λίστες της κατηγορίας και της προτεραιότητάς της.
+     *
+     * @param task η εργασία.
+     */
+    private void indexTask(Task task) {
+        tasksByCategory.computeIfAbsent(task.getCategoryId(), _ -> new HashSet<>()).add(task);
+        tasksByPriority.computeIfAbsent(task.getPriorityId(), _ -> new HashSet<>()).add(task);
+    }
+
+    /**
+     * Αφαιρεί μια εργασία από τις λίστες της κατηγορίας και της προτεραιότητάς της.
+     *
+     * @param task η εργασία.
+     */
+    private void unindexTask(Task task) {
+        removePosting(tasksByCategory, task.getCategoryId(), task);
+        removePosting(tasksByPriority, task.getPriorityId(), task);
+    }
+
+    /**
+     * Αφαιρεί μια εργασία από τη λίστα ενός κωδικού, διαγράφοντας τη λίστα αν αδειάσει.
+     *
+     * @param postings οι λίστες εργασιών ανά κωδικό.
+     * @param key ο κωδικός.
+     * @param task η εργασία.
+     */
+    private static void removePosting(Map<Integer, Set<Task>> postings, int key, Task task) {
+        Set<Task> keyTasks = postings.get(key);
+        if (keyTasks != null && keyTasks.remove(task) && keyTasks.isEmpty()) {
+            postings.remove(key);
+        }
+    }
+
+    /**
+     * Προσθέτει μια υπενθύμιση στο αντίστροφο ευρετήριο της εργασίας της.
+     *
+     * @param reminder η υπενθύμιση.
+     */
+    private void indexReminder(Reminder reminder) {
+        remindersByTask.computeIfAbsent(reminder.getTaskId(), _ -> new ArrayList<>(2)).add(reminder);
+    }
+}
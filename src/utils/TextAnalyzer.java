@@ -0,0 +1,64 @@
+package utils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Η κλάση TextAnalyzer μετατρέπει ένα κείμενο σε λέξεις (tokens) για την αναζήτηση πλήρους κειμένου.
+ * Το κείμενο χωρίζεται σε ακολουθίες γραμμάτων και ψηφίων και κάθε λέξη κανονικοποιείται:
+ * αφαιρούνται οι τόνοι και τα διαλυτικά (π.χ. "Εργασία" → "εργασια"), τα γράμματα γίνονται πεζά
+ * και το τελικό σίγμα (ς) γίνεται σ, ώστε η αναζήτηση να μην εξαρτάται από τονισμό ή κεφαλαία.
+ */
+public final class TextAnalyzer {
+    /** Το μέγιστο μήκος μιας λέξης· μεγαλύτερες λέξεις περικόπτονται */
+    private static final int MAX_TOKEN_LENGTH = 64;
+
+    private TextAnalyzer() {
+    }
+
+    /**
+     * Κανονικοποιεί μια λέξη ή ένα κείμενο: αφαίρεση τόνων/διαλυτικών, πεζά γράμματα, ς → σ.
+     *
+     * @param text το κείμενο.
+     * @return το κανονικοποιημένο κείμενο.
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder result = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            c = Character.toLowerCase(c);
+            result.append(c == 'ς' ? 'σ' : c);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Χωρίζει ένα κείμενο σε κανονικοποιημένες λέξεις, με τη σειρά που εμφανίζονται.
+     *
+     * @param text το κείμενο.
+     * @return οι λέξεις του κειμένου.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        String normalized = normalize(text);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(normalized.substring(start, Math.min(i, start + MAX_TOKEN_LENGTH)));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,172 @@
+package utils;
+
+import model.Task;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Η κλάση TitleIndex είναι ένα ανεστραμμένο ευρετήριο τριγράμμων (trigrams) πάνω στους τίτλους
+ * των εργασιών. Κάθε τίτλος κανονικοποιείται (πεζά γράμματα) μία φορά, όταν η εργασία προστίθεται
+ * ή αλλάζει, και κάθε τρίγραμμά του δείχνει στο σύνολο των εργασιών που το περιέχουν.
+ * Η αναζήτηση υποσυμβολοσειράς τέμνει τις λίστες των τριγράμμων του ερωτήματος, ξεκινώντας
+ * από τη μικρότερη, και επιβεβαιώνει μόνο τους υποψηφίους, αντί να σαρώνει όλες τις εργασίες.
+ * Το ευρετήριο ενημερώνεται από το TaskStore (JavaFX thread), ενώ οι αναζητήσεις μπορούν να γίνονται
+ * από το νήμα του FilterPipeline· γι' αυτό οι δημόσιες μέθοδοι είναι synchronized.
+ */
+public class TitleIndex implements TaskStore.Listener {
+    /** Το μήκος των n-grams του ευρετηρίου */
+    private static final int GRAM = 3;
+
+    private final Map<Long, Set<Task>> postings = new HashMap<>();
+    private final Map<Task, String> normalizedTitles = new HashMap<>();
+
+    /**
+     * Δημιουργεί το ευρετήριο για τις δοσμένες εργασίες.
+     *
+     * @param tasks οι εργασίες της εφαρμογής.
+     */
+    public TitleIndex(Collection<Task> tasks) {
+        for (Task task : tasks) {
+            index(task);
+        }
+    }
+
+    /**
+     * Κανονικοποιεί έναν τίτλο ή ένα ερώτημα αναζήτησης (πεζά γράμματα).
+     *
+     * @param text το κείμενο.
+     * @return το κανονικοποιημένο κείμενο.
+     */
+    public static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Προσθέτει μια εργασία στο ευρετήριο.
+     *
+     * @param task η εργασία.
+     */
+    @Override
+    public synchronized void taskAdded(Task task) {
+        index(task);
+    }
+
+    /**
+     * Αφαιρεί μια εργασία από το ευρετήριο.
+     *
+     * @param task η εργασία.
+     */
+    @Override
+    public synchronized void taskRemoved(Task task) {
+        String title = normalizedTitles.remove(task);
+        if (title == null) {
+            return;
+        }
+        for (int i = 0; i + GRAM <= title.length(); i++) {
+            long gram = gramAt(title, i);
+            Set<Task> gramTasks = postings.get(gram);
+            if (gramTasks != null && gramTasks.remove(task) && gramTasks.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * Επιστρέφει τις εργασίες των οποίων ο τίτλος περιέχει το δοσμένο κείμενο (χωρίς διάκριση πεζών-κεφαλαίων).
+     * Για ερωτήματα με τουλάχιστον τρεις χαρακτήρες χρησιμοποιούνται οι λίστες των τριγράμμων·
+     * για μικρότερα ερωτήματα ελέγχονται οι ήδη κανονικοποιημένοι τίτλοι.
+     *
+     * @param query το κείμενο αναζήτησης.
+     * @return ένα νέο σύνολο με τις εργασίες που ταιριάζουν.
+     */
+    public synchronized Set<Task> search(String query) {
+        String normalizedQuery = normalize(query);
+        Set<Task> result = new HashSet<>();
+        if (normalizedQuery.length() < GRAM) {
+            for (Map.Entry<Task, String> entry : normalizedTitles.entrySet()) {
+                if (entry.getValue().contains(normalizedQuery)) {
+                    result.add(entry.getKey());
+                }
+            }
+            return result;
+        }
+
+        List<Set<Task>> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM <= normalizedQuery.length(); i++) {
+            Set<Task> gramTasks = postings.get(gramAt(normalizedQuery, i));
+            if (gramTasks == null) {
+                return result;
+            }
+            lists.add(gramTasks);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        // Τομή ξεκινώντας από τη μικρότερη λίστα και επιβεβαίωση της υποσυμβολοσειράς
+        candidates:
+        for (Task task : lists.get(0)) {
+            for (int i = 1; i < lists.size(); i++) {
+                if (!lists.get(i).contains(task)) {
+                    continue candidates;
+                }
+            }
+            if (normalizedTitles.get(task).contains(normalizedQuery)) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Εκτιμά πόσες εργασίες θα χρειαστεί να ελεγχθούν για ένα ερώτημα, χωρίς να το εκτελέσει:
+     * το μέγεθος της μικρότερης λίστας τριγράμμων ή όλες οι εργασίες για ερωτήματα κάτω από τρεις χαρακτήρες.
+     *
+     * @param query το κείμενο αναζήτησης.
+     * @return ένα άνω όριο του πλήθους των αποτελεσμάτων.
+     */
+    public synchronized int estimate(String query) {
+        String normalizedQuery = normalize(query);
+        if (normalizedQuery.length() < GRAM) {
+            return normalizedTitles.size();
+        }
+        int smallest = Integer.MAX_VALUE;
+        for (int i = 0; i + GRAM <= normalizedQuery.length(); i++) {
+            Set<Task> gramTasks = postings.get(gramAt(normalizedQuery, i));
+            if (gramTasks == null) {
+                return 0;
+            }
+            smallest = Math.min(smallest, gramTasks.size());
+        }
+        return smallest;
+    }
+
+    /**
+     * Κανονικοποιεί τον τίτλο μιας εργασίας και την προσθέτει στις λίστες των τριγράμμων του.
+     *
+     * @param task η εργασία.
+     */
+    private void index(Task task) {
+        String title = normalize(task.getTitle());
+        normalizedTitles.put(task, title);
+        for (int i = 0; i + GRAM <= title.length(); i++) {
+            postings.computeIfAbsent(gramAt(title, i), _ -> new HashSet<>(4)).add(task);
+        }
+    }
+
+    /**
+     * Επιστρέφει το τρίγραμμο που ξεκινά στη δοσμένη θέση, πακεταρισμένο σε έναν long.
+     *
+     * @param text το κείμενο.
+     * @param start η θέση έναρξης.
+     * @return το τρίγραμμο ως αριθμός.
+     */
+    private static long gramAt(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+}
@@ -0,0 +1,165 @@
+package utils.delivery;
+
+import model.Reminder;
+import model.Task;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Η κλάση Delivery αναπαριστά την παράδοση μιας υπενθύμισης που ενεργοποιήθηκε.
+ * Κρατά αντίγραφο των στοιχείων της υπενθύμισης (και όχι αναφορά σε αυτήν), ώστε να μπορεί να
+ * παραδοθεί ξανά μετά από επανεκκίνηση ακόμη κι αν η υπενθύμιση ή η εργασία έχουν διαγραφεί, καθώς
+ * και τα ονόματα των sinks που δεν την έχουν παραλάβει ακόμη. Αποθηκεύεται στο deliveries.json.
+ */
+public class Delivery {
+    private String id;
+    private long taskId;
+    private String taskTitle;
+    private String reminderName;
+    private LocalDate reminderDate;
+    private long firedAt;
+    private Set<String> remaining;
+
+    /**
+     * Δημιουργεί την παράδοση μιας υπενθύμισης προς τα δοσμένα sinks.
+     *
+     * @param reminder η υπενθύμιση.
+     * @param firedAt η στιγμή (σε ms) που ενεργοποιήθηκε η υπενθύμιση.
+     * @param sinks τα ονόματα των sinks.
+     */
+    public Delivery(Reminder reminder, long firedAt, Collection<String> sinks) {
+        Task task = reminder.getTask();
+        this.id = UUID.randomUUID().toString();
+        this.taskId = reminder.getTaskId();
+        this.taskTitle = (task != null) ? task.getTitle() : "";
+        this.reminderName = reminder.getName();
+        this.reminderDate = reminder.getReminderDate();
+        this.firedAt = firedAt;
+        this.remaining = new LinkedHashSet<>(sinks);
+    }
+
+    /**
+     * Δημιουργεί ένα αντίγραφο μιας παράδοσης, για αποθήκευση ενώ η αρχική συνεχίζει να αλλάζει.
+     *
+     * @param other η παράδοση.
+     */
+    Delivery(Delivery other) {
+        this.id = other.id;
+        this.taskId = other.taskId;
+        this.taskTitle = other.taskTitle;
+        this.reminderName = other.reminderName;
+        this.reminderDate = other.reminderDate;
+        this.firedAt = other.firedAt;
+        this.remaining = new LinkedHashSet<>(other.remaining);
+    }
+
+    /**
+     * Επιστρέφει τον μοναδικό κωδικό της παράδοσης, που μένει ίδιος σε κάθε επανάληψη,
+     * ώστε τα sinks να μπορούν να αναγνωρίζουν τις διπλές παραδόσεις.
+     *
+     * @return ο κωδικός.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Επιστρέφει τον κωδικό της εργασίας της υπενθύμισης.
+     *
+     * @return ο κωδικός της εργασίας.
+     */
+    public long getTaskId() {
+        return taskId;
+    }
+
+    /**
+     * Επιστρέφει τον τίτλο της εργασίας τη στιγμή που ενεργοποιήθηκε η υπενθύμιση.
+     *
+     * @return ο τίτλος.
+     */
+    public String getTaskTitle() {
+        return taskTitle;
+    }
+
+    /**
+     * Επιστρέφει το όνομα της υπενθύμισης.
+     *
+     * @return το όνομα.
+     */
+    public String getReminderName() {
+        return reminderName;
+    }
+
+    /**
+     * Επιστρέφει την ημερομηνία της υπενθύμισης.
+     *
+     * @return η ημερομηνία.
+     */
+    public LocalDate getReminderDate() {
+        return reminderDate;
+    }
+
+    /**
+     * Επιστρέφει τη στιγμή (σε ms) που ενεργοποιήθηκε η υπενθύμιση.
+     *
+     * @return η στιγμή.
+     */
+    public long getFiredAt() {
+        return firedAt;
+    }
+
+    /**
+     * Επιστρέφει τα ονόματα των sinks που δεν έχουν παραλάβει ακόμη την παράδοση.
+     * Η πρόσβαση πρέπει να γίνεται υπό το lock του DeliveryPipeline.
+     *
+     * @return τα ονόματα.
+     */
+    Set<String> getRemaining() {
+        return remaining;
+    }
+
+    /**
+     * Επιστρέφει το θέμα του μηνύματος της υπενθύμισης.
+     *
+     * @return το θέμα.
+     */
+    public String getSubject() {
+        return "Reminder: " + reminderName;
+    }
+
+    /**
+     * Επιστρέφει το κείμενο του μηνύματος της υπενθύμισης.
+     *
+     * @return το κείμενο.
+     */
+    public String getBody() {
+        return "Reminder: " + reminderName + "\nFor Task: " + taskTitle + "\nDate: " + reminderDate + "\n";
+    }
+
+    /**
+     * Επιστρέφει την υπενθύμιση ως μήνυμα e-mail (RFC 5322, γραμμές με CRLF). Το Message-ID
+     * προκύπτει από τον κωδικό της παράδοσης, ώστε οι επαναλήψεις να αναγνωρίζονται ως ίδιο μήνυμα.
+     *
+     * @param from ο αποστολέας.
+     * @param to ο παραλήπτης.
+     * @return το μήνυμα.
+     */
+    public String toMail(String from, String to) {
+        String headers = "From: " + from + "\n"
+            + "To: " + to + "\n"
+            + "Subject: " + getSubject() + "\n"
+            + "Date: " + DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                ZonedDateTime.ofInstant(Instant.ofEpochMilli(firedAt), ZoneOffset.UTC)) + "\n"
+            + "Message-ID: <" + id + "@medialab>\n"
+            + "Content-Type: text/plain; charset=UTF-8\n"
+            + "\n";
+        return (headers + getBody()).replace("\n", "\r\n");
+    }
+}
@@ -0,0 +1,383 @@
+package utils.delivery;
+
+import model.Reminder;
+import utils.DataManager;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Η κλάση DeliveryPipeline παραδίδει κάθε υπενθύμιση που ενεργοποιείται σε όλα τα εγγεγραμμένα sinks.
+ * Κάθε ζεύγος υπενθύμισης και sink εκτελείται σε δικό του virtual thread, με όριο ταυτόχρονων παραδόσεων
+ * ανά sink, και όταν αποτυγχάνει επαναλαμβάνεται με εκθετικά αυξανόμενη αναμονή (backoff).
+ *
+ * Η παράδοση είναι at-least-once: πριν ξεκινήσει, η παράδοση καταγράφεται στο deliveries.json μαζί με τα
+ * sinks που δεν την έχουν παραλάβει, και κάθε sink αφαιρείται μόνο αφού την παραλάβει. Έτσι όσες παραδόσεις
+ * δεν ολοκληρώθηκαν (κλείσιμο της εφαρμογής, εξάντληση των προσπαθειών) ξαναγίνονται στην επόμενη εκκίνηση.
+ * Οι εγγραφές του αρχείου μετά από κάθε παραλαβή συγχωνεύονται σε ένα ξεχωριστό νήμα.
+ */
+public class DeliveryPipeline {
+
+    /** Το προκαθορισμένο μέγιστο πλήθος προσπαθειών ανά sink */
+    public static final int DEFAULT_MAX_ATTEMPTS = Integer.getInteger("medialab.deliveryAttempts", 5);
+
+    /** Η προκαθορισμένη αναμονή πριν από τη δεύτερη προσπάθεια· διπλασιάζεται σε κάθε επόμενη */
+    public static final Duration DEFAULT_INITIAL_BACKOFF =
+        Duration.ofMillis(Long.getLong("medialab.deliveryBackoffMillis", 1000));
+
+    /** Η προκαθορισμένη μέγιστη αναμονή μεταξύ δύο προσπαθειών */
+    public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofMinutes(1);
+
+    /** Το προκαθορισμένο μέγιστο πλήθος ταυτόχρονων παραδόσεων ανά sink */
+    public static final int DEFAULT_SINK_CONCURRENCY = Integer.getInteger("medialab.sinkConcurrency", 8);
+
+    /**
+     * Η κλάση SinkMetrics κρατά τα στατιστικά παράδοσης ενός sink.
+     */
+    public static class SinkMetrics {
+        private final AtomicLong delivered = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong exhausted = new AtomicLong();
+        private final AtomicLong totalLatency = new AtomicLong();
+        private final AtomicLong maxLatency = new AtomicLong();
+
+        /**
+         * Επιστρέφει το πλήθος των επιτυχημένων παραδόσεων.
+         *
+         * @return το πλήθος.
+         */
+        public long getDelivered() {
+            return delivered.get();
+        }
+
+        /**
+         * Επιστρέφει το πλήθος των προσπαθειών που απέτυχαν.
+         *
+         * @return το πλήθος.
+         */
+        public long getFailures() {
+            return failures.get();
+        }
+
+        /**
+         * Επιστρέφει το πλήθος των παραδόσεων που εξάντλησαν τις προσπάθειές τους και έμειναν εκκρεμείς.
+         *
+         * @return το πλήθος.
+         */
+        public long getExhausted() {
+            return exhausted.get();
+        }
+
+        /**
+         * Επιστρέφει τη μέση καθυστέρηση (σε ms) από την ενεργοποίηση της υπενθύμισης έως την παράδοση.
+         *
+         * @return η μέση καθυστέρηση ή 0 αν δεν έχει γίνει καμία παράδοση.
+         */
+        public long getAverageLatency() {
+            long count = delivered.get();
+            return (count == 0) ? 0 : totalLatency.get() / count;
+        }
+
+        /**
+         * Επιστρέφει τη μέγιστη καθυστέρηση (σε ms) από την ενεργοποίηση της υπενθύμισης έως την παράδοση.
+         *
+         * @return η μέγιστη καθυστέρηση.
+         */
+        public long getMaxLatency() {
+            return maxLatency.get();
+        }
+
+        /**
+         * Καταγράφει μια επιτυχημένη παράδοση.
+         *
+         * @param latency η καθυστέρηση σε ms.
+         */
+        private void delivered(long latency) {
+            delivered.incrementAndGet();
+            totalLatency.addAndGet(latency);
+            maxLatency.accumulateAndGet(latency, Math::max);
+        }
+
+        @Override
+        public String toString() {
+            return getDelivered() + " delivered, " + getFailures() + " failed attempts, " + getExhausted()
+                + " exhausted, latency avg " + getAverageLatency() + " ms, max " + getMaxLatency() + " ms";
+        }
+    }
+
+    /**
+     * Ένα εγγεγραμμένο sink, με το όριο ταυτόχρονων παραδόσεων και τα στατιστικά του.
+     */
+    private static class Registration {
+        private final ReminderSink sink;
+        private final Semaphore permits;
+        private final SinkMetrics metrics = new SinkMetrics();
+
+        private Registration(ReminderSink sink, int concurrency) {
+            this.sink = sink;
+            this.permits = new Semaphore(Math.max(1, concurrency));
+        }
+    }
+
+    private final Clock clock;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    /** Τα εγγεγραμμένα sinks ανά όνομα */
+    private final Map<String, Registration> sinks = new LinkedHashMap<>();
+    /** Οι παραδόσεις που δεν έχουν ολοκληρωθεί σε όλα τα sinks, ανά κωδικό */
+    private final Map<String, Delivery> pending = new LinkedHashMap<>();
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final ExecutorService ledgerWriter;
+    /** Αν έχει ήδη ζητηθεί αποθήκευση του deliveries.json που δεν έχει εκτελεστεί */
+    private boolean saveQueued;
+    /** Σειριοποιεί τις εγγραφές του deliveries.json, ώστε ένα παλαιότερο αντίγραφο να μη γράφεται μετά από νεότερο */
+    private final Object ledgerLock = new Object();
+
+    /**
+     * Δημιουργεί το pipeline. Τα sinks εγγράφονται με τη register πριν από την start.
+     *
+     * @param clock το ρολόι για τη στιγμή ενεργοποίησης και την καθυστέρηση παράδοσης.
+     * @param maxAttempts το μέγιστο πλήθος προσπαθειών ανά sink.
+     * @param initialBackoff η αναμονή πριν από τη δεύτερη προσπάθεια.
+     * @param maxBackoff η μέγιστη αναμονή μεταξύ δύο προσπαθειών.
+     */
+    public DeliveryPipeline(Clock clock, int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+        this.clock = clock;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.ledgerWriter = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "delivery-ledger");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Εγγράφει ένα sink με το προκαθορισμένο όριο ταυτόχρονων παραδόσεων.
+     *
+     * @param sink το sink.
+     */
+    public void register(ReminderSink sink) {
+        register(sink, DEFAULT_SINK_CONCURRENCY);
+    }
+
+    /**
+     * Εγγράφει ένα sink.
+     *
+     * @param sink το sink.
+     * @param concurrency το μέγιστο πλήθος ταυτόχρονων παραδόσεων στο sink.
+     */
+    public synchronized void register(ReminderSink sink, int concurrency) {
+        sinks.put(sink.getName(), new Registration(sink, concurrency));
+    }
+
+    /**
+     * Φορτώνει τις εκκρεμείς παραδόσεις από το deliveries.json και τις ξαναξεκινά. Τα sinks
+     * που δεν είναι πλέον εγγεγραμμένα αφαιρούνται από τις παραδόσεις.
+     */
+    public void start() {
+        List<Delivery> recovered = new ArrayList<>();
+        synchronized (this) {
+            for (Delivery delivery : DataManager.loadDeliveries()) {
+                delivery.getRemaining().retainAll(sinks.keySet());
+                if (!delivery.getRemaining().isEmpty()) {
+                    pending.put(delivery.getId(), delivery);
+                    recovered.add(delivery);
+                }
+            }
+        }
+        requestSave();
+        for (Delivery delivery : recovered) {
+            submit(delivery);
+        }
+    }
+
+    /**
+     * Παραδίδει μια παρτίδα υπενθυμίσεων σε όλα τα sinks. Επιστρέφει αφού οι παραδόσεις καταγραφούν
+     * στο deliveries.json, χωρίς να περιμένει τα sinks. Πρέπει να καλείται από το νήμα που τροποποιεί
+     * τις εργασίες (JavaFX thread), γιατί οι παραδόσεις αντιγράφουν τα στοιχεία τους.
+     *
+     * @param reminders οι υπενθυμίσεις που ενεργοποιήθηκαν.
+     */
+    public void dispatch(List<Reminder> reminders) {
+        List<Delivery> deliveries = new ArrayList<>(reminders.size());
+        synchronized (this) {
+            if (sinks.isEmpty() || workers.isShutdown()) {
+                return;
+            }
+            long now = clock.millis();
+            for (Reminder reminder : reminders) {
+                Delivery delivery = new Delivery(reminder, now, sinks.keySet());
+                pending.put(delivery.getId(), delivery);
+                deliveries.add(delivery);
+            }
+        }
+        saveLedger();
+        for (Delivery delivery : deliveries) {
+            submit(delivery);
+        }
+    }
+
+    /**
+     * Επιστρέφει το πλήθος των παραδόσεων που δεν έχουν ολοκληρωθεί σε όλα τα sinks.
+     *
+     * @return το πλήθος.
+     */
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    /**
+     * Επιστρέφει τα στατιστικά ενός sink.
+     *
+     * @param name το όνομα του sink.
+     * @return τα στατιστικά ή null αν δεν υπάρχει τέτοιο sink.
+     */
+    public synchronized SinkMetrics getMetrics(String name) {
+        Registration registration = sinks.get(name);
+        return (registration != null) ? registration.metrics : null;
+    }
+
+    /**
+     * Σταματά τις παραδόσεις που βρίσκονται σε εξέλιξη και αποθηκεύει όσες δεν ολοκληρώθηκαν,
+     * ώστε να ξαναγίνουν στην επόμενη εκκίνηση.
+     */
+    public void shutdown() {
+        workers.shutdownNow();
+        ledgerWriter.shutdown();
+        try {
+            ledgerWriter.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        saveLedger();
+    }
+
+    /**
+     * Επιστρέφει τα στατιστικά όλων των sinks, ένα ανά γραμμή.
+     *
+     * @return τα στατιστικά.
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuilder builder = new StringBuilder("Delivery pipeline: " + pending.size() + " pending");
+        for (Registration registration : sinks.values()) {
+            builder.append('\n').append(registration.sink.getName()).append(": ").append(registration.metrics);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Ξεκινά ένα virtual thread για κάθε sink που δεν έχει παραλάβει ακόμη την παράδοση.
+     *
+     * @param delivery η παράδοση.
+     */
+    private void submit(Delivery delivery) {
+        List<Registration> targets = new ArrayList<>();
+        synchronized (this) {
+            for (String name : delivery.getRemaining()) {
+                targets.add(sinks.get(name));
+            }
+        }
+        for (Registration registration : targets) {
+            workers.execute(() -> deliver(delivery, registration));
+        }
+    }
+
+    /**
+     * Παραδίδει μια υπενθύμιση σε ένα sink, με επαναλήψεις και αυξανόμενη αναμονή μεταξύ τους.
+     * Κατά την αναμονή η άδεια του sink αποδεσμεύεται, ώστε να προχωρούν οι υπόλοιπες παραδόσεις.
+     * Εκτελείται σε virtual thread.
+     *
+     * @param delivery η παράδοση.
+     * @param registration το sink.
+     */
+    private void deliver(Delivery delivery, Registration registration) {
+        long backoff = initialBackoff.toMillis();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                registration.permits.acquire();
+                try {
+                    registration.sink.deliver(delivery);
+                    registration.metrics.delivered(Math.max(0, clock.millis() - delivery.getFiredAt()));
+                    acknowledge(delivery, registration.sink.getName());
+                    return;
+                } catch (Exception e) {
+                    registration.metrics.failures.incrementAndGet();
+                    if (attempt >= maxAttempts) {
+                        registration.metrics.exhausted.incrementAndGet();
+                        System.out.println("Error delivering reminder " + delivery.getId() + " to "
+                            + registration.sink.getName() + " after " + attempt + " attempts; it will be retried on the next start");
+                        e.printStackTrace();
+                        return;
+                    }
+                } finally {
+                    registration.permits.release();
+                }
+                Thread.sleep(backoff);
+                backoff = Math.min(backoff * 2, maxBackoff.toMillis());
+            }
+        } catch (InterruptedException e) {
+            // Το pipeline σταματά· η παράδοση μένει στο deliveries.json
+        }
+    }
+
+    /**
+     * Καταγράφει ότι ένα sink παρέλαβε μια παράδοση και ζητά αποθήκευση του deliveries.json.
+     *
+     * @param delivery η παράδοση.
+     * @param sinkName το όνομα του sink.
+     */
+    private void acknowledge(Delivery delivery, String sinkName) {
+        synchronized (this) {
+            delivery.getRemaining().remove(sinkName);
+            if (delivery.getRemaining().isEmpty()) {
+                pending.remove(delivery.getId());
+            }
+        }
+        requestSave();
+    }
+
+    /**
+     * Ζητά αποθήκευση του deliveries.json στο νήμα εγγραφής. Όσες αιτήσεις φτάνουν πριν εκτελεστεί
+     * η αποθήκευση συγχωνεύονται σε μία.
+     */
+    private synchronized void requestSave() {
+        if (!saveQueued && !ledgerWriter.isShutdown()) {
+            saveQueued = true;
+            ledgerWriter.execute(this::saveLedger);
+        }
+    }
+
+    /**
+     * Αποθηκεύει ένα αντίγραφο των εκκρεμών παραδόσεων στο deliveries.json.
+     */
+    private void saveLedger() {
+        synchronized (ledgerLock) {
+            List<Delivery> snapshot = new ArrayList<>();
+            synchronized (this) {
+                saveQueued = false;
+                for (Delivery delivery : pending.values()) {
+                    snapshot.add(new Delivery(delivery));
+                }
+            }
+            try {
+                DataManager.saveDeliveries(snapshot);
+            } catch (IOException e) {
+                System.out.println("Error saving the delivery ledger");
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package utils.delivery;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * Η κλάση LogFileSink γράφει κάθε υπενθύμιση ως μία γραμμή σε ένα αρχείο καταγραφής.
+ */
+public class LogFileSink implements ReminderSink {
+    private final Path file;
+
+    /**
+     * Δημιουργεί το sink.
+     *
+     * @param file το αρχείο καταγραφής, στο οποίο προστίθενται οι γραμμές.
+     */
+    public LogFileSink(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public String getName() {
+        return "log";
+    }
+
+    /**
+     * Προσθέτει μια γραμμή με τη στιγμή ενεργοποίησης, τον κωδικό της παράδοσης, την υπενθύμιση και την εργασία.
+     *
+     * @param delivery η παράδοση.
+     * @throws IOException αν αποτύχει η εγγραφή.
+     */
+    @Override
+    public synchronized void deliver(Delivery delivery) throws IOException {
+        String line = Instant.ofEpochMilli(delivery.getFiredAt()) + " " + delivery.getId() + " "
+            + delivery.getReminderDate() + " \"" + delivery.getReminderName() + "\" task "
+            + delivery.getTaskId() + " \"" + delivery.getTaskTitle() + "\"" + System.lineSeparator();
+        Files.writeString(file, line, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,57 @@
+package utils.delivery;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Η κλάση MailDropSink γράφει κάθε υπενθύμιση ως αρχείο .eml σε έναν τοπικό φάκελο mail-drop,
+ * από τον οποίο μπορεί να τα παραλάβει ένα πρόγραμμα αλληλογραφίας. Το αρχείο γράφεται πρώτα
+ * προσωρινά και μετονομάζεται ατομικά, και το όνομά του είναι ο κωδικός της παράδοσης, οπότε
+ * μια επανάληψη αντικαθιστά το ίδιο αρχείο αντί να δημιουργεί διπλότυπο.
+ */
+public class MailDropSink implements ReminderSink {
+    private final Path directory;
+    private final String from;
+    private final String to;
+
+    /**
+     * Δημιουργεί το sink.
+     *
+     * @param directory ο φάκελος mail-drop (δημιουργείται αν λείπει).
+     * @param from ο αποστολέας των μηνυμάτων.
+     * @param to ο παραλήπτης των μηνυμάτων.
+     */
+    public MailDropSink(Path directory, String from, String to) {
+        this.directory = directory;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public String getName() {
+        return "maildrop";
+    }
+
+    /**
+     * Γράφει το μήνυμα της υπενθύμισης στο αρχείο &lt;κωδικός&gt;.eml.
+     *
+     * @param delivery η παράδοση.
+     * @throws IOException αν αποτύχει η εγγραφή.
+     */
+    @Override
+    public void deliver(Delivery delivery) throws IOException {
+        Files.createDirectories(directory);
+        Path target = directory.resolve(delivery.getId() + ".eml");
+        Path tmp = directory.resolve(delivery.getId() + ".tmp");
+        Files.writeString(tmp, delivery.toMail(from, to), StandardCharsets.UTF_8);
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
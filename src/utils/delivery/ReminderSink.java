@@ -0,0 +1,27 @@
+package utils.delivery;
+
+import java.io.IOException;
+
+/**
+ * Το interface ReminderSink περιγράφει έναν προορισμό στον οποίο παραδίδονται οι υπενθυμίσεις
+ * (αρχείο καταγραφής, φάκελος mail-drop, SMTP). Η deliver καλείται από virtual threads, πιθανώς
+ * ταυτόχρονα, και μπορεί να καλεστεί ξανά για την ίδια παράδοση (at-least-once)· ένα sink που θέλει
+ * να αποφεύγει τα διπλότυπα μπορεί να χρησιμοποιεί τον κωδικό της παράδοσης.
+ */
+public interface ReminderSink {
+
+    /**
+     * Επιστρέφει το όνομα του sink, που χρησιμοποιείται στο deliveries.json και στα στατιστικά.
+     *
+     * @return το όνομα.
+     */
+    String getName();
+
+    /**
+     * Παραδίδει μια υπενθύμιση. Αν αποτύχει, η παράδοση επαναλαμβάνεται αργότερα.
+     *
+     * @param delivery η παράδοση.
+     * @throws IOException αν αποτύχει η παράδοση.
+     */
+    void deliver(Delivery delivery) throws IOException;
+}
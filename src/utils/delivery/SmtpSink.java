@@ -0,0 +1,105 @@
+package utils.delivery;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Η κλάση SmtpSink στέλνει κάθε υπενθύμιση ως e-mail σε έναν SMTP server, χωρίς πιστοποίηση
+ * και κρυπτογράφηση (π.χ. τον τοπικό relay του μηχανήματος). Κάθε παράδοση ανοίγει μία σύνδεση·
+ * οποιαδήποτε απάντηση σφάλματος του server προκαλεί IOException, οπότε η παράδοση επαναλαμβάνεται.
+ */
+public class SmtpSink implements ReminderSink {
+    private final String host;
+    private final int port;
+    private final String from;
+    private final String to;
+    private final int timeoutMillis;
+
+    /**
+     * Δημιουργεί το sink.
+     *
+     * @param host ο SMTP server.
+     * @param port η θύρα του server.
+     * @param from ο αποστολέας των μηνυμάτων.
+     * @param to ο παραλήπτης των μηνυμάτων.
+     * @param timeoutMillis το χρονικό όριο σύνδεσης και ανάγνωσης σε ms.
+     */
+    public SmtpSink(String host, int port, String from, String to, int timeoutMillis) {
+        this.host = host;
+        this.port = port;
+        this.from = from;
+        this.to = to;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public String getName() {
+        return "smtp";
+    }
+
+    /**
+     * Στέλνει το μήνυμα της υπενθύμισης με τη σειρά εντολών HELO, MAIL FROM, RCPT TO, DATA, QUIT.
+     *
+     * @param delivery η παράδοση.
+     * @throws IOException αν αποτύχει η σύνδεση ή ο server απαντήσει με σφάλμα.
+     */
+    @Override
+    public void deliver(Delivery delivery) throws IOException {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(host, port), timeoutMillis);
+            socket.setSoTimeout(timeoutMillis);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            expect(in, 220);
+            command(out, in, "HELO medialab", 250);
+            command(out, in, "MAIL FROM:<" + from + ">", 250);
+            command(out, in, "RCPT TO:<" + to + ">", 250);
+            command(out, in, "DATA", 354);
+            // Οι γραμμές που αρχίζουν με τελεία διπλασιάζονται (dot-stuffing)
+            String message = delivery.toMail(from, to).replace("\r\n.", "\r\n..");
+            command(out, in, message + "\r\n.", 250);
+            command(out, in, "QUIT", 221);
+        }
+    }
+
+    /**
+     * Στέλνει μια εντολή και ελέγχει τον κωδικό της απάντησης.
+     *
+     * @param out η έξοδος της σύνδεσης.
+     * @param in η είσοδος της σύνδεσης.
+     * @param line η εντολή, χωρίς το τελικό CRLF.
+     * @param code ο αναμενόμενος κωδικός.
+     * @throws IOException αν αποτύχει η σύνδεση ή ο κωδικός είναι διαφορετικός.
+     */
+    private static void command(Writer out, BufferedReader in, String line, int code) throws IOException {
+        out.write(line + "\r\n");
+        out.flush();
+        expect(in, code);
+    }
+
+    /**
+     * Διαβάζει μια απάντηση του server (και τις γραμμές συνέχειας "250-...") και ελέγχει τον κωδικό της.
+     *
+     * @param in η είσοδος της σύνδεσης.
+     * @param code ο αναμενόμενος κωδικός.
+     * @throws IOException αν κλείσει η σύνδεση ή ο κωδικός είναι διαφορετικός.
+     */
+    private static void expect(BufferedReader in, int code) throws IOException {
+        String line;
+        do {
+            line = in.readLine();
+            if (line == null) {
+                throw new IOException("SMTP connection closed");
+            }
+        } while (line.length() > 3 && line.charAt(3) == '-');
+        if (!line.startsWith(String.valueOf(code))) {
+            throw new IOException("Unexpected SMTP reply: " + line);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package utils.query;
+
+import model.Category;
+import model.Priority;
+import model.Status;
+import model.Task;
+import utils.TitleIndex;
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Η κλάση Condition αναπαριστά μια συνθήκη ενός ερωτήματος, π.χ. {@code status!=Completed}.
+ * Οι τιμές επιλύονται κατά την ανάλυση του ερωτήματος (όνομα κατηγορίας → κωδικός, κείμενο → ημερομηνία),
+ * ώστε ο έλεγχος μιας εργασίας να είναι μια απλή σύγκριση.
+ */
+public final class Condition {
+
+    /**
+     * Τα πεδία μιας εργασίας στα οποία μπορεί να αναφέρεται μια συνθήκη.
+     */
+    public enum Field {
+        TITLE, CATEGORY, PRIORITY, STATUS, DEADLINE
+    }
+
+    /**
+     * Οι τελεστές σύγκρισης. Για τον τίτλο το EQ σημαίνει "περιέχει".
+     */
+    public enum Operator {
+        EQ(":"), NE("!="), LT("<"), LE("<="), GT(">"), GE(">=");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        /**
+         * Επιστρέφει το σύμβολο του τελεστή όπως γράφεται στο ερώτημα.
+         *
+         * @return το σύμβολο.
+         */
+        public String getSymbol() {
+            return symbol;
+        }
+    }
+
+    /** Κωδικός που δεν αντιστοιχεί σε καμία κατηγορία ή προτεραιότητα */
+    static final int UNKNOWN_ID = -1;
+
+    private final Field field;
+    private final Operator operator;
+    private final String text;
+    private final String normalizedText;
+    private final int id;
+    private final Status status;
+    private final LocalDate date;
+
+    private Condition(Field field, Operator operator, String text, int id, Status status, LocalDate date) {
+        this.field = field;
+        this.operator = operator;
+        this.text = text;
+        this.normalizedText = field == Field.TITLE ? TitleIndex.normalize(text) : null;
+        this.id = id;
+        this.status = status;
+        this.date = date;
+    }
+
+    /**
+     * Δημιουργεί μια συνθήκη "ο τίτλος περιέχει" (ή "δεν περιέχει", με τον τελεστή NE).
+     *
+     * @param operator EQ ή NE.
+     * @param text το κείμενο.
+     * @return η συνθήκη.
+     */
+    public static Condition title(Operator operator, String text) {
+        return new Condition(Field.TITLE, operator, text, UNKNOWN_ID, null, null);
+    }
+
+    /**
+     * Δημιουργεί μια συνθήκη κατηγορίας. Μια άγνωστη κατηγορία δεν ταιριάζει σε καμία εργασία.
+     *
+     * @param operator EQ ή NE.
+     * @param name το όνομα της κατηγορίας.
+     * @return η συνθήκη.
+     */
+    public static Condition category(Operator operator, String name) {
+        Category category = Category.findByName(name);
+        return new Condition(Field.CATEGORY, operator, name, category == null ? UNKNOWN_ID : category.getId(), null, null);
+    }
+
+    /**
+     * Δημιουργεί μια συνθήκη προτεραιότητας. Μια άγνωστη προτεραιότητα δεν ταιριάζει σε καμία εργασία.
+     *
+     * @param operator EQ ή NE.
+     * @param name το όνομα της προτεραιότητας.
+     * @return η συνθήκη.
+     */
+    public static Condition priority(Operator operator, String name) {
+        Priority priority = Priority.findByName(name);
+        return new Condition(Field.PRIORITY, operator, name, priority == null ? UNKNOWN_ID : priority.getId(), null, null);
+    }
+
+    /**
+     * Δημιουργεί μια συνθήκη κατάστασης.
+     *
+     * @param operator EQ ή NE.
+     * @param status η κατάσταση.
+     * @return η συνθήκη.
+     */
+    public static Condition status(Operator operator, Status status) {
+        return new Condition(Field.STATUS, operator, status.getName(), UNKNOWN_ID, status, null);
+    }
+
+    /**
+     * Δημιουργεί μια συνθήκη προθεσμίας.
+     *
+     * @param operator ο τελεστής σύγκρισης.
+     * @param date η ημερομηνία.
+     * @return η συνθήκη.
+     */
+    public static Condition deadline(Operator operator, LocalDate date) {
+        return new Condition(Field.DEADLINE, operator, date.toString(), UNKNOWN_ID, null, date);
+    }
+
+    /**
+     * Ελέγχει αν μια εργασία ικανοποιεί τη συνθήκη.
+     *
+     * @param task η εργασία.
+     * @return true αν η εργασία ικανοποιεί τη συνθήκη.
+     */
+    public boolean test(Task task) {
+        switch (field) {
+            case TITLE:
+                return TitleIndex.normalize(task.getTitle()).contains(normalizedText) == (operator == Operator.EQ);
+            case CATEGORY:
+                return (task.getCategoryId() == id) == (operator == Operator.EQ);
+            case PRIORITY:
+                return (task.getPriorityId() == id) == (operator == Operator.EQ);
+            case STATUS:
+                return (task.getStatus() == status) == (operator == Operator.EQ);
+            default:
+                LocalDate deadline = task.getDeadline();
+                if (deadline == null) {
+                    return false;
+                }
+                int cmp = deadline.compareTo(date);
+                switch (operator) {
+                    case EQ:
+                        return cmp == 0;
+                    case NE:
+                        return cmp != 0;
+                    case LT:
+                        return cmp < 0;
+                    case LE:
+                        return cmp <= 0;
+                    case GT:
+                        return cmp > 0;
+                    default:
+                        return cmp >= 0;
+                }
+        }
+    }
+
+    /**
+     * Επιστρέφει το πεδίο της συνθήκης.
+     *
+     * @return το πεδίο.
+     */
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * Επιστρέφει τον τελεστή της συνθήκης.
+     *
+     * @return ο τελεστής.
+     */
+    public Operator getOperator() {
+        return operator;
+    }
+
+    /**
+     * Επιστρέφει το κείμενο της τιμής, όπως γράφτηκε στο ερώτημα.
+     *
+     * @return η τιμή.
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Επιστρέφει τον κωδικό κατηγορίας ή προτεραιότητας της συνθήκης.
+     *
+     * @return ο κωδικός ή UNKNOWN_ID.
+     */
+    int getId() {
+        return id;
+    }
+
+    /**
+     * Επιστρέφει την κατάσταση μιας συνθήκης κατάστασης.
+     *
+     * @return η κατάσταση ή null.
+     */
+    Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Επιστρέφει την ημερομηνία μιας συνθήκης προθεσμίας.
+     *
+     * @return η ημερομηνία ή null.
+     */
+    LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * Επιστρέφει ένα κανονικοποιημένο κλειδί της συνθήκης, με τον κωδικό αντί για το όνομα
+     * κατηγορίας/προτεραιότητας και τον τίτλο σε πεζά, ώστε ισοδύναμες συνθήκες να έχουν το ίδιο κλειδί.
+     *
+     * @return το κλειδί.
+     */
+    public String getKey() {
+        String value;
+        switch (field) {
+            case TITLE:
+                value = normalizedText;
+                break;
+            case CATEGORY:
+            case PRIORITY:
+                value = String.valueOf(id);
+                break;
+            case STATUS:
+                value = status.name();
+                break;
+            default:
+                value = date.toString();
+        }
+        return field.name() + operator.getSymbol() + value;
+    }
+
+    /**
+     * Επιστρέφει τη συνθήκη στη σύνταξη του ερωτήματος.
+     *
+     * @return η συνθήκη ως κείμενο.
+     */
+    @Override
+    public String toString() {
+        if (field == Field.TITLE && operator == Operator.EQ) {
+            return '"' + text + '"';
+        }
+        String value = text.indexOf(' ') >= 0 ? '"' + text + '"' : text;
+        return field.name().toLowerCase(Locale.ROOT) + operator.getSymbol() + value;
+    }
+}
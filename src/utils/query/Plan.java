@@ -0,0 +1,159 @@
+package utils.query;
+
+import model.Task;
+import utils.ScanEngine;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Η κλάση Plan είναι το πλάνο εκτέλεσης ενός ερωτήματος: ο δρόμος πρόσβασης (ευρετήριο ή πλήρης
+ * σάρωση) που δίνει τις υποψήφιες εργασίες και οι υπόλοιπες συνθήκες, που ελέγχονται σε κάθε
+ * υποψήφια εργασία καθώς διαβάζεται το αποτέλεσμα. Κρατά και τους δρόμους που απορρίφθηκαν,
+ * με τις εκτιμήσεις τους, για τη λειτουργία explain.
+ */
+public final class Plan {
+
+    /**
+     * Ένας δρόμος πρόσβασης: ένα ευρετήριο (ή η πλήρης σάρωση), το εκτιμώμενο πλήθος εργασιών
+     * που επιστρέφει και οι συνθήκες που ικανοποιούνται ήδη από αυτό.
+     */
+    static final class AccessPath {
+        private final String name;
+        private final int estimate;
+        private final List<Condition> covered;
+        private final Supplier<Collection<Task>> candidates;
+
+        /**
+         * Δημιουργεί έναν δρόμο πρόσβασης.
+         *
+         * @param name η περιγραφή του δρόμου (π.χ. "title index").
+         * @param estimate το εκτιμώμενο πλήθος των υποψήφιων εργασιών.
+         * @param covered οι συνθήκες που ικανοποιούνται από τον δρόμο.
+         * @param candidates επιστρέφει τις υποψήφιες εργασίες.
+         */
+        AccessPath(String name, int estimate, List<Condition> covered, Supplier<Collection<Task>> candidates) {
+            this.name = name;
+            this.estimate = estimate;
+            this.covered = covered;
+            this.candidates = candidates;
+        }
+
+        /**
+         * Επιστρέφει το εκτιμώμενο πλήθος των υποψήφιων εργασιών.
+         *
+         * @return η εκτίμηση.
+         */
+        int getEstimate() {
+            return estimate;
+        }
+
+        /**
+         * Επιστρέφει τον δρόμο με τις συνθήκες του, π.χ. {@code bitmap index [category:Work]}.
+         *
+         * @return η περιγραφή.
+         */
+        @Override
+        public String toString() {
+            return covered.isEmpty() ? name : name + " " + covered;
+        }
+    }
+
+    private final Query query;
+    private final AccessPath access;
+    private final List<AccessPath> alternatives;
+    private final List<Condition> residual = new ArrayList<>();
+
+    /**
+     * Δημιουργεί ένα πλάνο.
+     *
+     * @param query το ερώτημα.
+     * @param access ο δρόμος πρόσβασης που επιλέχθηκε.
+     * @param alternatives όλοι οι δρόμοι που εξετάστηκαν.
+     */
+    Plan(Query query, AccessPath access, List<AccessPath> alternatives) {
+        this.query = query;
+        this.access = access;
+        this.alternatives = alternatives;
+        for (Condition condition : query.getConditions()) {
+            if (!access.covered.contains(condition)) {
+                residual.add(condition);
+            }
+        }
+    }
+
+    /**
+     * Εκτελεί το πλάνο. Οι υποψήφιες εργασίες παίρνονται από τον δρόμο πρόσβασης και οι υπόλοιπες
+     * συνθήκες ελέγχονται καθώς διαβάζεται το stream.
+     *
+     * @return οι εργασίες που ικανοποιούν το ερώτημα.
+     */
+    public Stream<Task> execute() {
+        Stream<Task> stream = access.candidates.get().stream();
+        for (Condition condition : residual) {
+            stream = stream.filter(condition::test);
+        }
+        return stream;
+    }
+
+    /**
+     * Εκτελεί το πλάνο και συγκεντρώνει το αποτέλεσμα σε λίστα. Οι υπόλοιπες συνθήκες ελέγχονται
+     * παράλληλα από το ScanEngine, οπότε μια πλήρης σάρωση χρησιμοποιεί όλους τους πυρήνες.
+     *
+     * @param engine η μηχανή σάρωσης.
+     * @return οι εργασίες που ικανοποιούν το ερώτημα, με τη σειρά του δρόμου πρόσβασης.
+     */
+    public List<Task> collect(ScanEngine engine) {
+        List<Task> candidates = new ArrayList<>(access.candidates.get());
+        if (residual.isEmpty()) {
+            return candidates;
+        }
+        return engine.filter(candidates, task -> {
+            for (Condition condition : residual) {
+                if (!condition.test(task)) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Επιστρέφει το εκτιμώμενο πλήθος των υποψήφιων εργασιών του δρόμου που επιλέχθηκε.
+     *
+     * @return η εκτίμηση.
+     */
+    public int getEstimate() {
+        return access.estimate;
+    }
+
+    /**
+     * Επιστρέφει το ερώτημα του πλάνου.
+     *
+     * @return το ερώτημα.
+     */
+    public Query getQuery() {
+        return query;
+    }
+
+    /**
+     * Περιγράφει το πλάνο: τον δρόμο που επιλέχθηκε, τις υπόλοιπες συνθήκες και όλους τους
+     * δρόμους που εξετάστηκαν με την εκτίμησή τους.
+     *
+     * @return η περιγραφή του πλάνου, σε πολλές γραμμές.
+     */
+    public String explain() {
+        StringBuilder text = new StringBuilder();
+        text.append("Query: ").append(query.getConditions()).append('\n');
+        text.append("Access: ").append(access).append(" (estimated ").append(access.estimate).append(" tasks)\n");
+        text.append("Filter: ").append(residual.isEmpty() ? "none" : residual.toString()).append('\n');
+        text.append("Considered:");
+        for (AccessPath path : alternatives) {
+            text.append("\n  ").append(path == access ? "* " : "  ").append(path)
+                .append(" -> ").append(path.estimate);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,124 @@
+package utils.query;
+
+import model.Task;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Η κλάση Query είναι το αποτέλεσμα της ανάλυσης ενός ερωτήματος: μια λίστα συνθηκών
+ * που πρέπει να ισχύουν όλες (AND) και η ένδειξη αν ζητήθηκε εξήγηση του πλάνου εκτέλεσης.
+ */
+public final class Query {
+    private final String source;
+    private final List<Condition> conditions;
+    private final boolean explain;
+
+    /**
+     * Δημιουργεί ένα ερώτημα.
+     *
+     * @param source το κείμενο του ερωτήματος.
+     * @param conditions οι συνθήκες.
+     * @param explain true αν ζητήθηκε εξήγηση του πλάνου.
+     */
+    Query(String source, List<Condition> conditions, boolean explain) {
+        this.source = source;
+        this.conditions = Collections.unmodifiableList(conditions);
+        this.explain = explain;
+    }
+
+    /**
+     * Δημιουργεί ένα ερώτημα από έτοιμες συνθήκες (π.χ. από τα πεδία φίλτρων του UI).
+     *
+     * @param conditions οι συνθήκες.
+     * @param explain true αν ζητήθηκε εξήγηση του πλάνου.
+     * @return το ερώτημα.
+     */
+    public static Query of(List<Condition> conditions, boolean explain) {
+        return new Query(conditions.toString(), new ArrayList<>(conditions), explain);
+    }
+
+    /**
+     * Ελέγχει αν μια εργασία ικανοποιεί όλες τις συνθήκες του ερωτήματος.
+     *
+     * @param task η εργασία.
+     * @return true αν η εργασία ικανοποιεί το ερώτημα.
+     */
+    public boolean matches(Task task) {
+        for (Condition condition : conditions) {
+            if (!condition.test(task)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Επιστρέφει ένα κανονικοποιημένο κλειδί του ερωτήματος: τα κλειδιά των συνθηκών ταξινομημένα,
+     * ώστε ερωτήματα με τις ίδιες συνθήκες σε άλλη σειρά ή γραφή να έχουν το ίδιο κλειδί.
+     *
+     * @return το κλειδί.
+     */
+    public String getKey() {
+        List<String> keys = new ArrayList<>();
+        for (Condition condition : conditions) {
+            keys.add(condition.getKey());
+        }
+        Collections.sort(keys);
+        return String.join(" ", keys);
+    }
+
+    /**
+     * Επιστρέφει το κείμενο του ερωτήματος.
+     *
+     * @return το κείμενο.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Επιστρέφει τις συνθήκες του ερωτήματος.
+     *
+     * @return μια μη τροποποιήσιμη λίστα με τις συνθήκες.
+     */
+    public List<Condition> getConditions() {
+        return conditions;
+    }
+
+    /**
+     * Επιστρέφει αν το ερώτημα ξεκινά με τη λέξη explain.
+     *
+     * @return true αν ζητήθηκε εξήγηση του πλάνου.
+     */
+    public boolean isExplain() {
+        return explain;
+    }
+
+    /**
+     * Επιστρέφει αν το ερώτημα δεν έχει καμία συνθήκη.
+     *
+     * @return true αν το ερώτημα είναι κενό.
+     */
+    public boolean isEmpty() {
+        return conditions.isEmpty();
+    }
+
+    /**
+     * Επιστρέφει αν το ερώτημα περιέχει κάτι πέρα από απλό κείμενο αναζήτησης στον τίτλο
+     * (πεδία, τελεστές ή explain).
+     *
+     * @return true αν το ερώτημα χρησιμοποιεί τη γλώσσα ερωτημάτων.
+     */
+    public boolean isStructured() {
+        if (explain) {
+            return true;
+        }
+        for (Condition condition : conditions) {
+            if (condition.getField() != Condition.Field.TITLE || condition.getOperator() != Condition.Operator.EQ) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
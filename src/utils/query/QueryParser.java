@@ -0,0 +1,201 @@
+package utils.query;
+
+import model.Status;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Η κλάση QueryParser αναλύει ερωτήματα της μορφής
+ * {@code category:Work priority:High status!=Completed deadline<2025-03-01 "report"}.
+ * <p>
+ * Κάθε λέξη του ερωτήματος είναι μια συνθήκη και όλες πρέπει να ισχύουν. Μια συνθήκη είναι
+ * {@code πεδίο τελεστής τιμή}, με πεδία title, category, priority, status και deadline και
+ * τελεστές {@code :} ή {@code =} (ίσο, για τον τίτλο "περιέχει"), {@code !=}, {@code <}, {@code <=},
+ * {@code >} και {@code >=} (μόνο για την προθεσμία). Οι τιμές με κενά γράφονται σε εισαγωγικά.
+ * Κείμενο χωρίς πεδίο αναζητείται στον τίτλο. Για την προθεσμία δεκτές τιμές είναι ημερομηνίες
+ * ISO (2025-03-01), το today και μετατοπίσεις όπως today+7. Αν το ερώτημα ξεκινά με explain,
+ * εκτυπώνεται το πλάνο εκτέλεσης.
+ */
+public final class QueryParser {
+
+    /** Μια συνθήκη με πεδίο: όνομα πεδίου, τελεστής και τιμή */
+    private static final Pattern FIELD_TERM = Pattern.compile("([A-Za-z]+)(!=|<=|>=|:|=|<|>)(.+)");
+    /** Μια σχετική ημερομηνία: today, today+N ή today-N */
+    private static final Pattern RELATIVE_DATE = Pattern.compile("today(?:([+-])(\\d+))?");
+
+    private QueryParser() {
+    }
+
+    /**
+     * Αναλύει ένα ερώτημα.
+     *
+     * @param text το κείμενο του ερωτήματος.
+     * @param today η τρέχουσα ημερομηνία, για τις σχετικές ημερομηνίες.
+     * @return το ερώτημα.
+     * @throws IllegalArgumentException αν το ερώτημα δεν είναι έγκυρο.
+     */
+    public static Query parse(String text, LocalDate today) {
+        List<Condition> conditions = new ArrayList<>();
+        List<String> terms = split(text == null ? "" : text);
+        boolean explain = !terms.isEmpty() && terms.get(0).equalsIgnoreCase("explain");
+        for (int i = explain ? 1 : 0; i < terms.size(); i++) {
+            conditions.add(parseTerm(terms.get(i), today));
+        }
+        return new Query(text, conditions, explain);
+    }
+
+    /**
+     * Χωρίζει το ερώτημα σε λέξεις στα κενά, κρατώντας ενωμένο ό,τι βρίσκεται μέσα σε εισαγωγικά.
+     *
+     * @param text το κείμενο του ερωτήματος.
+     * @return οι λέξεις, με τα εισαγωγικά τους.
+     */
+    private static List<String> split(String text) {
+        List<String> terms = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+                current.append(c);
+            } else if (Character.isWhitespace(c) && !quoted) {
+                if (current.length() > 0) {
+                    terms.add(current.toString());
+                    current.setLength(0);
+                }
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quote in query: " + text);
+        }
+        if (current.length() > 0) {
+            terms.add(current.toString());
+        }
+        return terms;
+    }
+
+    /**
+     * Αναλύει μια λέξη του ερωτήματος σε συνθήκη.
+     *
+     * @param term η λέξη.
+     * @param today η τρέχουσα ημερομηνία.
+     * @return η συνθήκη.
+     */
+    private static Condition parseTerm(String term, LocalDate today) {
+        Matcher matcher = FIELD_TERM.matcher(term);
+        if (!matcher.matches() || term.startsWith("\"")) {
+            return Condition.title(Condition.Operator.EQ, unquote(term));
+        }
+        String field = matcher.group(1).toLowerCase(Locale.ROOT);
+        Condition.Operator operator = operator(matcher.group(2));
+        String value = unquote(matcher.group(3));
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("Missing value in query term: " + term);
+        }
+        switch (field) {
+            case "title":
+                return Condition.title(equality(operator, field), value);
+            case "category":
+                return Condition.category(equality(operator, field), value);
+            case "priority":
+                return Condition.priority(equality(operator, field), value);
+            case "status":
+                return Condition.status(equality(operator, field), status(value));
+            case "deadline":
+                return Condition.deadline(operator, date(value, today));
+            default:
+                // Άγνωστο πεδίο (π.χ. "http://..."): η λέξη αναζητείται ως έχει στον τίτλο
+                return Condition.title(Condition.Operator.EQ, unquote(term));
+        }
+    }
+
+    /**
+     * Μετατρέπει το σύμβολο ενός τελεστή στην τιμή της απαρίθμησης.
+     *
+     * @param symbol το σύμβολο.
+     * @return ο τελεστής.
+     */
+    private static Condition.Operator operator(String symbol) {
+        if (symbol.equals("=")) {
+            return Condition.Operator.EQ;
+        }
+        for (Condition.Operator operator : Condition.Operator.values()) {
+            if (operator.getSymbol().equals(symbol)) {
+                return operator;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operator: " + symbol);
+    }
+
+    /**
+     * Ελέγχει ότι ένας τελεστής είναι ισότητα ή ανισότητα, για πεδία χωρίς διάταξη.
+     *
+     * @param operator ο τελεστής.
+     * @param field το όνομα του πεδίου (για το μήνυμα λάθους).
+     * @return ο ίδιος ο τελεστής.
+     */
+    private static Condition.Operator equality(Condition.Operator operator, String field) {
+        if (operator != Condition.Operator.EQ && operator != Condition.Operator.NE) {
+            throw new IllegalArgumentException("Operator " + operator.getSymbol() + " is not supported for " + field);
+        }
+        return operator;
+    }
+
+    /**
+     * Βρίσκει μια κατάσταση από το όνομά της, χωρίς διάκριση πεζών-κεφαλαίων, κενών και κάτω παύλας
+     * (π.χ. "in progress", "IN_PROGRESS", "inprogress").
+     *
+     * @param value το όνομα της κατάστασης.
+     * @return η κατάσταση.
+     */
+    private static Status status(String value) {
+        String key = value.replaceAll("[\\s_]", "");
+        for (Status status : Status.values()) {
+            if (status.getName().replace(" ", "").equalsIgnoreCase(key)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown status: " + value);
+    }
+
+    /**
+     * Μετατρέπει μια τιμή προθεσμίας σε ημερομηνία.
+     *
+     * @param value η τιμή (ημερομηνία ISO ή today, today+N, today-N).
+     * @param today η τρέχουσα ημερομηνία.
+     * @return η ημερομηνία.
+     */
+    private static LocalDate date(String value, LocalDate today) {
+        Matcher relative = RELATIVE_DATE.matcher(value.toLowerCase(Locale.ROOT));
+        if (relative.matches()) {
+            if (relative.group(1) == null) {
+                return today;
+            }
+            long days = Long.parseLong(relative.group(2));
+            return relative.group(1).equals("+") ? today.plusDays(days) : today.minusDays(days);
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date: " + value, e);
+        }
+    }
+
+    /**
+     * Αφαιρεί τα εισαγωγικά από μια τιμή.
+     *
+     * @param value η τιμή.
+     * @return η τιμή χωρίς εισαγωγικά.
+     */
+    private static String unquote(String value) {
+        return value.replace("\"", "");
+    }
+}
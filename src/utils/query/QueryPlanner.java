@@ -0,0 +1,182 @@
+package utils.query;
+
+import utils.BitmapIndex;
+import utils.DeadlineIndex;
+import utils.TitleIndex;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Η κλάση QueryPlanner επιλέγει πώς θα εκτελεστεί ένα ερώτημα. Για κάθε ευρετήριο που μπορεί
+ * να απαντήσει μέρος του ερωτήματος (bitmaps κατηγορίας/προτεραιότητας/κατάστασης, ευρετήριο
+ * προθεσμιών, ευρετήριο τριγράμμων τίτλων) εκτιμά πόσες εργασίες θα επιστρέψει και διαλέγει
+ * τον δρόμο με τη μικρότερη εκτίμηση· αν κανένα ευρετήριο δεν βοηθά, γίνεται πλήρης σάρωση.
+ * Οι εκτιμήσεις των bitmaps και των προθεσμιών είναι ακριβείς, ενώ του τίτλου είναι άνω όριο
+ * (το μέγεθος της μικρότερης λίστας τριγράμμων).
+ */
+public class QueryPlanner {
+    private final TitleIndex titleIndex;
+    private final DeadlineIndex deadlineIndex;
+    private final BitmapIndex bitmapIndex;
+
+    /**
+     * Δημιουργεί τον planner πάνω στα ευρετήρια της εφαρμογής.
+     *
+     * @param titleIndex το ευρετήριο τριγράμμων των τίτλων.
+     * @param deadlineIndex το ευρετήριο προθεσμιών.
+     * @param bitmapIndex τα bitmaps κατηγορίας, προτεραιότητας και κατάστασης.
+     */
+    public QueryPlanner(TitleIndex titleIndex, DeadlineIndex deadlineIndex, BitmapIndex bitmapIndex) {
+        this.titleIndex = titleIndex;
+        this.deadlineIndex = deadlineIndex;
+        this.bitmapIndex = bitmapIndex;
+    }
+
+    /**
+     * Δημιουργεί το πλάνο εκτέλεσης ενός ερωτήματος.
+     *
+     * @param query το ερώτημα.
+     * @return το πλάνο.
+     */
+    public Plan plan(Query query) {
+        List<Plan.AccessPath> paths = new ArrayList<>();
+        addBitmapPath(query, paths);
+        addDeadlinePath(query, paths);
+        addTitlePaths(query, paths);
+        BitSet all = bitmapIndex.select(null, null, null);
+        paths.add(new Plan.AccessPath("full scan", all.cardinality(), List.of(), () -> bitmapIndex.materialize(all)));
+
+        Plan.AccessPath best = paths.get(0);
+        for (Plan.AccessPath path : paths) {
+            if (path.getEstimate() < best.getEstimate()) {
+                best = path;
+            }
+        }
+        return new Plan(query, best, paths);
+    }
+
+    /**
+     * Προσθέτει τον δρόμο των bitmaps, που τέμνει τις συνθήκες ισότητας κατηγορίας,
+     * προτεραιότητας και κατάστασης. Το πλήθος του αποτελέσματος είναι ακριβές.
+     *
+     * @param query το ερώτημα.
+     * @param paths οι δρόμοι πρόσβασης.
+     */
+    private void addBitmapPath(Query query, List<Plan.AccessPath> paths) {
+        List<Condition> covered = new ArrayList<>();
+        BitSet selection = null;
+        for (Condition condition : query.getConditions()) {
+            if (condition.getOperator() != Condition.Operator.EQ) {
+                continue;
+            }
+            BitSet bits;
+            switch (condition.getField()) {
+                case CATEGORY:
+                    bits = bitmapIndex.select(Set.of(condition.getId()), null, null);
+                    break;
+                case PRIORITY:
+                    bits = bitmapIndex.select(null, Set.of(condition.getId()), null);
+                    break;
+                case STATUS:
+                    bits = bitmapIndex.select(null, null, Set.of(condition.getStatus()));
+                    break;
+                default:
+                    continue;
+            }
+            if (selection == null) {
+                selection = bits;
+            } else {
+                selection.and(bits);
+            }
+            covered.add(condition);
+        }
+        if (selection != null) {
+            BitSet result = selection;
+            paths.add(new Plan.AccessPath("bitmap index", result.cardinality(), covered, () -> bitmapIndex.materialize(result)));
+        }
+    }
+
+    /**
+     * Προσθέτει τον δρόμο του ευρετηρίου προθεσμιών, που συνδυάζει όλες τις συνθήκες προθεσμίας
+     * (εκτός από το !=) σε ένα εύρος ημερομηνιών. Το πλήθος του αποτελέσματος είναι ακριβές.
+     *
+     * @param query το ερώτημα.
+     * @param paths οι δρόμοι πρόσβασης.
+     */
+    private void addDeadlinePath(Query query, List<Plan.AccessPath> paths) {
+        List<Condition> covered = new ArrayList<>();
+        LocalDate from = LocalDate.MIN;
+        LocalDate to = LocalDate.MAX;
+        for (Condition condition : query.getConditions()) {
+            if (condition.getField() != Condition.Field.DEADLINE || condition.getOperator() == Condition.Operator.NE) {
+                continue;
+            }
+            LocalDate date = condition.getDate();
+            switch (condition.getOperator()) {
+                case EQ:
+                    from = max(from, date);
+                    to = min(to, date);
+                    break;
+                case LT:
+                    to = min(to, date.minusDays(1));
+                    break;
+                case LE:
+                    to = min(to, date);
+                    break;
+                case GT:
+                    from = max(from, date.plusDays(1));
+                    break;
+                default:
+                    from = max(from, date);
+            }
+            covered.add(condition);
+        }
+        if (!covered.isEmpty()) {
+            LocalDate first = from;
+            LocalDate last = to;
+            paths.add(new Plan.AccessPath("deadline index", deadlineIndex.countBetween(first, last), covered,
+                () -> deadlineIndex.dueBetween(first, last)));
+        }
+    }
+
+    /**
+     * Προσθέτει έναν δρόμο του ευρετηρίου τίτλων για κάθε συνθήκη "ο τίτλος περιέχει".
+     *
+     * @param query το ερώτημα.
+     * @param paths οι δρόμοι πρόσβασης.
+     */
+    private void addTitlePaths(Query query, List<Plan.AccessPath> paths) {
+        for (Condition condition : query.getConditions()) {
+            if (condition.getField() == Condition.Field.TITLE && condition.getOperator() == Condition.Operator.EQ) {
+                String text = condition.getText();
+                paths.add(new Plan.AccessPath("title index", titleIndex.estimate(text), List.of(condition),
+                    () -> titleIndex.search(text)));
+            }
+        }
+    }
+
+    /**
+     * Επιστρέφει τη νωρίτερη από δύο ημερομηνίες.
+     *
+     * @param a η πρώτη ημερομηνία.
+     * @param b η δεύτερη ημερομηνία.
+     * @return η νωρίτερη ημερομηνία.
+     */
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    /**
+     * Επιστρέφει την αργότερη από δύο ημερομηνίες.
+     *
+     * @param a η πρώτη ημερομηνία.
+     * @param b η δεύτερη ημερομηνία.
+     * @return η αργότερη ημερομηνία.
+     */
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+}